@@ -68,7 +68,6 @@ import org.prebid.server.proto.openrtb.ext.response.BidType;
 import org.prebid.server.proto.openrtb.ext.response.CacheAsset;
 import org.prebid.server.proto.openrtb.ext.response.Events;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidPrebid;
-import org.prebid.server.proto.openrtb.ext.response.ExtBidPrebidVideo;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponsePrebid;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidderError;
@@ -83,6 +82,7 @@ import org.prebid.server.settings.model.AccountAnalyticsConfig;
 import org.prebid.server.settings.model.AccountAuctionConfig;
 import org.prebid.server.settings.model.AccountEventsConfig;
 import org.prebid.server.settings.model.VideoStoredDataResult;
+import org.prebid.server.util.HttpUtil;
 import org.prebid.server.util.LineItemUtil;
 import org.prebid.server.vast.VastModifier;
 
@@ -108,6 +108,8 @@ public class BidResponseCreator {
 
     private static final String CACHE = "cache";
     private static final String PREBID_EXT = "prebid";
+    private static final String TARGETING = "targeting";
+    private static final String TARGET_BIDDER_CODE = "targetbiddercode";
     private static final Integer DEFAULT_BID_LIMIT_MIN = 1;
 
     private final CacheService cacheService;
@@ -330,8 +332,8 @@ public class BidResponseCreator {
 
         final Video storedVideo = videoStoredDataResult.getImpIdToStoredVideo().get(bid.getImpid());
         final Events events = createEvents(bidder, account, effectiveBidId, eventsContext, lineItemId);
-        final ExtBidPrebidVideo extBidPrebidVideo = getExtBidPrebidVideo(bid.getExt());
 
+        // video is carried over from the original ext.prebid by toBuilder(), so it is parsed only once per bid
         final ExtBidPrebid extBidPrebid = getExtPrebid(bid.getExt());
         final ExtBidPrebid.ExtBidPrebidBuilder extBidPrebidBuilder = extBidPrebid != null
                 ? extBidPrebid.toBuilder()
@@ -342,7 +344,6 @@ public class BidResponseCreator {
                 .type(bidType)
                 .storedRequestAttributes(storedVideo)
                 .events(events)
-                .video(extBidPrebidVideo)
                 .build();
     }
 
@@ -719,7 +720,8 @@ public class BidResponseCreator {
         final DeepDebugLog deepDebugLog = auctionContext.getDeepDebugLog();
 
         final Map<String, List<ExtHttpCall>> httpCalls = debugEnabled
-                ? toExtHttpCalls(bidderResponseInfos, cacheResult, auctionContext.getDebugHttpCalls())
+                ? toExtHttpCalls(bidderResponseInfos, cacheResult, auctionContext.getDebugHttpCalls(),
+                debugBodyLimit(auctionContext.getAccount()))
                 : null;
         final BidRequest bidRequest = debugEnabled ? auctionContext.getBidRequest() : null;
         final ExtDebugPgmetrics extDebugPgmetrics = debugEnabled ? toExtDebugPgmetrics(
@@ -794,21 +796,22 @@ public class BidResponseCreator {
 
     private static Map<String, List<ExtHttpCall>> toExtHttpCalls(List<BidderResponseInfo> bidderResponses,
                                                                  CacheServiceResult cacheResult,
-                                                                 Map<String, List<DebugHttpCall>> contextHttpCalls) {
+                                                                 Map<String, List<DebugHttpCall>> contextHttpCalls,
+                                                                 Integer debugBodyLimit) {
         final Map<String, List<ExtHttpCall>> bidderHttpCalls = bidderResponses.stream()
                 .collect(Collectors.toMap(
                         BidderResponseInfo::getBidder,
                         bidderResponse -> ListUtils.emptyIfNull(bidderResponse.getSeatBid().getHttpCalls())));
 
         final DebugHttpCall httpCall = cacheResult.getHttpCall();
-        final ExtHttpCall cacheExtHttpCall = httpCall != null ? toExtHttpCall(httpCall) : null;
+        final ExtHttpCall cacheExtHttpCall = httpCall != null ? toExtHttpCall(httpCall, debugBodyLimit) : null;
         final Map<String, List<ExtHttpCall>> cacheHttpCalls = cacheExtHttpCall != null
                 ? Collections.singletonMap(CACHE, Collections.singletonList(cacheExtHttpCall))
                 : Collections.emptyMap();
 
         final Map<String, List<ExtHttpCall>> contextExtHttpCalls = contextHttpCalls.entrySet().stream()
                 .collect(Collectors.toMap(Map.Entry::getKey, serviceToHttpCall -> serviceToHttpCall.getValue().stream()
-                        .map(BidResponseCreator::toExtHttpCall)
+                        .map(debugHttpCall -> toExtHttpCall(debugHttpCall, debugBodyLimit))
                         .collect(Collectors.toList())));
 
         final Map<String, List<ExtHttpCall>> httpCalls = new HashMap<>();
@@ -818,12 +821,17 @@ public class BidResponseCreator {
         return httpCalls.isEmpty() ? null : httpCalls;
     }
 
-    private static ExtHttpCall toExtHttpCall(DebugHttpCall debugHttpCall) {
+    private static Integer debugBodyLimit(Account account) {
+        final AccountAuctionConfig accountAuctionConfig = account != null ? account.getAuction() : null;
+        return accountAuctionConfig != null ? accountAuctionConfig.getDebugBodyLimit() : null;
+    }
+
+    private static ExtHttpCall toExtHttpCall(DebugHttpCall debugHttpCall, Integer debugBodyLimit) {
         return ExtHttpCall.builder()
                 .uri(debugHttpCall.getRequestUri())
-                .requestbody(debugHttpCall.getRequestBody())
+                .requestbody(HttpUtil.truncateDebugBody(debugHttpCall.getRequestBody(), debugBodyLimit))
                 .status(debugHttpCall.getResponseStatus())
-                .responsebody(debugHttpCall.getResponseBody())
+                .responsebody(HttpUtil.truncateDebugBody(debugHttpCall.getResponseBody(), debugBodyLimit))
                 .requestheaders(debugHttpCall.getRequestHeaders())
                 .build();
     }
@@ -1122,20 +1130,21 @@ public class BidResponseCreator {
                 // Should never occur
                 .orElseThrow(() -> new IllegalArgumentException("Bidder was not defined for bidInfo"));
 
-        final List<Bid> bids = bidInfos.stream()
-                .map(bidInfo -> injectAdmWithCacheInfo(
-                        bidInfo,
-                        requestCacheInfo,
-                        bidToCacheInfo,
-                        bidErrors))
-                .filter(Objects::nonNull)
-                .map(bidInfo -> toBid(
-                        bidInfo,
-                        targeting,
-                        bidRequest,
-                        account))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        final List<Bid> bids = new ArrayList<>(bidInfos.size());
+        for (final BidInfo bidInfo : bidInfos) {
+            final CacheInfo cacheInfo = bidToCacheInfo.get(bidInfo.getBid());
+
+            final String bidAdm;
+            try {
+                bidAdm = resolveBidAdm(bidInfo, cacheInfo, requestCacheInfo);
+            } catch (PreBidException e) {
+                bidErrors.computeIfAbsent(bidder, ignored -> new ArrayList<>())
+                        .add(ExtBidderError.of(BidderError.Type.bad_server_response.getCode(), e.getMessage()));
+                continue;
+            }
+
+            bids.add(toBid(bidInfo, bidAdm, cacheInfo, targeting, bidRequest, account));
+        }
 
         return SeatBid.builder()
                 .seat(bidder)
@@ -1144,52 +1153,41 @@ public class BidResponseCreator {
                 .build();
     }
 
-    private BidInfo injectAdmWithCacheInfo(BidInfo bidInfo,
-                                           BidRequestCacheInfo requestCacheInfo,
-                                           Map<Bid, CacheInfo> bidsWithCacheIds,
-                                           Map<String, List<ExtBidderError>> bidErrors) {
-
-        final Bid bid = bidInfo.getBid();
-        final BidType bidType = bidInfo.getBidType();
-        final String bidder = bidInfo.getBidder();
-        final Imp correspondingImp = bidInfo.getCorrespondingImp();
-
-        final CacheInfo cacheInfo = bidsWithCacheIds.get(bid);
+    /**
+     * Returns adm of the bid which should be sent to the client considering cache settings and native markup.
+     */
+    private String resolveBidAdm(BidInfo bidInfo, CacheInfo cacheInfo, BidRequestCacheInfo requestCacheInfo) {
         final String cacheId = cacheInfo != null ? cacheInfo.getCacheId() : null;
         final String videoCacheId = cacheInfo != null ? cacheInfo.getVideoCacheId() : null;
 
-        String modifiedBidAdm = bid.getAdm();
         if ((videoCacheId != null && !requestCacheInfo.isReturnCreativeVideoBids())
                 || (cacheId != null && !requestCacheInfo.isReturnCreativeBids())) {
-            modifiedBidAdm = null;
-        }
-
-        if (bidType.equals(BidType.xNative) && modifiedBidAdm != null) {
-            try {
-                modifiedBidAdm = createNativeMarkup(modifiedBidAdm, correspondingImp);
-            } catch (PreBidException e) {
-                bidErrors.computeIfAbsent(bidder, ignored -> new ArrayList<>())
-                        .add(ExtBidderError.of(BidderError.Type.bad_server_response.getCode(), e.getMessage()));
-                return null;
-            }
+            return null;
         }
 
-        final Bid modifiedBid = bid.toBuilder().adm(modifiedBidAdm).build();
-        return bidInfo.toBuilder()
-                .bid(modifiedBid)
-                .cacheInfo(cacheInfo)
-                .build();
+        final String bidAdm = bidInfo.getBid().getAdm();
+        return bidInfo.getBidType().equals(BidType.xNative) && bidAdm != null
+                ? createNativeMarkup(bidAdm, bidInfo.getCorrespondingImp())
+                : bidAdm;
     }
 
     /**
      * Returns an OpenRTB {@link Bid} with "prebid" and "bidder" extension fields populated.
+     * <p>
+     * The final bid is built only once: adm, exp and ext are resolved beforehand and ext.prebid fields
+     * (targeting, cache) are written directly to a shallow copy of the ext tree.
      */
-    private Bid toBid(BidInfo bidInfo, ExtRequestTargeting targeting, BidRequest bidRequest, Account account) {
+    private Bid toBid(BidInfo bidInfo,
+                      String bidAdm,
+                      CacheInfo cacheInfo,
+                      ExtRequestTargeting targeting,
+                      BidRequest bidRequest,
+                      Account account) {
+
         final TargetingInfo targetingInfo = bidInfo.getTargetingInfo();
         final BidType bidType = bidInfo.getBidType();
         final Bid bid = bidInfo.getBid();
 
-        final CacheInfo cacheInfo = bidInfo.getCacheInfo();
         final String cacheId = cacheInfo != null ? cacheInfo.getCacheId() : null;
         final String videoCacheId = cacheInfo != null ? cacheInfo.getVideoCacheId() : null;
 
@@ -1213,29 +1211,39 @@ public class BidResponseCreator {
         final ExtResponseCache cache = bids != null || vastXml != null ? ExtResponseCache.of(bids, vastXml) : null;
 
         final ObjectNode originalBidExt = bid.getExt();
-        final ExtBidPrebid extBidPrebid = getExtPrebid(originalBidExt);
-        final ExtBidPrebid.ExtBidPrebidBuilder extBidPrebidBuilder = extBidPrebid != null
-                ? extBidPrebid.toBuilder()
-                : ExtBidPrebid.builder();
+        final ObjectNode updatedBidExt = mapper.mapper().createObjectNode();
+        if (originalBidExt != null) {
+            updatedBidExt.setAll(originalBidExt);
+        }
 
-        final ExtBidPrebid updatedExtBidPrebid = extBidPrebidBuilder
-                .targeting(MapUtils.isEmpty(targetingKeywords) ? null : targetingKeywords)
-                .targetBidderCode(targetingInfo.isAddTargetBidderCode() ? bidderCode : null)
-                .cache(cache)
-                .build();
+        final JsonNode originalExtPrebid = updatedBidExt.get(PREBID_EXT);
+        final ObjectNode updatedExtPrebid = mapper.mapper().createObjectNode();
+        if (originalExtPrebid != null && originalExtPrebid.isObject()) {
+            updatedExtPrebid.setAll((ObjectNode) originalExtPrebid);
+        }
 
-        final ObjectNode updatedBidExt =
-                originalBidExt != null ? originalBidExt.deepCopy() : mapper.mapper().createObjectNode();
-        updatedBidExt.set(PREBID_EXT, mapper.mapper().valueToTree(updatedExtBidPrebid));
+        setOrRemove(updatedExtPrebid, TARGETING, MapUtils.isEmpty(targetingKeywords) ? null : targetingKeywords);
+        setOrRemove(updatedExtPrebid, TARGET_BIDDER_CODE, targetingInfo.isAddTargetBidderCode() ? bidderCode : null);
+        setOrRemove(updatedExtPrebid, CACHE, cache);
+        updatedBidExt.set(PREBID_EXT, updatedExtPrebid);
 
         final Integer ttl = cacheInfo != null ? ObjectUtils.max(cacheInfo.getTtl(), cacheInfo.getVideoTtl()) : null;
 
         return bid.toBuilder()
+                .adm(bidAdm)
                 .ext(updatedBidExt)
                 .exp(ttl)
                 .build();
     }
 
+    private void setOrRemove(ObjectNode node, String field, Object value) {
+        if (value == null) {
+            node.remove(field);
+        } else {
+            node.set(field, mapper.mapper().valueToTree(value));
+        }
+    }
+
     private String createNativeMarkup(String bidAdm, Imp correspondingImp) {
         final Response nativeMarkup;
         try {
@@ -1521,15 +1529,6 @@ public class BidResponseCreator {
         return Collections.unmodifiableMap(map);
     }
 
-    /**
-     * Creates {@link ExtBidPrebidVideo} from bid extension.
-     */
-    private ExtBidPrebidVideo getExtBidPrebidVideo(ObjectNode bidExt) {
-        final ExtBidPrebid extBidPrebid = getExtPrebid(bidExt);
-
-        return extBidPrebid != null ? extBidPrebid.getVideo() : null;
-    }
-
     private ExtBidPrebid getExtPrebid(ObjectNode bidExt) {
         if (bidExt == null || !bidExt.hasNonNull(PREBID_EXT)) {
             return null;
@@ -94,6 +94,7 @@ import org.prebid.server.proto.openrtb.ext.request.TraceLevel;
 import org.prebid.server.proto.openrtb.ext.response.BidType;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponsePrebid;
+import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.ExtModules;
 import org.prebid.server.proto.openrtb.ext.response.ExtModulesTrace;
 import org.prebid.server.proto.openrtb.ext.response.ExtModulesTraceAnalyticsActivity;
@@ -105,7 +106,9 @@ import org.prebid.server.proto.openrtb.ext.response.ExtModulesTraceInvocationRes
 import org.prebid.server.proto.openrtb.ext.response.ExtModulesTraceStage;
 import org.prebid.server.proto.openrtb.ext.response.ExtModulesTraceStageOutcome;
 import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.AccountAuctionConfig;
 import org.prebid.server.util.DealUtil;
+import org.prebid.server.util.HttpUtil;
 import org.prebid.server.util.LineItemUtil;
 import org.prebid.server.util.StreamUtil;
 import org.prebid.server.validation.ResponseBidValidator;
@@ -118,6 +121,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -254,14 +258,20 @@ public class ExchangeService {
                                         context,
                                         bidderRequest,
                                         auctionTimeout(timeout, cacheInfo.isDoCaching()),
-                                        aliases))
+                                        aliases)
+                                        // process each bidder response as soon as it arrives, unless stored
+                                        // auction responses have to be merged into it first
+                                        .map(bidderResponse -> storedAuctionResponses.isEmpty()
+                                                ? processBidderResponse(bidderResponse, context, aliases, publisherId)
+                                                : bidderResponse))
                                 .collect(Collectors.toList())))
                 // send all the requests to the bidders and gathers results
                 .map(CompositeFuture::<BidderResponse>list)
                 .map(bidderResponses -> storedResponseProcessor.mergeWithBidderResponses(
                         bidderResponses, storedAuctionResponses, bidRequest.getImp()))
-                .map(bidderResponses -> validateAndAdjustBids(bidderResponses, context, aliases))
-                .map(bidderResponses -> updateMetricsFromResponses(bidderResponses, publisherId, aliases))
+                .map(bidderResponses -> storedAuctionResponses.isEmpty()
+                        ? bidderResponses
+                        : processBidderResponses(bidderResponses, context, aliases, publisherId))
                 // produce response from bidder results
                 .compose(bidderResponses -> bidResponseCreator.create(
                         bidderResponses,
@@ -720,6 +730,8 @@ public class ExchangeService {
                                                   BidderAliases aliases) {
 
         final Map<String, JsonNode> bidderToPrebidBidders = bidderToPrebidBidders(bidRequest);
+        // cleaned imp.ext.prebid is the same for all bidders, so it is prepared once per imp
+        final Map<Imp, JsonNode> impToExtPrebid = new IdentityHashMap<>();
 
         final List<BidderRequest> bidderRequests = bidderPrivacyResults.stream()
                 // for each bidder create a new request that is a copy of original request except buyerid, imp
@@ -733,6 +745,7 @@ public class ExchangeService {
                         bidderToMultiBid,
                         biddersToConfigs,
                         bidderToPrebidBidders,
+                        impToExtPrebid,
                         aliases))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
@@ -772,6 +785,7 @@ public class ExchangeService {
                                               Map<String, MultiBidConfig> bidderToMultiBid,
                                               Map<String, ExtBidderConfigOrtb> biddersToConfigs,
                                               Map<String, JsonNode> bidderToPrebidBidders,
+                                              Map<Imp, JsonNode> impToExtPrebid,
                                               BidderAliases bidderAliases) {
 
         final String bidder = bidderPrivacyResult.getRequestBidder();
@@ -799,7 +813,7 @@ public class ExchangeService {
                 // User was already prepared above
                 .user(bidderPrivacyResult.getUser())
                 .device(bidderPrivacyResult.getDevice())
-                .imp(prepareImps(bidder, imps, useFirstPartyData, bidderAliases))
+                .imp(prepareImps(bidder, imps, useFirstPartyData, bidderAliases, impToExtPrebid))
                 .app(prepareApp(bidRequestApp, fpdApp, useFirstPartyData))
                 .site(prepareSite(bidRequestSite, fpdSite, useFirstPartyData))
                 .source(prepareSource(bidder, bidRequest))
@@ -811,12 +825,21 @@ public class ExchangeService {
      * For each given imp creates a new imp with extension crafted to contain only "prebid", "context" and
      * bidder-specific extension.
      */
-    private List<Imp> prepareImps(String bidder, List<Imp> imps, boolean useFirstPartyData, BidderAliases aliases) {
+    private List<Imp> prepareImps(String bidder,
+                                  List<Imp> imps,
+                                  boolean useFirstPartyData,
+                                  BidderAliases aliases,
+                                  Map<Imp, JsonNode> impToExtPrebid) {
+
         return imps.stream()
                 .filter(imp -> bidderParamsFromImpExt(imp.getExt()).hasNonNull(bidder))
                 .map(imp -> imp.toBuilder()
                         .pmp(preparePmp(bidder, imp.getPmp(), aliases))
-                        .ext(prepareImpExt(bidder, imp.getExt(), useFirstPartyData))
+                        .ext(prepareImpExt(
+                                bidder,
+                                imp.getExt(),
+                                impToExtPrebid.computeIfAbsent(imp, this::cleanBidderParamsFromImpExtPrebid),
+                                useFirstPartyData))
                         .build())
                 .collect(Collectors.toList());
     }
@@ -876,15 +899,26 @@ public class ExchangeService {
      * <li>"context" field populated with an imp.ext.context field value, may be null</li>
      * <li>"data" field populated with an imp.ext.data field value, may be null</li>
      * </ul>
+     * <p>
+     * The imp.ext.prebid holding params of all bidders is never copied, its cleaned version is prepared once per imp.
      */
-    private ObjectNode prepareImpExt(String bidder, ObjectNode impExt, boolean useFirstPartyData) {
-        final ObjectNode modifiedImpExt = impExt.deepCopy();
-
-        final JsonNode impExtPrebid = cleanBidderParamsFromImpExtPrebid(impExt.get(PREBID_EXT));
-        if (impExtPrebid == null) {
-            modifiedImpExt.remove(PREBID_EXT);
-        } else {
-            modifiedImpExt.set(PREBID_EXT, impExtPrebid);
+    private ObjectNode prepareImpExt(String bidder,
+                                     ObjectNode impExt,
+                                     JsonNode cleanedImpExtPrebid,
+                                     boolean useFirstPartyData) {
+
+        final ObjectNode modifiedImpExt = mapper.mapper().createObjectNode();
+
+        final Iterator<Map.Entry<String, JsonNode>> impExtFields = impExt.fields();
+        while (impExtFields.hasNext()) {
+            final Map.Entry<String, JsonNode> impExtField = impExtFields.next();
+            final String fieldName = impExtField.getKey();
+
+            if (!PREBID_EXT.equals(fieldName)) {
+                modifiedImpExt.set(fieldName, impExtField.getValue().deepCopy());
+            } else if (cleanedImpExtPrebid != null) {
+                modifiedImpExt.set(PREBID_EXT, cleanedImpExtPrebid.deepCopy());
+            }
         }
 
         modifiedImpExt.set(BIDDER_EXT, bidderParamsFromImpExt(impExt).get(bidder));
@@ -892,7 +926,8 @@ public class ExchangeService {
         return fpdResolver.resolveImpExt(modifiedImpExt, useFirstPartyData);
     }
 
-    private JsonNode cleanBidderParamsFromImpExtPrebid(JsonNode extImpPrebidNode) {
+    private JsonNode cleanBidderParamsFromImpExtPrebid(Imp imp) {
+        final JsonNode extImpPrebidNode = imp.getExt().get(PREBID_EXT);
         if (extImpPrebidNode.size() > 1) {
             return mapper.mapper().valueToTree(
                     extImpPrebid(extImpPrebidNode).toBuilder()
@@ -1097,10 +1132,12 @@ public class ExchangeService {
 
         final CaseInsensitiveMultiMap headers = auctionContext.getHttpRequest().getHeaders();
         final boolean debugEnabled = auctionContext.getDebugContext().isDebugEnabled();
+        final Integer debugBodyLimit = debugEnabled ? debugBodyLimit(auctionContext.getAccount()) : null;
 
         return hookStageExecutor.executeBidderRequestStage(bidderRequest, auctionContext)
                 .compose(stageResult -> requestBidsOrRejectBidder(
                         stageResult, bidderRequest, timeout, headers, debugEnabled, aliases))
+                .map(bidderResponse -> truncateDebugHttpCalls(bidderResponse, debugBodyLimit))
                 .compose(bidderResponse -> hookStageExecutor.executeRawBidderResponseStage(
                                 bidderResponse, auctionContext)
                         .map(stageResult -> rejectBidderResponseOrProceed(stageResult, bidderResponse)));
@@ -1124,6 +1161,32 @@ public class ExchangeService {
                 aliases);
     }
 
+    private static Integer debugBodyLimit(Account account) {
+        final AccountAuctionConfig accountAuctionConfig = account != null ? account.getAuction() : null;
+        return accountAuctionConfig != null ? accountAuctionConfig.getDebugBodyLimit() : null;
+    }
+
+    /**
+     * Truncates debug HTTP calls bodies right after bidder responded, so that oversized bodies
+     * are not retained until the end of the auction.
+     */
+    private static BidderResponse truncateDebugHttpCalls(BidderResponse bidderResponse, Integer debugBodyLimit) {
+        final BidderSeatBid seatBid = bidderResponse.getSeatBid();
+        final List<ExtHttpCall> httpCalls = seatBid.getHttpCalls();
+        if (debugBodyLimit == null || CollectionUtils.isEmpty(httpCalls)) {
+            return bidderResponse;
+        }
+
+        final List<ExtHttpCall> truncatedHttpCalls = httpCalls.stream()
+                .map(httpCall -> httpCall.toBuilder()
+                        .requestbody(HttpUtil.truncateDebugBody(httpCall.getRequestbody(), debugBodyLimit))
+                        .responsebody(HttpUtil.truncateDebugBody(httpCall.getResponsebody(), debugBodyLimit))
+                        .build())
+                .collect(Collectors.toList());
+
+        return bidderResponse.with(BidderSeatBid.of(seatBid.getBids(), truncatedHttpCalls, seatBid.getErrors()));
+    }
+
     private BidderResponse rejectBidderResponseOrProceed(HookStageExecutionResult<BidderResponsePayload> stageResult,
                                                          BidderResponse bidderResponse) {
 
@@ -1153,15 +1216,34 @@ public class ExchangeService {
                 .map(seatBid -> BidderResponse.of(bidderName, seatBid, responseTime(startTime)));
     }
 
-    private List<BidderResponse> validateAndAdjustBids(
-            List<BidderResponse> bidderResponses, AuctionContext auctionContext, BidderAliases aliases) {
+    private List<BidderResponse> processBidderResponses(List<BidderResponse> bidderResponses,
+                                                        AuctionContext auctionContext,
+                                                        BidderAliases aliases,
+                                                        String publisherId) {
 
         return bidderResponses.stream()
-                .map(bidderResponse -> validBidderResponse(bidderResponse, auctionContext, aliases))
-                .map(bidderResponse -> applyBidPriceChanges(bidderResponse, auctionContext.getBidRequest()))
+                .map(bidderResponse -> processBidderResponse(bidderResponse, auctionContext, aliases, publisherId))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Validates bids, applies currency conversion and price adjustments and updates bidder metrics.
+     * <p>
+     * None of these steps depends on responses of other bidders, so it is done for each bidder independently.
+     */
+    private BidderResponse processBidderResponse(BidderResponse bidderResponse,
+                                                 AuctionContext auctionContext,
+                                                 BidderAliases aliases,
+                                                 String publisherId) {
+
+        final BidderResponse validBidderResponse = validBidderResponse(bidderResponse, auctionContext, aliases);
+        final BidderResponse adjustedBidderResponse =
+                applyBidPriceChanges(validBidderResponse, auctionContext.getBidRequest());
+        updateMetricsFromResponse(adjustedBidderResponse, publisherId, aliases);
+
+        return adjustedBidderResponse;
+    }
+
     /**
      * Validates bid response from exchange.
      * <p>
@@ -1403,45 +1485,39 @@ public class ExchangeService {
 
     /**
      * Updates 'request_time', 'responseTime', 'timeout_request', 'error_requests', 'no_bid_requests',
-     * 'prices' metrics for each {@link BidderResponse}.
+     * 'prices' metrics for the given {@link BidderResponse}.
      * <p>
      * This method should always be invoked after {@link ExchangeService#validBidderResponse} to make sure
      * {@link Bid#getPrice()} is not empty.
      */
-    private List<BidderResponse> updateMetricsFromResponses(
-            List<BidderResponse> bidderResponses, String publisherId, BidderAliases aliases) {
-
-        for (final BidderResponse bidderResponse : bidderResponses) {
-            final String bidder = aliases.resolveBidder(bidderResponse.getBidder());
+    private void updateMetricsFromResponse(BidderResponse bidderResponse, String publisherId, BidderAliases aliases) {
+        final String bidder = aliases.resolveBidder(bidderResponse.getBidder());
 
-            metrics.updateAdapterResponseTime(bidder, publisherId, bidderResponse.getResponseTime());
-
-            final List<BidderBid> bidderBids = bidderResponse.getSeatBid().getBids();
-            if (CollectionUtils.isEmpty(bidderBids)) {
-                metrics.updateAdapterRequestNobidMetrics(bidder, publisherId);
-            } else {
-                metrics.updateAdapterRequestGotbidsMetrics(bidder, publisherId);
+        metrics.updateAdapterResponseTime(bidder, publisherId, bidderResponse.getResponseTime());
 
-                for (final BidderBid bidderBid : bidderBids) {
-                    final Bid bid = bidderBid.getBid();
+        final List<BidderBid> bidderBids = bidderResponse.getSeatBid().getBids();
+        if (CollectionUtils.isEmpty(bidderBids)) {
+            metrics.updateAdapterRequestNobidMetrics(bidder, publisherId);
+        } else {
+            metrics.updateAdapterRequestGotbidsMetrics(bidder, publisherId);
 
-                    final long cpm = bid.getPrice().multiply(THOUSAND).longValue();
-                    metrics.updateAdapterBidMetrics(bidder, publisherId, cpm, bid.getAdm() != null,
-                            bidderBid.getType().toString());
-                }
-            }
+            for (final BidderBid bidderBid : bidderBids) {
+                final Bid bid = bidderBid.getBid();
 
-            final List<BidderError> errors = bidderResponse.getSeatBid().getErrors();
-            if (CollectionUtils.isNotEmpty(errors)) {
-                errors.stream()
-                        .map(BidderError::getType)
-                        .distinct()
-                        .map(ExchangeService::bidderErrorTypeToMetric)
-                        .forEach(errorMetric -> metrics.updateAdapterRequestErrorMetric(bidder, errorMetric));
+                final long cpm = bid.getPrice().multiply(THOUSAND).longValue();
+                metrics.updateAdapterBidMetrics(bidder, publisherId, cpm, bid.getAdm() != null,
+                        bidderBid.getType().toString());
             }
         }
 
-        return bidderResponses;
+        final List<BidderError> errors = bidderResponse.getSeatBid().getErrors();
+        if (CollectionUtils.isNotEmpty(errors)) {
+            errors.stream()
+                    .map(BidderError::getType)
+                    .distinct()
+                    .map(ExchangeService::bidderErrorTypeToMetric)
+                    .forEach(errorMetric -> metrics.updateAdapterRequestErrorMetric(bidder, errorMetric));
+        }
     }
 
     private Future<BidResponse> invokeResponseHooks(AuctionContext auctionContext, BidResponse bidResponse) {
@@ -1,8 +1,10 @@
 package org.prebid.server.auction;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixList;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.util.HttpUtil;
@@ -10,6 +12,7 @@ import org.prebid.server.util.HttpUtil;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -19,10 +22,26 @@ import java.util.stream.Collectors;
  */
 public class ImplicitParametersExtractor {
 
+    /**
+     * Cached value for hosts which eTLD+1 couldn't be derived for.
+     */
+    private static final String NO_DOMAIN = StringUtils.EMPTY;
+
     private final PublicSuffixList psl;
+    private final Metrics metrics;
+
+    private final Map<String, String> hostToDomain;
 
-    public ImplicitParametersExtractor(PublicSuffixList psl) {
+    public ImplicitParametersExtractor(PublicSuffixList psl, int domainCacheSize, Metrics metrics) {
         this.psl = Objects.requireNonNull(psl);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        hostToDomain = domainCacheSize > 0
+                ? Caffeine.newBuilder()
+                .maximumSize(domainCacheSize)
+                .<String, String>build()
+                .asMap()
+                : null;
     }
 
     /**
@@ -49,7 +68,7 @@ public class ImplicitParametersExtractor {
             throw new PreBidException("Host is not defined or can not be derived from request");
         }
 
-        final String domain = psl.getRegistrableDomain(host);
+        final String domain = registrableDomain(host);
 
         if (domain == null) {
             // null means effective top level domain plus one couldn't be derived
@@ -59,6 +78,25 @@ public class ImplicitParametersExtractor {
         return domain;
     }
 
+    /**
+     * Returns registrable domain of the host, looking it up in public suffix list only if it isn't cached yet.
+     */
+    private String registrableDomain(String host) {
+        if (hostToDomain == null) {
+            return psl.getRegistrableDomain(host);
+        }
+
+        final String cachedDomain = hostToDomain.get(host);
+        metrics.updatePublicSuffixCacheMetric(cachedDomain != null);
+        if (cachedDomain != null) {
+            return NO_DOMAIN.equals(cachedDomain) ? null : cachedDomain;
+        }
+
+        final String domain = psl.getRegistrableDomain(host);
+        hostToDomain.put(host, domain != null ? domain : NO_DOMAIN);
+        return domain;
+    }
+
     /**
      * Determines IP-Address candidates by checking http headers and remote host address.
      */
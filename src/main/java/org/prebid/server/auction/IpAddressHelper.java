@@ -10,10 +10,18 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.http.conn.util.InetAddressUtils;
 import org.prebid.server.auction.model.IpAddress;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
+/**
+ * Validates, classifies and masks IP addresses.
+ * <p>
+ * Plain dotted-decimal IPv4 and hexadecimal IPv6 addresses are parsed into primitive values and processed with
+ * bit operations. Other notations (prefixes, zones, embedded IPv4, etc.) are handled by the ipaddress library.
+ */
 public class IpAddressHelper {
 
     private static final Logger logger = LoggerFactory.getLogger(IpAddressHelper.class);
@@ -24,10 +32,24 @@ public class IpAddressHelper {
                     .allowEmpty(false)
                     .toParams();
 
+    private static final long NOT_PARSED_IPV4 = -1L;
+
     private final IPAddress ipv6AlwaysMaskAddress;
     private final IPAddress ipv6AnonLeftMaskAddress;
     private final List<IPAddress> ipv6LocalNetworkMaskAddresses;
 
+    private final long ipv6AlwaysMaskHigh;
+    private final long ipv6AlwaysMaskLow;
+    private final long ipv6AnonLeftMaskHigh;
+    private final long ipv6AnonLeftMaskLow;
+
+    /**
+     * Local networks as inclusive ranges: pairs of lower and upper values for IPv4 networks and quadruples of
+     * lower high, lower low, upper high and upper low halves for IPv6 networks.
+     */
+    private final long[] ipv4LocalNetworkRanges;
+    private final long[] ipv6LocalNetworkRanges;
+
     public IpAddressHelper(int ipv6AlwaysMaskBits, int ipv6AnonLeftMaskBits, List<String> ipv6LocalNetworks) {
         ipv6AlwaysMaskAddress =
                 toAddress(String.format("::/%d", validateIpv6AlwaysMaskBits(ipv6AlwaysMaskBits))).getNetworkMask();
@@ -36,9 +58,25 @@ public class IpAddressHelper {
         ipv6LocalNetworkMaskAddresses = ipv6LocalNetworks.stream()
                 .map(this::toAddress)
                 .collect(Collectors.toList());
+
+        ipv6AlwaysMaskHigh = maskHigh(ipv6AlwaysMaskBits);
+        ipv6AlwaysMaskLow = maskLow(ipv6AlwaysMaskBits);
+        ipv6AnonLeftMaskHigh = maskHigh(ipv6AnonLeftMaskBits);
+        ipv6AnonLeftMaskLow = maskLow(ipv6AnonLeftMaskBits);
+
+        ipv4LocalNetworkRanges = toRanges(ipv6LocalNetworkMaskAddresses, IPAddress::isIPv4);
+        ipv6LocalNetworkRanges = toRanges(ipv6LocalNetworkMaskAddresses, IPAddress::isIPv6);
     }
 
     public String anonymizeIpv6(String ip) {
+        final long[] ipv6 = parseIpv6(ip);
+        if (ipv6 != null) {
+            return toCanonicalIpv6(ipv6[0] & ipv6AnonLeftMaskHigh, ipv6[1] & ipv6AnonLeftMaskLow);
+        }
+        if (parseIpv4(ip) != NOT_PARSED_IPV4) {
+            return null;
+        }
+
         try {
             final IPAddressString ipAddressString = new IPAddressString(ip);
             return ipAddressString.isIPv6()
@@ -51,6 +89,19 @@ public class IpAddressHelper {
     }
 
     public IpAddress toIpAddress(String ip) {
+        final long ipv4 = parseIpv4(ip);
+        if (ipv4 != NOT_PARSED_IPV4) {
+            return isIpv4Public(ipv4) ? IpAddress.of(ip, IpAddress.IP.v4) : null;
+        }
+
+        final long[] ipv6 = parseIpv6(ip);
+        if (ipv6 != null) {
+            return isIpv6Public(ipv6[0], ipv6[1])
+                    ? IpAddress.of(
+                    toCanonicalIpv6(ipv6[0] & ipv6AlwaysMaskHigh, ipv6[1] & ipv6AlwaysMaskLow), IpAddress.IP.v6)
+                    : null;
+        }
+
         final IPAddress ipAddress = toIpAddressInternal(ip);
 
         if (ipAddress == null) {
@@ -75,21 +126,19 @@ public class IpAddressHelper {
     }
 
     public String maskIpv4(String ip) {
-        if (StringUtils.isBlank(ip) || !InetAddressUtils.isIPv4Address(ip)) {
+        if (StringUtils.isBlank(ip)) {
             return ip;
         }
-        String maskedIp = ip;
-        for (int i = 0; i < 1; i++) {
-            if (maskedIp.contains(".")) {
-                maskedIp = maskedIp.substring(0, maskedIp.lastIndexOf("."));
-            } else {
-                // ip is malformed
-                return ip;
-            }
+
+        // addresses with zero first octet are not considered valid IPv4 addresses by InetAddressUtils
+        final long ipv4 = parseIpv4(ip);
+        final boolean isIpv4 = ipv4 != NOT_PARSED_IPV4
+                ? ipv4 >>> 24 != 0
+                : InetAddressUtils.isIPv4Address(ip);
+        if (!isIpv4) {
+            return ip;
         }
-        return String.format("%s%s", maskedIp,
-                IntStream.range(0, 1).mapToObj(ignored -> "0")
-                        .collect(Collectors.joining(".", ".", "")));
+        return ip.substring(0, ip.lastIndexOf('.')) + ".0";
     }
 
     private String maskIpv6(IPAddress ipAddress) {
@@ -116,6 +165,41 @@ public class IpAddressHelper {
         return ipv6AnonLeftMaskBits;
     }
 
+    private static long maskHigh(int bits) {
+        return bits >= 64 ? -1L : -1L << (64 - bits);
+    }
+
+    private static long maskLow(int bits) {
+        return bits <= 64 ? 0L : -1L << (128 - bits);
+    }
+
+    private static long[] toRanges(List<IPAddress> networks, Predicate<IPAddress> versionFilter) {
+        final List<IPAddress> filteredNetworks = networks.stream()
+                .filter(versionFilter)
+                .collect(Collectors.toList());
+
+        final List<Long> bounds = new ArrayList<>();
+        for (IPAddress network : filteredNetworks) {
+            if (!network.isSequential()) {
+                throw new IllegalArgumentException("Unable to process IPv6-related configuration");
+            }
+
+            final BigInteger lower = network.getValue();
+            final BigInteger upper = network.getUpperValue();
+            if (network.isIPv4()) {
+                bounds.add(lower.longValue());
+                bounds.add(upper.longValue());
+            } else {
+                bounds.add(lower.shiftRight(64).longValue());
+                bounds.add(lower.longValue());
+                bounds.add(upper.shiftRight(64).longValue());
+                bounds.add(upper.longValue());
+            }
+        }
+
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
     private IPAddress toAddress(String address) {
         try {
             return new IPAddressString(address).toAddress();
@@ -132,6 +216,207 @@ public class IpAddressHelper {
         }
     }
 
+    /**
+     * Parses plain dotted-decimal IPv4 address without leading zeros or returns {@link #NOT_PARSED_IPV4}.
+     */
+    private static long parseIpv4(String ip) {
+        final int length = ip != null ? ip.length() : 0;
+        if (length < 7 || length > 15) {
+            return NOT_PARSED_IPV4;
+        }
+
+        long result = 0;
+        int octets = 0;
+        int octet = 0;
+        int digits = 0;
+        for (int i = 0; i <= length; i++) {
+            final char c = i < length ? ip.charAt(i) : '.';
+            if (c == '.') {
+                if (digits == 0 || octet > 255 || ++octets > 4) {
+                    return NOT_PARSED_IPV4;
+                }
+                result = (result << 8) | octet;
+                octet = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (digits > 0 && octet == 0) {
+                    return NOT_PARSED_IPV4;
+                }
+                octet = octet * 10 + (c - '0');
+                digits++;
+            } else {
+                return NOT_PARSED_IPV4;
+            }
+        }
+
+        return octets == 4 ? result : NOT_PARSED_IPV4;
+    }
+
+    /**
+     * Parses hexadecimal IPv6 address into high and low halves or returns null.
+     * <p>
+     * Addresses with zero first 80 bits (unspecified, loopback, IPv4-compatible and IPv4-mapped ones) are left to
+     * the ipaddress library.
+     */
+    private static long[] parseIpv6(String ip) {
+        final int length = ip != null ? ip.length() : 0;
+        if (length < 2 || length > 39) {
+            return null;
+        }
+
+        final int compressionIndex = ip.indexOf("::");
+        if (compressionIndex >= 0 && ip.indexOf("::", compressionIndex + 1) >= 0) {
+            return null;
+        }
+
+        final int[] groups = new int[8];
+        final int[] tailGroups = new int[8];
+        final int headCount = parseIpv6Groups(ip, 0, compressionIndex >= 0 ? compressionIndex : length, groups);
+        final int tailCount = compressionIndex >= 0 ? parseIpv6Groups(ip, compressionIndex + 2, length, tailGroups) : 0;
+        if (headCount < 0 || tailCount < 0
+                || (compressionIndex >= 0 ? headCount + tailCount > 7 : headCount != 8)) {
+            return null;
+        }
+        System.arraycopy(tailGroups, 0, groups, 8 - tailCount, tailCount);
+
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 4; i++) {
+            high = (high << 16) | groups[i];
+            low = (low << 16) | groups[i + 4];
+        }
+
+        return high == 0 && low >>> 48 == 0 ? null : new long[]{high, low};
+    }
+
+    /**
+     * Parses colon-separated groups of up to four hexadecimal digits between given indexes.
+     * Returns number of parsed groups or -1 if the part is malformed.
+     */
+    private static int parseIpv6Groups(String ip, int from, int to, int[] groups) {
+        if (from == to) {
+            return 0;
+        }
+
+        int count = 0;
+        int group = 0;
+        int digits = 0;
+        for (int i = from; i <= to; i++) {
+            final char c = i < to ? ip.charAt(i) : ':';
+            if (c == ':') {
+                if (digits == 0 || count == 8) {
+                    return -1;
+                }
+                groups[count++] = group;
+                group = 0;
+                digits = 0;
+            } else {
+                final int digit = c < 128 ? Character.digit(c, 16) : -1;
+                if (digit < 0 || ++digits > 4) {
+                    return -1;
+                }
+                group = (group << 4) | digit;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Formats IPv6 address according to RFC 5952: lowercase, no leading zeros and the longest (leftmost if tied)
+     * run of two or more zero groups replaced with "::".
+     */
+    private static String toCanonicalIpv6(long high, long low) {
+        final int[] groups = new int[8];
+        for (int i = 0; i < 4; i++) {
+            groups[i] = (int) (high >>> (48 - 16 * i)) & 0xFFFF;
+            groups[i + 4] = (int) (low >>> (48 - 16 * i)) & 0xFFFF;
+        }
+
+        int compressionStart = -1;
+        int compressionLength = 1;
+        for (int i = 0; i < 8; ) {
+            int end = i;
+            while (end < 8 && groups[end] == 0) {
+                end++;
+            }
+            if (end - i > compressionLength) {
+                compressionStart = i;
+                compressionLength = end - i;
+            }
+            i = Math.max(end, i + 1);
+        }
+
+        final StringBuilder result = new StringBuilder(39);
+        for (int i = 0; i < 8; i++) {
+            if (i == compressionStart) {
+                result.append("::");
+                i += compressionLength - 1;
+                continue;
+            }
+            if (result.length() > 0 && result.charAt(result.length() - 1) != ':') {
+                result.append(':');
+            }
+            result.append(Integer.toHexString(groups[i]));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Mirrors {@link #isIpPublic(IPAddress)} for IPv4: excludes any-local, private, link-local, loopback,
+     * multicast and broadcast addresses as well as configured local networks.
+     */
+    private boolean isIpv4Public(long ip) {
+        final int first = (int) (ip >>> 24);
+        final int second = (int) (ip >>> 16) & 0xFF;
+        return ip != 0
+                && first != 10
+                && first != 127
+                && !(first == 172 && (second & 0xF0) == 16)
+                && !(first == 192 && second == 168)
+                && !(first == 169 && second == 254)
+                && (first & 0xF0) != 0xE0
+                && ip != 0xFFFFFFFFL
+                && !isInIpv4Ranges(ip);
+    }
+
+    /**
+     * Mirrors {@link #isIpPublic(IPAddress)} for IPv6 addresses accepted by {@link #parseIpv6(String)}: excludes
+     * multicast (which covers the max address), unique local, link-local and site-local addresses as well as
+     * configured local networks.
+     */
+    private boolean isIpv6Public(long high, long low) {
+        final int firstGroup = (int) (high >>> 48);
+        return (firstGroup & 0xFF00) != 0xFF00
+                && (firstGroup & 0xFE00) != 0xFC00
+                && (firstGroup & 0xFFC0) != 0xFE80
+                && (firstGroup & 0xFFC0) != 0xFEC0
+                && !isInIpv6Ranges(high, low);
+    }
+
+    private boolean isInIpv4Ranges(long ip) {
+        for (int i = 0; i < ipv4LocalNetworkRanges.length; i += 2) {
+            if (ip >= ipv4LocalNetworkRanges[i] && ip <= ipv4LocalNetworkRanges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInIpv6Ranges(long high, long low) {
+        for (int i = 0; i < ipv6LocalNetworkRanges.length; i += 4) {
+            if (compare(high, low, ipv6LocalNetworkRanges[i], ipv6LocalNetworkRanges[i + 1]) >= 0
+                    && compare(high, low, ipv6LocalNetworkRanges[i + 2], ipv6LocalNetworkRanges[i + 3]) <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int compare(long leftHigh, long leftLow, long rightHigh, long rightLow) {
+        final int highComparison = Long.compareUnsigned(leftHigh, rightHigh);
+        return highComparison != 0 ? highComparison : Long.compareUnsigned(leftLow, rightLow);
+    }
+
     private boolean isIpPublic(IPAddress ipAddress) {
         return ipAddress != null
                 && !ipAddress.isLocal()
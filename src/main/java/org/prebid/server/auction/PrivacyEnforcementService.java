@@ -8,6 +8,7 @@ import com.iab.openrtb.request.User;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.http.HttpServerRequest;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -43,7 +44,9 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -284,12 +287,13 @@ public class PrivacyEnforcementService {
     private Map<String, BidderPrivacyResult> maskCcpa(
             Set<String> biddersToMask, Device device, Map<String, User> bidderToUser) {
 
+        final Device maskedDevice = maskCcpaDevice(device);
         return biddersToMask.stream()
                 .collect(Collectors.toMap(Function.identity(),
                         bidder -> BidderPrivacyResult.builder()
                                 .requestBidder(bidder)
                                 .user(maskCcpaUser(bidderToUser.get(bidder)))
-                                .device(maskCcpaDevice(device))
+                                .device(maskedDevice)
                                 .build()));
     }
 
@@ -326,11 +330,12 @@ public class PrivacyEnforcementService {
     private List<BidderPrivacyResult> maskCoppa(Map<String, User> bidderToUser, Device device) {
         metrics.updatePrivacyCoppaMetric();
 
+        final Device maskedDevice = maskCoppaDevice(device);
         return bidderToUser.entrySet().stream()
                 .map(bidderAndUser -> BidderPrivacyResult.builder()
                         .requestBidder(bidderAndUser.getKey())
                         .user(maskCoppaUser(bidderAndUser.getValue()))
-                        .device(maskCoppaDevice(device))
+                        .device(maskedDevice)
                         .build())
                 .collect(Collectors.toList());
     }
@@ -489,6 +494,9 @@ public class PrivacyEnforcementService {
     /**
      * Returns {@link Map}&lt;{@link String}, {@link BidderPrivacyResult}&gt;, where bidder name mapped to masked
      * {@link BidderPrivacyResult}. Masking depends on GDPR and COPPA.
+     * <p>
+     * Bidders with the same effective masking share the masked {@link Device} and, when they were given the same
+     * {@link User} instance, the masked {@link User} as well.
      */
     private List<BidderPrivacyResult> getBidderToPrivacyResult(
             Map<String, PrivacyEnforcementAction> bidderToEnforcement,
@@ -497,6 +505,8 @@ public class PrivacyEnforcementService {
             Device device) {
 
         final boolean isLmtEnabled = lmtEnforce && isLmtEnabled(device);
+        final Map<TcfMasking, Device> maskingToDevice = new HashMap<>();
+        final Map<User, Map<TcfMasking, User>> userToMaskedUsers = new IdentityHashMap<>();
         return bidderToUser.entrySet().stream()
                 .filter(entry -> bidders.contains(entry.getKey()))
                 .map(bidderUserEntry -> createBidderPrivacyResult(
@@ -504,7 +514,9 @@ public class PrivacyEnforcementService {
                         device,
                         bidderUserEntry.getKey(),
                         isLmtEnabled,
-                        bidderToEnforcement))
+                        bidderToEnforcement,
+                        maskingToDevice,
+                        userToMaskedUsers))
                 .collect(Collectors.toList());
     }
 
@@ -515,7 +527,9 @@ public class PrivacyEnforcementService {
                                                           Device device,
                                                           String bidder,
                                                           boolean isLmtEnabled,
-                                                          Map<String, PrivacyEnforcementAction> bidderToEnforcement) {
+                                                          Map<String, PrivacyEnforcementAction> bidderToEnforcement,
+                                                          Map<TcfMasking, Device> maskingToDevice,
+                                                          Map<User, Map<TcfMasking, User>> userToMaskedUsers) {
 
         final PrivacyEnforcementAction privacyEnforcementAction = bidderToEnforcement.get(bidder);
         final boolean blockBidderRequest = privacyEnforcementAction.isBlockBidderRequest();
@@ -528,13 +542,19 @@ public class PrivacyEnforcementService {
                     .build();
         }
 
-        final boolean maskGeo = privacyEnforcementAction.isMaskGeo() || isLmtEnabled;
-        final boolean maskUserIds = privacyEnforcementAction.isRemoveUserIds() || isLmtEnabled;
-        final User maskedUser = maskTcfUser(user, maskUserIds, maskGeo);
+        final TcfMasking masking = TcfMasking.of(
+                privacyEnforcementAction.isMaskGeo() || isLmtEnabled,
+                privacyEnforcementAction.isRemoveUserIds() || isLmtEnabled,
+                privacyEnforcementAction.isMaskDeviceIp() || isLmtEnabled,
+                privacyEnforcementAction.isMaskDeviceInfo() || isLmtEnabled);
 
-        final boolean maskIp = privacyEnforcementAction.isMaskDeviceIp() || isLmtEnabled;
-        final boolean maskInfo = privacyEnforcementAction.isMaskDeviceInfo() || isLmtEnabled;
-        final Device maskedDevice = maskTcfDevice(device, maskIp, maskGeo, maskInfo);
+        final User maskedUser = user != null
+                ? userToMaskedUsers.computeIfAbsent(user, ignored -> new HashMap<>())
+                .computeIfAbsent(masking, ignored -> maskTcfUser(user, masking.isMaskUserIds(), masking.isMaskGeo()))
+                : null;
+
+        final Device maskedDevice = maskingToDevice.computeIfAbsent(masking, ignored ->
+                maskTcfDevice(device, masking.isMaskIp(), masking.isMaskGeo(), masking.isMaskInfo()));
 
         return BidderPrivacyResult.builder()
                 .requestBidder(bidder)
@@ -654,4 +674,19 @@ public class PrivacyEnforcementService {
 
         return privacyConfig != null ? privacyConfig.getGdpr() : null;
     }
+
+    /**
+     * Effective TCF masking of a bidder, used to share masking results between bidders.
+     */
+    @Value(staticConstructor = "of")
+    private static class TcfMasking {
+
+        boolean maskGeo;
+
+        boolean maskUserIds;
+
+        boolean maskIp;
+
+        boolean maskInfo;
+    }
 }
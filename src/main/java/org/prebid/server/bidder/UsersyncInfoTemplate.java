@@ -0,0 +1,147 @@
+package org.prebid.server.bidder;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.privacy.model.Privacy;
+import org.prebid.server.proto.response.UsersyncInfo;
+import org.prebid.server.util.HttpUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Precompiled form of {@link Usersyncer.UsersyncMethod} urls.
+ * <p>
+ * Usersync and redirect urls are split once into literal and privacy placeholder segments with literals
+ * already url-encoded where {@link UsersyncInfoAssembler} would encode them, so rendering {@link UsersyncInfo}
+ * for a request is a single pass appending segments and (once encoded) privacy values.
+ * <p>
+ * Privacy values containing '?' or '{' would change the way {@link UsersyncInfoAssembler} splits and replaces
+ * the redirect url, so such values are rendered by {@link UsersyncInfoAssembler} itself.
+ */
+public class UsersyncInfoTemplate {
+
+    private final Usersyncer.UsersyncMethod usersyncMethod;
+    private final List<Segment> segments;
+    private final int literalsLength;
+
+    private UsersyncInfoTemplate(Usersyncer.UsersyncMethod usersyncMethod, List<Segment> segments) {
+        this.usersyncMethod = usersyncMethod;
+        this.segments = segments;
+        this.literalsLength = segments.stream()
+                .map(segment -> segment.literal)
+                .filter(Objects::nonNull)
+                .mapToInt(String::length)
+                .sum();
+    }
+
+    public static UsersyncInfoTemplate compile(Usersyncer.UsersyncMethod usersyncMethod) {
+        final List<Segment> segments = new ArrayList<>();
+        addSegments(usersyncMethod.getUsersyncUrl(), false, true, segments);
+
+        final String redirectUrl = UsersyncUtil.enrichUsersyncUrlWithFormat(
+                StringUtils.stripToEmpty(usersyncMethod.getRedirectUrl()), usersyncMethod.getType());
+        if (StringUtils.countMatches(redirectUrl, '?') > 1) {
+            final int queryParamsIndex = redirectUrl.lastIndexOf('?');
+            addSegments(redirectUrl.substring(0, queryParamsIndex), true, true, segments);
+            addSegments(redirectUrl.substring(queryParamsIndex), false, false, segments);
+        } else {
+            addSegments(redirectUrl, true, true, segments);
+        }
+
+        return new UsersyncInfoTemplate(usersyncMethod, segments);
+    }
+
+    private static void addSegments(String url, boolean encodeLiterals, boolean encodeValues, List<Segment> segments) {
+        int literalStart = 0;
+        int index = 0;
+        while (index < url.length()) {
+            final Placeholder placeholder = url.charAt(index) == '{' ? Placeholder.at(url, index) : null;
+            if (placeholder == null) {
+                index++;
+                continue;
+            }
+
+            addLiteral(url.substring(literalStart, index), encodeLiterals, segments);
+            segments.add(new Segment(null, placeholder, encodeValues));
+            index += placeholder.text.length();
+            literalStart = index;
+        }
+        addLiteral(url.substring(literalStart), encodeLiterals, segments);
+    }
+
+    private static void addLiteral(String literal, boolean encode, List<Segment> segments) {
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(encode ? HttpUtil.encodeUrl(literal) : literal, null, false));
+        }
+    }
+
+    /**
+     * Returns {@link UsersyncInfo} equal to the one built by {@link UsersyncInfoAssembler} for the same privacy.
+     */
+    public UsersyncInfo render(Privacy privacy) {
+        final String gdpr = ObjectUtils.defaultIfNull(privacy.getGdpr(), "");
+        final String consent = ObjectUtils.defaultIfNull(privacy.getConsentString(), "");
+        final String usPrivacy = ObjectUtils.defaultIfNull(privacy.getCcpa().getUsPrivacy(), "");
+
+        if (!isSafeValue(gdpr) || !isSafeValue(consent) || !isSafeValue(usPrivacy)) {
+            return UsersyncInfoAssembler.from(usersyncMethod).withPrivacy(privacy).assemble();
+        }
+
+        final String[] values = {gdpr, consent, usPrivacy};
+        final String[] encodedValues = {
+                HttpUtil.encodeUrl(gdpr), HttpUtil.encodeUrl(consent), HttpUtil.encodeUrl(usPrivacy)};
+
+        final StringBuilder url = new StringBuilder(literalsLength + 4 * (consent.length() + usPrivacy.length()));
+        for (final Segment segment : segments) {
+            if (segment.literal != null) {
+                url.append(segment.literal);
+            } else {
+                final int valueIndex = segment.placeholder.ordinal();
+                url.append(segment.encodeValue ? encodedValues[valueIndex] : values[valueIndex]);
+            }
+        }
+
+        return UsersyncInfo.of(url.toString(), usersyncMethod.getType(), usersyncMethod.isSupportCORS());
+    }
+
+    private static boolean isSafeValue(String value) {
+        return value.indexOf('?') == -1 && value.indexOf('{') == -1;
+    }
+
+    private enum Placeholder {
+
+        GDPR(UsersyncInfo.GDPR_PLACEHOLDER),
+        GDPR_CONSENT(UsersyncInfo.GDPR_CONSENT_PLACEHOLDER),
+        US_PRIVACY(UsersyncInfo.US_PRIVACY_PLACEHOLDER);
+
+        private final String text;
+
+        Placeholder(String text) {
+            this.text = text;
+        }
+
+        private static Placeholder at(String url, int index) {
+            for (final Placeholder placeholder : values()) {
+                if (url.startsWith(placeholder.text, index)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class Segment {
+
+        private final String literal;
+        private final Placeholder placeholder;
+        private final boolean encodeValue;
+
+        Segment(String literal, Placeholder placeholder, boolean encodeValue) {
+            this.literal = literal;
+            this.placeholder = placeholder;
+            this.encodeValue = encodeValue;
+        }
+    }
+}
@@ -19,9 +19,12 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Contains logic for obtaining UIDs from the request and actualizing them.
@@ -134,17 +137,7 @@ public class UidsCookieService {
      * as a value.
      */
     public Cookie toCookie(UidsCookie uidsCookie) {
-        UidsCookie modifiedUids = uidsCookie;
-        byte[] cookieBytes = uidsCookie.toJson().getBytes();
-
-        while (maxCookieSizeBytes > 0 && cookieBytes.length > maxCookieSizeBytes) {
-            final String familyName = modifiedUids.getCookieUids().getUids().entrySet().stream()
-                    .reduce(UidsCookieService::getClosestExpiration)
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-            modifiedUids = modifiedUids.deleteUid(familyName);
-            cookieBytes = modifiedUids.toJson().getBytes();
-        }
+        final byte[] cookieBytes = toCookieBytes(uidsCookie);
 
         final Cookie cookie = Cookie
                 .cookie(COOKIE_NAME, Base64.getUrlEncoder().encodeToString(cookieBytes))
@@ -159,11 +152,44 @@ public class UidsCookieService {
     }
 
     /**
-     * Returns the Uid with the closest expiration date, e.i. the one that will expire sooner.
+     * Encodes {@link UidsCookie} removing UIDs with the closest expiration date until it fits configured max size.
+     * <p>
+     * UIDs are ordered by expiration date once and removed in batches sized by their own encoded length,
+     * so the whole cookie is not re-encoded after each removed UID.
+     */
+    private byte[] toCookieBytes(UidsCookie uidsCookie) {
+        byte[] cookieBytes = uidsCookie.toJson().getBytes();
+        if (maxCookieSizeBytes <= 0 || cookieBytes.length <= maxCookieSizeBytes) {
+            return cookieBytes;
+        }
+
+        final Iterator<Map.Entry<String, UidWithExpiry>> uidsByExpiration =
+                uidsCookie.getCookieUids().getUids().entrySet().stream()
+                        .sorted(Comparator.comparing(entry -> entry.getValue().getExpires(),
+                                Comparator.nullsFirst(Comparator.naturalOrder())))
+                        .collect(Collectors.toList())
+                        .iterator();
+
+        UidsCookie modifiedUids = uidsCookie;
+        while (cookieBytes.length > maxCookieSizeBytes && uidsByExpiration.hasNext()) {
+            int bytesToRemove = cookieBytes.length - maxCookieSizeBytes;
+            while (bytesToRemove > 0 && uidsByExpiration.hasNext()) {
+                final Map.Entry<String, UidWithExpiry> uid = uidsByExpiration.next();
+                modifiedUids = modifiedUids.deleteUid(uid.getKey());
+                bytesToRemove -= encodedUidLength(uid);
+            }
+            cookieBytes = modifiedUids.toJson().getBytes();
+        }
+
+        return cookieBytes;
+    }
+
+    /**
+     * Returns the length of UID entry in encoded cookie including separating comma.
      */
-    private static Map.Entry<String, UidWithExpiry> getClosestExpiration(Map.Entry<String, UidWithExpiry> first,
-                                                                         Map.Entry<String, UidWithExpiry> second) {
-        return first.getValue().getExpires().isBefore(second.getValue().getExpires()) ? first : second;
+    private int encodedUidLength(Map.Entry<String, UidWithExpiry> uid) {
+        // minus enclosing braces plus comma
+        return mapper.encode(Collections.singletonMap(uid.getKey(), uid.getValue())).getBytes().length - 1;
     }
 
     /**
@@ -225,7 +251,7 @@ public class UidsCookieService {
     }
 
     private static boolean facebookSentinelOrEmpty(Map.Entry<String, UidWithExpiry> entry) {
-        return UidsCookie.isFacebookSentinel(entry.getKey(), entry.getValue().getUid())
-                || StringUtils.isEmpty(entry.getValue().getUid());
+        final String uid = entry.getValue() != null ? entry.getValue().getUid() : null;
+        return UidsCookie.isFacebookSentinel(entry.getKey(), uid) || StringUtils.isEmpty(uid);
     }
 }
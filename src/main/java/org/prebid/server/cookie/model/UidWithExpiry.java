@@ -1,26 +1,49 @@
 package org.prebid.server.cookie.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Value;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.prebid.server.json.ObjectMapperProvider;
 
 import java.time.Clock;
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 
 /**
  * Bundles the UID with an Expiration date. After the expiration, the UID is no longer valid.
+ * <p>
+ * Expiration date read from the uids cookie is parsed on first access, so UIDs which are not looked up
+ * by the request are not parsed at all. Expiration date which could not be parsed is treated as absent.
  */
-@AllArgsConstructor
-@Value
+@EqualsAndHashCode(exclude = "expiresValue")
+@ToString(exclude = "expiresValue")
 public class UidWithExpiry {
 
     private static final long LIVE_TTL_MS = Duration.ofDays(14).toMillis();
     private static final long EXPIRED_TTL_MS = Duration.ofMinutes(5).toMillis();
 
-    String uid;
+    private final String uid;
 
-    ZonedDateTime expires;
+    private String expiresValue;
+
+    private ZonedDateTime expires;
+
+    public UidWithExpiry(String uid, ZonedDateTime expires) {
+        this.uid = uid;
+        this.expires = expires;
+    }
+
+    @JsonCreator
+    private static UidWithExpiry fromCookie(@JsonProperty("uid") String uid,
+                                            @JsonProperty("expires") String expires) {
+
+        final UidWithExpiry uidWithExpiry = new UidWithExpiry(uid, null);
+        uidWithExpiry.expiresValue = expires;
+        return uidWithExpiry;
+    }
 
     public static UidWithExpiry live(String uid) {
         return create(uid, LIVE_TTL_MS);
@@ -33,4 +56,24 @@ public class UidWithExpiry {
     private static UidWithExpiry create(String uid, long ttlMs) {
         return new UidWithExpiry(uid, ZonedDateTime.now(Clock.systemUTC()).plus(ttlMs, ChronoUnit.MILLIS));
     }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public ZonedDateTime getExpires() {
+        if (expiresValue != null) {
+            expires = parseExpires(expiresValue);
+            expiresValue = null;
+        }
+        return expires;
+    }
+
+    private static ZonedDateTime parseExpires(String value) {
+        try {
+            return ObjectMapperProvider.mapper().convertValue(value, ZonedDateTime.class);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return null;
+        }
+    }
 }
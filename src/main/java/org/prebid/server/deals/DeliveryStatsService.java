@@ -25,7 +25,6 @@ import org.prebid.server.vertx.http.model.HttpClientResponse;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.Base64;
@@ -150,19 +149,24 @@ public class DeliveryStatsService implements Suspendable {
             return promise.future();
         }
 
-        final String body = mapper.encode(deliveryProgressReportFactory
-                .updateReportTimeStamp(deliveryProgressReport, now));
+        final DeliveryProgressReport report = deliveryProgressReportFactory
+                .updateReportTimeStamp(deliveryProgressReport, now);
 
         logger.info("Sending delivery progress report to Delivery Stats, {0} is {1}", PG_TRX_ID,
                 headers.get(PG_TRX_ID));
-        logger.debug("Delivery progress report is: {0}", body);
         if (deliveryStatsProperties.isRequestCompressionEnabled()) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Delivery progress report is: {0}", mapper.encode(report));
+            }
             headers.add(HttpHeaders.CONTENT_ENCODING, GZIP);
-            httpClient.request(HttpMethod.POST, deliveryStatsProperties.getEndpoint(), headers, gzipBody(body),
-                    deliveryStatsProperties.getTimeoutMs())
+            gzipBody(report)
+                    .compose(body -> httpClient.request(HttpMethod.POST, deliveryStatsProperties.getEndpoint(),
+                            headers, body, deliveryStatsProperties.getTimeoutMs()))
                     .setHandler(result -> handleDeliveryProgressReport(result, deliveryProgressReport, promise,
                             startTime));
         } else {
+            final String body = mapper.encode(report);
+            logger.debug("Delivery progress report is: {0}", body);
             httpClient.post(deliveryStatsProperties.getEndpoint(), headers, body,
                     deliveryStatsProperties.getTimeoutMs())
                     .setHandler(result -> handleDeliveryProgressReport(result, deliveryProgressReport, promise,
@@ -271,15 +275,26 @@ public class DeliveryStatsService implements Suspendable {
                 Base64.getEncoder().encodeToString((username + ':' + password).getBytes()));
     }
 
-    private static byte[] gzipBody(String body) {
-        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-            gzip.write(body.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-            return obj.toByteArray();
+    /**
+     * Serializes report straight into gzip stream on worker thread, so neither serialization nor compression
+     * of big reports blocks the event loop.
+     */
+    private Future<byte[]> gzipBody(DeliveryProgressReport report) {
+        final Promise<byte[]> promise = Promise.promise();
+        vertx.executeBlocking(blockingPromise -> gzipBody(report, blockingPromise), false, promise);
+        return promise.future();
+    }
+
+    private void gzipBody(DeliveryProgressReport report, Promise<byte[]> promise) {
+        final ByteArrayOutputStream obj = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
+            mapper.mapper().writeValue(gzip, report);
         } catch (IOException e) {
-            throw new PreBidException(String.format("Failed to gzip request with a reason : %s", e.getMessage()));
+            promise.fail(new PreBidException(
+                    String.format("Failed to gzip request with a reason : %s", e.getMessage())));
+            return;
         }
+        promise.complete(obj.toByteArray());
     }
 
     private void handleFailedReportDelivery() {
@@ -20,7 +20,9 @@ import org.prebid.server.deals.model.TxnLog;
 import org.prebid.server.deals.proto.DeliverySchedule;
 import org.prebid.server.deals.proto.LineItemMetaData;
 import org.prebid.server.deals.proto.Price;
+import org.prebid.server.deals.targeting.RequestContext;
 import org.prebid.server.deals.targeting.TargetingDefinition;
+import org.prebid.server.deals.targeting.TargetingIndex;
 import org.prebid.server.exception.TargetingSyntaxException;
 import org.prebid.server.log.CriteriaLogManager;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
@@ -38,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +48,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -77,6 +81,12 @@ public class LineItemService {
     private final CriteriaLogManager criteriaLogManager;
 
     protected final Map<String, LineItem> idToLineItems;
+    /**
+     * Index of active {@link LineItem}s by account and source, is never modified after being published
+     * and rebuilt from {@link #idToLineItems} on every change of line items set.
+     */
+    private volatile Map<String, Map<String, List<LineItem>>> accountToSourceToLineItems;
+    private volatile TargetingIndex targetingIndex;
     protected volatile boolean isPlannerResponsive;
 
     public LineItemService(int maxDealsPerBidder,
@@ -98,6 +108,8 @@ public class LineItemService {
         this.criteriaLogManager = Objects.requireNonNull(criteriaLogManager);
 
         idToLineItems = new ConcurrentHashMap<>();
+        accountToSourceToLineItems = Collections.emptyMap();
+        targetingIndex = TargetingIndex.empty();
     }
 
     /**
@@ -118,9 +130,13 @@ public class LineItemService {
      * Returns true when account has at least one active {@link LineItem} in the given time.
      */
     public boolean accountHasDeals(String account, ZonedDateTime now) {
-        return StringUtils.isNotEmpty(account)
-                && idToLineItems.values().stream().anyMatch(lineItem -> Objects.equals(lineItem.getAccountId(), account)
-                && lineItem.isActive(now));
+        final Map<String, List<LineItem>> sourceToLineItems = StringUtils.isNotEmpty(account)
+                ? accountToSourceToLineItems.get(account)
+                : null;
+
+        return sourceToLineItems != null && sourceToLineItems.values().stream()
+                .flatMap(Collection::stream)
+                .anyMatch(lineItem -> lineItem.isActive(now));
     }
 
     /**
@@ -137,10 +153,18 @@ public class LineItemService {
      * taking into account Line Items’ targeting and delivery progress by the given time.
      */
     protected MatchLineItemsResult findMatchingLineItems(AuctionContext auctionContext, Imp imp, ZonedDateTime now) {
-        final List<LineItem> matchedLineItems = getPreMatchedLineItems(auctionContext.getAccount().getId(),
-                imp, extractAliases(auctionContext.getBidRequest()))
-                .stream()
-                .filter(lineItem -> isTargetingMatched(lineItem, imp, auctionContext))
+        final List<LineItem> preMatchedLineItems = getPreMatchedLineItems(auctionContext.getAccount().getId(),
+                imp, extractAliases(auctionContext.getBidRequest()));
+        if (preMatchedLineItems.isEmpty()) {
+            return MatchLineItemsResult.of(Collections.emptyList());
+        }
+
+        final RequestContext requestContext = targetingService.createRequestContext(auctionContext, imp);
+        final Predicate<TargetingDefinition> targetingCandidates =
+                targetingService.candidates(requestContext, targetingIndex);
+        final List<LineItem> matchedLineItems = preMatchedLineItems.stream()
+                .filter(lineItem -> isTargetingMatched(
+                        lineItem, imp, auctionContext, requestContext, targetingCandidates))
                 .collect(Collectors.toList());
         return MatchLineItemsResult.of(postProcessMatchedLineItems(matchedLineItems, auctionContext, imp, now));
     }
@@ -167,20 +191,46 @@ public class LineItemService {
 
             removeInactiveLineItems(planResponse, now);
             lineItemsMetaData.forEach(lineItemMetaData -> updateLineItem(lineItemMetaData, now));
+            updateLineItemsIndex();
         }
     }
 
     public void invalidateLineItemsByIds(List<String> lineItemIds) {
         idToLineItems.entrySet().removeIf(stringLineItemEntry -> lineItemIds.contains(stringLineItemEntry.getKey()));
+        updateLineItemsIndex();
         logger.info("Line Items with ids {0} were removed", String.join(", ", lineItemIds));
     }
 
     public void invalidateLineItems() {
         final String lineItemsToRemove = String.join(", ", idToLineItems.keySet());
         idToLineItems.clear();
+        updateLineItemsIndex();
         logger.info("Line Items with ids {0} were removed", lineItemsToRemove);
     }
 
+    /**
+     * Rebuilds index of {@link LineItem}s by account and source along with {@link TargetingIndex}
+     * of their targeting and replaces the previous ones at once.
+     * <p>
+     * Synchronized to prevent publishing index built from the stale line items by concurrent invocation.
+     */
+    private synchronized void updateLineItemsIndex() {
+        final Map<String, Map<String, List<LineItem>>> index = new HashMap<>();
+        final List<TargetingDefinition> targetingDefinitions = new ArrayList<>();
+        for (final LineItem lineItem : idToLineItems.values()) {
+            index.computeIfAbsent(lineItem.getAccountId(), account -> new HashMap<>())
+                    .computeIfAbsent(lineItem.getSource(), source -> new ArrayList<>())
+                    .add(lineItem);
+
+            final TargetingDefinition targetingDefinition = lineItem.getTargetingDefinition();
+            if (targetingDefinition != null) {
+                targetingDefinitions.add(targetingDefinition);
+            }
+        }
+        accountToSourceToLineItems = index;
+        targetingIndex = TargetingIndex.of(targetingDefinitions);
+    }
+
     private boolean isExpired(ZonedDateTime now, ZonedDateTime endTime) {
         return now.isAfter(endTime);
     }
@@ -290,11 +340,8 @@ public class LineItemService {
             return Collections.emptyList();
         }
 
-        final List<LineItem> accountsLineItems = idToLineItems.values().stream()
-                .filter(lineItem -> lineItem.getAccountId().equals(accountId))
-                .collect(Collectors.toList());
-
-        if (accountsLineItems.isEmpty()) {
+        final Map<String, List<LineItem>> sourceToLineItems = accountToSourceToLineItems.get(accountId);
+        if (sourceToLineItems == null) {
             criteriaLogManager.log(logger, accountId,
                     String.format("There are no line items for account %s", accountId), logger::debug);
             return Collections.emptyList();
@@ -305,8 +352,9 @@ public class LineItemService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        return accountsLineItems.stream()
-                .filter(lineItem -> containBidderCodeConsideringAliases(bidders, lineItem.getSource(), aliases))
+        return sourceToLineItems.entrySet().stream()
+                .filter(entry -> containBidderCodeConsideringAliases(bidders, entry.getKey(), aliases))
+                .flatMap(entry -> entry.getValue().stream())
                 .collect(Collectors.toList());
     }
 
@@ -327,9 +375,13 @@ public class LineItemService {
     /**
      * Returns true if {@link LineItem}s {@link TargetingDefinition} matches to {@link Imp}.
      * <p>
+     * Definitions rejected by the given candidates filter are considered as not matched without evaluation.
+     * <p>
      * Updates deep debug log with matching information.
      */
-    private boolean isTargetingMatched(LineItem lineItem, Imp imp, AuctionContext auctionContext) {
+    private boolean isTargetingMatched(LineItem lineItem, Imp imp, AuctionContext auctionContext,
+                                       RequestContext requestContext,
+                                       Predicate<TargetingDefinition> targetingCandidates) {
         final TargetingDefinition targetingDefinition = lineItem.getTargetingDefinition();
         final String accountId = auctionContext.getAccount().getId();
         final String source = lineItem.getSource();
@@ -341,8 +393,8 @@ public class LineItemService {
             return false;
         }
 
-        final boolean matched = targetingService.matchesTargeting(auctionContext, imp,
-                lineItem.getTargetingDefinition());
+        final boolean matched = targetingCandidates.test(targetingDefinition)
+                && targetingService.matchesTargeting(requestContext, targetingDefinition);
         if (matched) {
             deepDebug(auctionContext, Category.targeting,
                     String.format("Line Item %s targeting matched imp with id %s", lineItemId, imp.getId()),
@@ -402,8 +454,7 @@ public class LineItemService {
 
     private boolean isReadyAtInPast(ZonedDateTime now, LineItem lineItem, AuctionContext auctionContext,
                                     TxnLog txnLog) {
-        final ZonedDateTime readyAt = lineItem.getReadyAt();
-        final boolean ready = readyAt != null && (readyAt.isEqual(now) || readyAt.isBefore(now));
+        final boolean ready = lineItem.isReadyAt(now);
         final String accountId = auctionContext.getAccount().getId();
         final String lineItemSource = lineItem.getSource();
         final String lineItemId = lineItem.getLineItemId();
@@ -413,6 +464,7 @@ public class LineItemService {
                             + "serve. relPriority %d", lineItemId, lineItemSource, lineItem.getRelativePriority()),
                     accountId, lineItemSource, lineItemId);
         } else {
+            final ZonedDateTime readyAt = lineItem.getReadyAt();
             txnLog.lineItemsPacingDeferred().add(lineItemId);
             deepDebug(auctionContext, Category.pacing, String.format("Matched Line Item %s for bidder %s not ready to"
                             + " serve. Will be ready at %s, current time is %s", lineItemId, lineItemSource,
@@ -8,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.deals.targeting.RequestContext;
 import org.prebid.server.deals.targeting.TargetingDefinition;
+import org.prebid.server.deals.targeting.TargetingIndex;
 import org.prebid.server.deals.targeting.interpret.And;
 import org.prebid.server.deals.targeting.interpret.DomainMetricAwareExpression;
 import org.prebid.server.deals.targeting.interpret.Expression;
@@ -36,6 +37,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -64,12 +66,33 @@ public class TargetingService {
      * definition against and returns whether it is matched or not.
      */
     public boolean matchesTargeting(AuctionContext auctionContext, Imp imp, TargetingDefinition targetingDefinition) {
-        final RequestContext requestContext = new RequestContext(
-                auctionContext.getBidRequest(), imp, auctionContext.getTxnLog(), mapper);
+        return matchesTargeting(createRequestContext(auctionContext, imp), targetingDefinition);
+    }
 
+    /**
+     * Evaluates Line Item targeting definition against the request context created by
+     * {@link #createRequestContext(AuctionContext, Imp)} and returns whether it is matched or not.
+     */
+    public boolean matchesTargeting(RequestContext requestContext, TargetingDefinition targetingDefinition) {
         return targetingDefinition.getRootExpression().matches(requestContext);
     }
 
+    /**
+     * Creates context of the OpenRTB2 request and particular Imp object, which should be shared
+     * by evaluations of all Line Items targeting definitions against this Imp.
+     */
+    public RequestContext createRequestContext(AuctionContext auctionContext, Imp imp) {
+        return new RequestContext(auctionContext.getBidRequest(), imp, auctionContext.getTxnLog(), mapper);
+    }
+
+    /**
+     * Returns filter of targeting definitions from the given index which may match the request context,
+     * the rest of definitions are known to not match.
+     */
+    public Predicate<TargetingDefinition> candidates(RequestContext requestContext, TargetingIndex targetingIndex) {
+        return targetingIndex.candidates(requestContext);
+    }
+
     private Expression parseNode(JsonNode node, String lineItemId) {
         final Map.Entry<String, JsonNode> field = validateIsSingleElementObject(node);
         final String fieldName = field.getKey();
@@ -1,9 +1,15 @@
 package org.prebid.server.deals;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.cache.model.DebugHttpCall;
@@ -38,6 +44,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Works with user related information.
@@ -53,6 +62,7 @@ public class UserService {
 
     private final LineItemService lineItemService;
     private final HttpClient httpClient;
+    private final Vertx vertx;
     private final Clock clock;
     private final Metrics metrics;
     private final JacksonMapper mapper;
@@ -63,16 +73,21 @@ public class UserService {
     private final List<UserIdRule> userIdRules;
     private final String dataCenterRegion;
 
+    private final Map<List<UserId>, UserDetailsResult> userDetailsCache;
+    private final Map<List<UserId>, UserDetailsLookup> userDetailsLookups;
+
     public UserService(UserDetailsProperties userDetailsProperties,
                        String dataCenterRegion,
                        LineItemService lineItemService,
                        HttpClient httpClient,
+                       Vertx vertx,
                        Clock clock,
                        Metrics metrics,
                        JacksonMapper mapper) {
 
         this.lineItemService = Objects.requireNonNull(lineItemService);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
         this.clock = Objects.requireNonNull(clock);
         this.metrics = Objects.requireNonNull(metrics);
 
@@ -83,6 +98,15 @@ public class UserService {
         this.userIdRules = Objects.requireNonNull(userDetailsProperties.getUserIds());
         this.dataCenterRegion = Objects.requireNonNull(dataCenterRegion);
         this.mapper = Objects.requireNonNull(mapper);
+
+        this.userDetailsCache = userDetailsProperties.getCacheTtlMs() > 0
+                ? Caffeine.newBuilder()
+                .expireAfterWrite(userDetailsProperties.getCacheTtlMs(), TimeUnit.MILLISECONDS)
+                .maximumSize(userDetailsProperties.getCacheSize())
+                .<List<UserId>, UserDetailsResult>build()
+                .asMap()
+                : null;
+        this.userDetailsLookups = new ConcurrentHashMap<>();
     }
 
     /**
@@ -103,12 +127,117 @@ public class UserService {
             return Future.succeededFuture(UserDetails.empty());
         }
 
+        if (userDetailsCache == null) {
+            return requestUserDetails(userIds, context, requestTimeout(timeout));
+        }
+
+        return cachedOrLookupUserDetails(userIds, context, timeout);
+    }
+
+    /**
+     * Returns cached {@link UserDetails} or looks them up.
+     * <p>
+     * Cached or joined {@link UserDetails} come with the debug HTTP call of the request they were fetched by.
+     */
+    private Future<UserDetails> cachedOrLookupUserDetails(List<UserId> userIds, AuctionContext context,
+                                                          Timeout timeout) {
+
+        final UserDetailsResult cachedResult = userDetailsCache.get(userIds);
+        if (cachedResult != null) {
+            metrics.updateUserDetailsCacheMetric(MetricName.user_details_cache_hit);
+            return fromSharedResult(cachedResult, context);
+        }
+
+        return lookupUserDetails(userIds, context, timeout);
+    }
+
+    /**
+     * Joins the request of {@link UserDetails} for the same user ids if it is in progress,
+     * otherwise requests {@link UserDetails} and caches the result.
+     * <p>
+     * Failures of User Data Store are cached as well, but not timeouts caused by the deadline of the auction
+     * which started the request. Requests joined to such one are retried within their own deadline.
+     * Joined requests never wait longer than their own deadline allows.
+     */
+    private Future<UserDetails> lookupUserDetails(List<UserId> userIds, AuctionContext context, Timeout timeout) {
+        final UserDetailsLookup lookup = new UserDetailsLookup();
+        final UserDetailsLookup lookupInProgress = userDetailsLookups.putIfAbsent(userIds, lookup);
+        if (lookupInProgress != null) {
+            final Future<UserDetailsResult> joinedResult = lookupInProgress.join();
+            if (joinedResult == null) {
+                // lookup was completed meanwhile
+                return cachedOrLookupUserDetails(userIds, context, timeout);
+            }
+
+            metrics.updateUserDetailsCacheMetric(MetricName.user_details_cache_coalesced);
+            return withTimeout(joinedResult, timeout.remaining())
+                    .compose(result -> result.isCallerTimedOut() && timeout.remaining() > 0
+                            ? cachedOrLookupUserDetails(userIds, context, timeout)
+                            : fromSharedResult(result, context));
+        }
+
+        metrics.updateUserDetailsCacheMetric(MetricName.user_details_cache_miss);
+        final long requestTimeout = requestTimeout(timeout);
+        final Future<UserDetailsResult> userDetailsResult = lookup.join();
+        requestUserDetails(userIds, context, requestTimeout).setHandler(result -> {
+            final boolean callerTimedOut = result.failed()
+                    && result.cause() instanceof TimeoutException
+                    && requestTimeout < this.timeout;
+            final UserDetailsResult completedResult = UserDetailsResult.of(
+                    result.succeeded() ? Future.succeededFuture(result.result()) : Future.failedFuture(result.cause()),
+                    context.getDebugHttpCalls().get(USER_SERVICE),
+                    callerTimedOut);
+
+            if (!callerTimedOut) {
+                userDetailsCache.put(userIds, completedResult);
+            }
+            userDetailsLookups.remove(userIds, lookup);
+            lookup.complete(completedResult);
+        });
+        return userDetailsResult.compose(UserDetailsResult::getUserDetails);
+    }
+
+    /**
+     * Fails the given {@link Future} with {@link TimeoutException} if it is not completed within the given time.
+     */
+    private <T> Future<T> withTimeout(Future<T> future, long remaining) {
+        if (remaining <= 0) {
+            return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
+        }
+
+        final Promise<T> promise = Promise.promise();
+        final long timerId = vertx.setTimer(remaining,
+                ignored -> promise.tryFail(new TimeoutException("Timeout has been exceeded")));
+        future.setHandler(result -> {
+            vertx.cancelTimer(timerId);
+            if (result.succeeded()) {
+                promise.tryComplete(result.result());
+            } else {
+                promise.tryFail(result.cause());
+            }
+        });
+        return promise.future();
+    }
+
+    private Future<UserDetails> fromSharedResult(UserDetailsResult result, AuctionContext context) {
+        final List<DebugHttpCall> debugHttpCalls = result.getDebugHttpCalls();
+        if (debugHttpCalls != null) {
+            context.getDebugHttpCalls().putIfAbsent(USER_SERVICE, debugHttpCalls);
+        }
+        return result.getUserDetails();
+    }
+
+    private long requestTimeout(Timeout timeout) {
+        return Math.min(this.timeout, timeout.remaining());
+    }
+
+    private Future<UserDetails> requestUserDetails(List<UserId> userIds, AuctionContext context,
+                                                   long requestTimeout) {
+
         final UserDetailsRequest userDetailsRequest = UserDetailsRequest.of(
                 UTC_MILLIS_FORMATTER.format(ZonedDateTime.now(clock)), userIds);
         final String body = mapper.encode(userDetailsRequest);
 
-        final long requestTimeout = Math.min(this.timeout, timeout.remaining());
-
         final long startTime = clock.millis();
         return httpClient.post(userDetailsUrl, body, requestTimeout)
                 .map(httpClientResponse -> toUserServiceResult(httpClientResponse, context,
@@ -233,6 +362,11 @@ public class UserService {
             return;
         }
 
+        if (userDetailsCache != null) {
+            // frequency caps of the user are going to be changed by this win
+            userDetailsCache.remove(userIds);
+        }
+
         final String body = mapper.encode(WinEventNotification.builder()
                 .bidderCode(lineItem.getSource())
                 .bidId(bidId)
@@ -291,4 +425,59 @@ public class UserService {
     private static void logWinEventError(Throwable exception) {
         logger.warn("Error occurred while pushing win event notification", exception);
     }
+
+    /**
+     * Result of {@link UserDetails} request shared with other requests for the same user.
+     */
+    @Value(staticConstructor = "of")
+    private static class UserDetailsResult {
+
+        Future<UserDetails> userDetails;
+
+        List<DebugHttpCall> debugHttpCalls;
+
+        boolean callerTimedOut;
+    }
+
+    /**
+     * Request of {@link UserDetails} in progress, which could be joined by other requests for the same user.
+     * <p>
+     * Joined requests are completed on their own Vert.x context.
+     */
+    private static class UserDetailsLookup {
+
+        private final List<Handler<UserDetailsResult>> handlers = new ArrayList<>();
+
+        private UserDetailsResult result;
+
+        /**
+         * Returns future completed with the lookup result or null if lookup is already completed.
+         */
+        synchronized Future<UserDetailsResult> join() {
+            if (result != null) {
+                return null;
+            }
+
+            final Promise<UserDetailsResult> promise = Promise.promise();
+            final Context context = Vertx.currentContext();
+            handlers.add(lookupResult -> {
+                if (context != null && context != Vertx.currentContext()) {
+                    context.runOnContext(ignored -> promise.complete(lookupResult));
+                } else {
+                    promise.complete(lookupResult);
+                }
+            });
+            return promise.future();
+        }
+
+        void complete(UserDetailsResult lookupResult) {
+            final List<Handler<UserDetailsResult>> handlersToNotify;
+            synchronized (this) {
+                result = lookupResult;
+                handlersToNotify = new ArrayList<>(handlers);
+                handlers.clear();
+            }
+            handlersToNotify.forEach(handler -> handler.handle(lookupResult));
+        }
+    }
 }
@@ -5,22 +5,35 @@ import org.prebid.server.deals.proto.DeliverySchedule;
 import org.prebid.server.deals.proto.Token;
 import org.prebid.server.exception.PreBidException;
 
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class DeliveryPlan {
 
+    /**
+     * Value of readyAt epoch nanoseconds meaning plan is not ready to serve.
+     */
+    public static final long NEVER = Long.MAX_VALUE;
+
     private final DeliverySchedule deliverySchedule;
 
     private final Set<DeliveryToken> deliveryTokens;
 
+    private final long totalTokens;
+
+    private final long startEpochMillis;
+
+    private final long tokenIntervalMillis;
+
     private DeliveryPlan(DeliverySchedule deliverySchedule) {
         this(Objects.requireNonNull(deliverySchedule), toDeliveryTokens(deliverySchedule.getTokens()));
     }
@@ -28,6 +41,12 @@ public class DeliveryPlan {
     private DeliveryPlan(DeliverySchedule deliverySchedule, Set<DeliveryToken> deliveryTokens) {
         this.deliverySchedule = Objects.requireNonNull(deliverySchedule);
         this.deliveryTokens = Objects.requireNonNull(deliveryTokens);
+
+        totalTokens = deliveryTokens.stream().mapToLong(DeliveryToken::getTotal).sum();
+        startEpochMillis = toEpochMillis(deliverySchedule.getStartTimeStamp());
+        tokenIntervalMillis = totalTokens > 0
+                ? (toEpochMillis(deliverySchedule.getEndTimeStamp()) - startEpochMillis) / totalTokens
+                : 0;
     }
 
     public static DeliveryPlan of(DeliverySchedule deliverySchedule) {
@@ -49,7 +68,7 @@ public class DeliveryPlan {
     }
 
     public long getTotalTokens() {
-        return deliveryTokens.stream().mapToLong(DeliveryToken::getTotal).sum();
+        return totalTokens;
     }
 
     /**
@@ -129,23 +148,29 @@ public class DeliveryPlan {
      * Calculates readyAt from expirationDate and number of unspent tokens.
      */
     public ZonedDateTime calculateReadyAt() {
-        final ZonedDateTime planStartTime = deliverySchedule.getStartTimeStamp();
-        final long spentTokens = getSpentTokens();
-        final long unspentTokens = getUnspentTokens();
-        final long timeShift = spentTokens * ((deliverySchedule.getEndTimeStamp().toInstant().toEpochMilli()
-                - planStartTime.toInstant().toEpochMilli()) / getTotalTokens());
-        return unspentTokens > 0
-                ? ZonedDateTime.ofInstant(planStartTime.toInstant().plusMillis(timeShift), ZoneOffset.UTC)
+        final long readyAtEpochNanos = calculateReadyAtEpochNanos();
+        return readyAtEpochNanos != NEVER
+                ? ZonedDateTime.ofInstant(Instant.ofEpochSecond(0, readyAtEpochNanos), ZoneOffset.UTC)
                 : null;
     }
 
+    /**
+     * Calculates readyAt as epoch nanoseconds from precomputed time interval per token and number of spent tokens,
+     * returns {@link #NEVER} if there are no unspent tokens.
+     */
+    public long calculateReadyAtEpochNanos() {
+        long spentTokens = 0;
+        for (final DeliveryToken deliveryToken : deliveryTokens) {
+            spentTokens += deliveryToken.getSpent().sum();
+        }
+
+        return totalTokens - spentTokens > 0
+                ? TimeUnit.MILLISECONDS.toNanos(startEpochMillis + spentTokens * tokenIntervalMillis)
+                : NEVER;
+    }
+
     public Long getDeliveryRateInMilliseconds() {
-        final int unspentTokens = getUnspentTokens();
-        return unspentTokens > 0
-                ? (deliverySchedule.getEndTimeStamp().toInstant().toEpochMilli()
-                - deliverySchedule.getStartTimeStamp().toInstant().toEpochMilli())
-                / getTotalTokens()
-                : null;
+        return getUnspentTokens() > 0 ? tokenIntervalMillis : null;
     }
 
     public boolean isUpdated(DeliverySchedule deliverySchedule) {
@@ -180,6 +205,10 @@ public class DeliveryPlan {
         return deliverySchedule;
     }
 
+    private static long toEpochMillis(ZonedDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant().toEpochMilli() : 0;
+    }
+
     private static Set<DeliveryToken> toDeliveryTokens(Set<Token> tokens) {
         return SetUtils.emptyIfNull(tokens).stream()
                 .map(DeliveryToken::of)
@@ -67,31 +67,27 @@ public class DeliveryProgress {
         accountRequests(accountId).increment();
         requests.increment();
 
-        txnLog.lineItemSentToClientAsTopMatch()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incSentToClientAsTopMatch));
-        txnLog.lineItemsSentToClient()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incSentToClient));
-        txnLog.lineItemsMatchedDomainTargeting()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incDomainMatched));
-        txnLog.lineItemsMatchedWholeTargeting()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incTargetMatched));
-        txnLog.lineItemsMatchedTargetingFcapped()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incTargetMatchedButFcapped));
-        txnLog.lineItemsMatchedTargetingFcapLookupFailed()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incTargetMatchedButFcapLookupFailed));
-        txnLog.lineItemsPacingDeferred()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incPacingDeferred));
-        txnLog.lineItemsSentToBidder().values().forEach(idList -> idList
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incSentToBidder)));
-        txnLog.lineItemsSentToBidderAsTopMatch().values().forEach(bidderList -> bidderList
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incSentToBidderAsTopMatch)));
-        txnLog.lineItemsReceivedFromBidder().values().forEach(idList -> idList
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incReceivedFromBidder)));
-        txnLog.lineItemsResponseInvalidated()
-                .forEach(lineItemId -> increment(lineItemId, LineItemStatus::incReceivedFromBidderInvalidated));
-
-        txnLog.lineItemSentToClientAsTopMatch()
-                .forEach(lineItemId -> incToken(lineItemId, planIdToTokenPriority));
+        for (final String lineItemId : txnLog.lineItemSentToClientAsTopMatch()) {
+            lineItemStatus(lineItemId).incSentToClientAsTopMatch();
+            incToken(lineItemId, planIdToTokenPriority);
+        }
+        increment(txnLog.lineItemsSentToClient(), LineItemStatus::incSentToClient);
+        increment(txnLog.lineItemsMatchedDomainTargeting(), LineItemStatus::incDomainMatched);
+        increment(txnLog.lineItemsMatchedWholeTargeting(), LineItemStatus::incTargetMatched);
+        increment(txnLog.lineItemsMatchedTargetingFcapped(), LineItemStatus::incTargetMatchedButFcapped);
+        increment(txnLog.lineItemsMatchedTargetingFcapLookupFailed(),
+                LineItemStatus::incTargetMatchedButFcapLookupFailed);
+        increment(txnLog.lineItemsPacingDeferred(), LineItemStatus::incPacingDeferred);
+        for (final Set<String> lineItemIds : txnLog.lineItemsSentToBidder().values()) {
+            increment(lineItemIds, LineItemStatus::incSentToBidder);
+        }
+        for (final Set<String> lineItemIds : txnLog.lineItemsSentToBidderAsTopMatch().values()) {
+            increment(lineItemIds, LineItemStatus::incSentToBidderAsTopMatch);
+        }
+        for (final Set<String> lineItemIds : txnLog.lineItemsReceivedFromBidder().values()) {
+            increment(lineItemIds, LineItemStatus::incReceivedFromBidder);
+        }
+        increment(txnLog.lineItemsResponseInvalidated(), LineItemStatus::incReceivedFromBidderInvalidated);
 
         txnLog.lostMatchingToLineItems().forEach((lineItemId, lostToLineItemsIds) ->
                 updateLostToEachLineItem(lineItemId, lostToLineItemsIds, lineItemIdToLost));
@@ -104,14 +100,7 @@ public class DeliveryProgress {
      * exists.
      */
     public void recordWinEvent(String lineItemId) {
-        final LineItemStatus lineItemStatus = lineItemStatuses.computeIfAbsent(lineItemId, this::createLineItemStatus);
-        final Event winEvent = lineItemStatus.getEvents().stream()
-                .filter(event -> event.getType().equals(WIN_EVENT_TYPE))
-                .findAny()
-                .orElseGet(() -> Event.of(WIN_EVENT_TYPE, new LongAdder()));
-
-        winEvent.getCount().increment();
-        lineItemStatus.getEvents().add(winEvent);
+        lineItemStatus(lineItemId).incEvent(WIN_EVENT_TYPE);
     }
 
     private LineItemStatus createLineItemStatus(String lineItemId) {
@@ -269,10 +258,24 @@ public class DeliveryProgress {
     }
 
     /**
-     * Increments {@link LineItemStatus} metric, creates line item status if does not exist.
+     * Increments {@link LineItemStatus} metric of each line item, creates line item status if does not exist.
      */
-    private void increment(String lineItemId, Consumer<LineItemStatus> inc) {
-        inc.accept(lineItemStatuses.computeIfAbsent(lineItemId, this::createLineItemStatus));
+    private void increment(Collection<String> lineItemIds, Consumer<LineItemStatus> inc) {
+        for (final String lineItemId : lineItemIds) {
+            inc.accept(lineItemStatus(lineItemId));
+        }
+    }
+
+    /**
+     * Returns {@link LineItemStatus}, creates it if does not exist.
+     * <p>
+     * Statuses are created once per line item, so existing ones are looked up without locking.
+     */
+    private LineItemStatus lineItemStatus(String lineItemId) {
+        final LineItemStatus lineItemStatus = lineItemStatuses.get(lineItemId);
+        return lineItemStatus != null
+                ? lineItemStatus
+                : lineItemStatuses.computeIfAbsent(lineItemId, this::createLineItemStatus);
     }
 
     /**
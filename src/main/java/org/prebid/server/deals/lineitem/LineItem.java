@@ -12,10 +12,13 @@ import org.prebid.server.deals.proto.Price;
 import org.prebid.server.deals.targeting.TargetingDefinition;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -33,7 +36,10 @@ public class LineItem {
 
     private final AtomicReference<DeliveryPlan> activeDeliveryPlan;
 
-    private final AtomicReference<ZonedDateTime> readyAt;
+    /**
+     * Epoch nanoseconds since line item is ready to serve or {@link DeliveryPlan#NEVER}.
+     */
+    private final AtomicLong readyAt;
 
     private LineItem(LineItemMetaData metaData, Price normalizedPrice, TargetingDefinition targetingDefinition) {
         this.metaData = Objects.requireNonNull(metaData);
@@ -43,7 +49,7 @@ public class LineItem {
         this.fcapIds = extractFcapIds(metaData);
 
         activeDeliveryPlan = new AtomicReference<>();
-        readyAt = new AtomicReference<>();
+        readyAt = new AtomicLong(DeliveryPlan.NEVER);
     }
 
     private LineItem(LineItemMetaData metaData,
@@ -53,7 +59,7 @@ public class LineItem {
                      ZonedDateTime now,
                      DeliveryPlan currentPlan) {
         this(metaData, normalizedPrice, targetingDefinition);
-        this.readyAt.set(readyAt);
+        this.readyAt.set(toEpochNanos(readyAt));
 
         updateOrAdvanceActivePlan(now, true, currentPlan);
     }
@@ -98,22 +104,34 @@ public class LineItem {
 
         if (deliveryPlan != null) {
             final Integer tokenClassIncremented = deliveryPlan.incSpentToken();
-            ZonedDateTime readyAtNewValue = deliveryPlan.calculateReadyAt();
-            readyAtNewValue = readyAtNewValue != null && adjustment != 0
-                    ? readyAtNewValue.plusNanos(TimeUnit.MILLISECONDS.toNanos(adjustment))
-                    : readyAtNewValue;
-            readyAt.set(readyAtNewValue);
+            updateReadyAtAfterTokenSpent(deliveryPlan, TimeUnit.MILLISECONDS.toNanos(adjustment));
             if (logger.isDebugEnabled()) {
                 logger.debug("ReadyAt for lineItem {0} plan {1} was updated to {2} after token was spent. Total number"
                                 + " of unspent token is {3}. Current time is {4}",
                         getLineItemId(), deliveryPlan.getPlanId(),
-                        readyAt.get(), deliveryPlan.getUnspentTokens(), now);
+                        getReadyAt(), deliveryPlan.getUnspentTokens(), now);
             }
             return tokenClassIncremented;
         }
         return null;
     }
 
+    /**
+     * Recalculates readyAt from the number of spent tokens until it is set with no concurrent update in between,
+     * so readyAt calculated before concurrent token spend never overrides the one calculated after it.
+     */
+    private void updateReadyAtAfterTokenSpent(DeliveryPlan deliveryPlan, long adjustmentNanos) {
+        long currentReadyAt;
+        long updatedReadyAt;
+        do {
+            currentReadyAt = readyAt.get();
+            updatedReadyAt = deliveryPlan.calculateReadyAtEpochNanos();
+            if (updatedReadyAt != DeliveryPlan.NEVER) {
+                updatedReadyAt += adjustmentNanos;
+            }
+        } while (!readyAt.compareAndSet(currentReadyAt, updatedReadyAt));
+    }
+
     public Integer getHighestUnspentTokensClass() {
         final DeliveryPlan activeDeliveryPlan = getActiveDeliveryPlan();
         return activeDeliveryPlan != null ? activeDeliveryPlan.getHighestUnspentTokensClass() : null;
@@ -128,7 +146,18 @@ public class LineItem {
     }
 
     public ZonedDateTime getReadyAt() {
-        return readyAt.get();
+        final long readyAtEpochNanos = readyAt.get();
+        return readyAtEpochNanos != DeliveryPlan.NEVER
+                ? ZonedDateTime.ofInstant(Instant.ofEpochSecond(0, readyAtEpochNanos), ZoneOffset.UTC)
+                : null;
+    }
+
+    /**
+     * Returns true when line item is ready to serve at the given time.
+     */
+    public boolean isReadyAt(ZonedDateTime now) {
+        final long readyAtEpochNanos = readyAt.get();
+        return readyAtEpochNanos != DeliveryPlan.NEVER && readyAtEpochNanos <= toEpochNanos(now);
     }
 
     public BigDecimal getCpm() {
@@ -211,11 +240,12 @@ public class LineItem {
 
         if (currentSchedule != null) {
             final DeliveryPlan resolvedPlan = resolveActivePlan(currentPlan, currentSchedule, isPlannerResponsive);
-            final ZonedDateTime readyAtBeforeUpdate = readyAt.get();
+            final ZonedDateTime readyAtBeforeUpdate = getReadyAt();
             if (currentPlan != resolvedPlan) {
-                readyAt.set(currentPlan == null || !Objects.equals(currentSchedule.getPlanId(), currentPlan.getPlanId())
-                        ? calculateReadyAfterMovingToNextPlan(now, resolvedPlan)
-                        : calculateReadyAtAfterPlanUpdated(now, resolvedPlan));
+                readyAt.set(toEpochNanos(
+                        currentPlan == null || !Objects.equals(currentSchedule.getPlanId(), currentPlan.getPlanId())
+                                ? calculateReadyAfterMovingToNextPlan(now, resolvedPlan)
+                                : calculateReadyAtAfterPlanUpdated(now, resolvedPlan)));
                 logger.info("ReadyAt for Line Item `{0}` was updated from plan {1} to {2} and readyAt from {3} to {4}"
                                 + " at time is {5}", getLineItemId(),
                         currentPlan != null ? currentPlan.getPlanId() : " no plan ", resolvedPlan.getPlanId(),
@@ -228,7 +258,7 @@ public class LineItem {
             activeDeliveryPlan.set(resolvedPlan);
         } else {
             activeDeliveryPlan.set(null);
-            readyAt.set(null);
+            readyAt.set(DeliveryPlan.NEVER);
             logger.info("Active plan for Line Item `{0}` was not found at time is {1}, readyAt updated with 'never',"
                     + " until active plan become available", getLineItemId(), now);
         }
@@ -263,6 +293,12 @@ public class LineItem {
         return DeliveryPlan.of(currentSchedule);
     }
 
+    private static long toEpochNanos(ZonedDateTime dateTime) {
+        return dateTime != null
+                ? TimeUnit.SECONDS.toNanos(dateTime.toEpochSecond()) + dateTime.getNano()
+                : DeliveryPlan.NEVER;
+    }
+
     /**
      * Returns true when now parameter is after startDate and before expirationDate.
      */
@@ -4,11 +4,8 @@ import io.vertx.core.impl.ConcurrentHashSet;
 import lombok.Value;
 import org.prebid.server.deals.proto.report.Event;
 
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.LongAdder;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 @Value
 public class LineItemStatus {
@@ -148,20 +145,33 @@ public class LineItemStatus {
         mergeEvents(other);
     }
 
+    /**
+     * Increments counter of {@link Event} with the given type, creates event if not exists.
+     */
+    public void incEvent(String type) {
+        eventOfType(type).getCount().increment();
+    }
+
     private void mergeEvents(LineItemStatus other) {
-        final Map<String, Event> typesToEvent = other.events.stream()
-                .collect(Collectors.toMap(Event::getType, Function.identity()));
-        typesToEvent.forEach(this::addOrUpdateEvent);
-    }
-
-    private void addOrUpdateEvent(String type, Event distEvent) {
-        final Event sameTypeEvent = events.stream()
-                .filter(event -> event.getType().equals(type))
-                .findFirst().orElse(null);
-        if (sameTypeEvent != null) {
-            sameTypeEvent.getCount().add(distEvent.getCount().sum());
-        } else {
-            events.add(distEvent);
+        for (final Event otherEvent : other.events) {
+            eventOfType(otherEvent.getType()).getCount().add(otherEvent.getCount().sum());
+        }
+    }
+
+    /**
+     * Returns the only {@link Event} of the given type, so concurrent updates never create duplicates.
+     */
+    private Event eventOfType(String type) {
+        synchronized (events) {
+            for (final Event event : events) {
+                if (event.getType().equals(type)) {
+                    return event;
+                }
+            }
+
+            final Event event = Event.of(type, new LongAdder());
+            events.add(event);
+            return event;
         }
     }
 }
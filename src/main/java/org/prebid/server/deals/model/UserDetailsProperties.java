@@ -20,4 +20,8 @@ public class UserDetailsProperties {
 
     @NonNull
     List<UserIdRule> userIds;
+
+    long cacheTtlMs;
+
+    int cacheSize;
 }
@@ -1,6 +1,7 @@
 package org.prebid.server.deals.simulation;
 
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.deals.LineItemService;
@@ -25,6 +26,7 @@ public class SimulationAwareUserService extends UserService {
                                       String dataCenterRegion,
                                       LineItemService lineItemService,
                                       HttpClient httpClient,
+                                      Vertx vertx,
                                       Clock clock,
                                       Metrics metrics,
                                       JacksonMapper mapper) {
@@ -33,6 +35,7 @@ public class SimulationAwareUserService extends UserService {
                 dataCenterRegion,
                 lineItemService,
                 httpClient,
+                vertx,
                 clock,
                 metrics,
                 mapper);
@@ -14,7 +14,6 @@ import com.iab.openrtb.request.Site;
 import com.iab.openrtb.request.User;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.prebid.server.deals.model.TxnLog;
 import org.prebid.server.deals.targeting.model.GeoLocation;
 import org.prebid.server.deals.targeting.model.Size;
@@ -28,25 +27,31 @@ import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import org.prebid.server.util.ObjectUtil;
 import org.prebid.server.util.StreamUtil;
 
-import java.beans.BeanInfo;
-import java.beans.FeatureDescriptor;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Provides values of the OpenRTB2 request and particular Imp for targeting evaluation.
+ * <p>
+ * Each value is resolved at most once for every {@link TargetingCategory}, so the same instance
+ * should be used to evaluate targeting of all Line Items against the Imp.
+ */
 public class RequestContext {
 
+    private static final AttributeReader<User> USER_ATTRIBUTE_READER = AttributeReader.forUser();
+    private static final AttributeReader<Site> SITE_ATTRIBUTE_READER = AttributeReader.forSite();
+    private static final AttributeReader<App> APP_ATTRIBUTE_READER = AttributeReader.forApp();
+    private static final AttributeReader<Imp> IMP_CONTEXT_DATA_ATTRIBUTE_READER = AttributeReader.forImpContextData();
+    private static final AttributeReader<Imp> IMP_BIDDER_ATTRIBUTE_READER = AttributeReader.forImpBidder();
+
     private final BidRequest bidRequest;
     private final Imp imp;
     private final TxnLog txnLog;
@@ -54,11 +59,14 @@ public class RequestContext {
     private final ObjectNode geoExt;
     private final ObjectNode userExt;
 
-    private final AttributeReader<User> userAttributeReader = AttributeReader.forUser();
-    private final AttributeReader<Site> siteAttributeReader = AttributeReader.forSite();
-    private final AttributeReader<App> appAttributeReader = AttributeReader.forApp();
-    private final AttributeReader<Imp> impContextDataAttributeReader = AttributeReader.forImpContextData();
-    private final AttributeReader<Imp> impBidderAttributeReader = AttributeReader.forImpBidder();
+    private final Map<TargetingCategory, Optional<String>> stringValues = new HashMap<>();
+    private final Map<TargetingCategory, Optional<String>> lowerCaseStringValues = new HashMap<>();
+    private final Map<TargetingCategory, Optional<Integer>> integerValues = new HashMap<>();
+    private final Map<TargetingCategory, Optional<List<String>>> stringsValues = new HashMap<>();
+    private final Map<TargetingCategory, Optional<List<String>>> lowerCaseStringsValues = new HashMap<>();
+    private final Map<TargetingCategory, Optional<List<Integer>>> integersValues = new HashMap<>();
+    private final Map<TargetingCategory, List<Size>> sizesValues = new HashMap<>();
+    private final Map<TargetingCategory, Optional<GeoLocation>> geoLocationValues = new HashMap<>();
 
     public RequestContext(BidRequest bidRequest, Imp imp, TxnLog txnLog, JacksonMapper mapper) {
         this.bidRequest = Objects.requireNonNull(bidRequest);
@@ -77,6 +85,52 @@ public class RequestContext {
     }
 
     public String lookupString(TargetingCategory category) {
+        return stringValues.computeIfAbsent(category, key -> Optional.ofNullable(resolveString(key))).orElse(null);
+    }
+
+    /**
+     * Returns the same value as {@link #lookupString(TargetingCategory)} does but in lower case.
+     */
+    public String lookupLowerCaseString(TargetingCategory category) {
+        return lowerCaseStringValues.computeIfAbsent(category,
+                key -> Optional.ofNullable(StringUtils.lowerCase(lookupString(key)))).orElse(null);
+    }
+
+    public Integer lookupInteger(TargetingCategory category) {
+        return integerValues.computeIfAbsent(category, key -> Optional.ofNullable(resolveInteger(key))).orElse(null);
+    }
+
+    public List<String> lookupStrings(TargetingCategory category) {
+        return stringsValues.computeIfAbsent(category, key -> Optional.ofNullable(resolveStrings(key))).orElse(null);
+    }
+
+    /**
+     * Returns the same values as {@link #lookupStrings(TargetingCategory)} does but in lower case.
+     */
+    public List<String> lookupLowerCaseStrings(TargetingCategory category) {
+        return lowerCaseStringsValues.computeIfAbsent(category,
+                key -> Optional.ofNullable(toLowerCase(lookupStrings(key)))).orElse(null);
+    }
+
+    public List<Integer> lookupIntegers(TargetingCategory category) {
+        return integersValues.computeIfAbsent(category, key -> Optional.ofNullable(resolveIntegers(key)))
+                .orElse(null);
+    }
+
+    public List<Size> lookupSizes(TargetingCategory category) {
+        return sizesValues.computeIfAbsent(category, this::resolveSizes);
+    }
+
+    public GeoLocation lookupGeoLocation(TargetingCategory category) {
+        return geoLocationValues.computeIfAbsent(category, key -> Optional.ofNullable(resolveGeoLocation(key)))
+                .orElse(null);
+    }
+
+    public TxnLog txnLog() {
+        return txnLog;
+    }
+
+    private String resolveString(TargetingCategory category) {
         final TargetingCategory.Type type = category.type();
         switch (type) {
             case domain:
@@ -98,9 +152,9 @@ public class RequestContext {
             case deviceExt:
                 return getValueFrom(deviceExt, category, RequestContext::nodeToString);
             case bidderParam:
-                return impBidderAttributeReader.readFromExt(imp, category, RequestContext::nodeToString);
+                return IMP_BIDDER_ATTRIBUTE_READER.readFromExt(imp, category, RequestContext::nodeToString);
             case userFirstPartyData:
-                return userAttributeReader.read(
+                return USER_ATTRIBUTE_READER.read(
                         bidRequest.getUser(), category, RequestContext::nodeToString, String.class);
             case siteFirstPartyData:
                 return getSiteFirstPartyData(category, RequestContext::nodeToString);
@@ -110,7 +164,7 @@ public class RequestContext {
         }
     }
 
-    public Integer lookupInteger(TargetingCategory category) {
+    private Integer resolveInteger(TargetingCategory category) {
         final TargetingCategory.Type type = category.type();
         switch (type) {
             case pagePosition:
@@ -120,9 +174,9 @@ public class RequestContext {
             case hour:
                 return getIntegerFromUserExt("time.userhour");
             case bidderParam:
-                return impBidderAttributeReader.readFromExt(imp, category, RequestContext::nodeToInteger);
+                return IMP_BIDDER_ATTRIBUTE_READER.readFromExt(imp, category, RequestContext::nodeToInteger);
             case userFirstPartyData:
-                return userAttributeReader.read(
+                return USER_ATTRIBUTE_READER.read(
                         bidRequest.getUser(), category, RequestContext::nodeToInteger, Integer.class);
             case siteFirstPartyData:
                 return getSiteFirstPartyData(category, RequestContext::nodeToInteger);
@@ -132,18 +186,18 @@ public class RequestContext {
         }
     }
 
-    public List<String> lookupStrings(TargetingCategory category) {
+    private List<String> resolveStrings(TargetingCategory category) {
         final TargetingCategory.Type type = category.type();
         switch (type) {
             case mediaType:
                 return getMediaTypes();
             case bidderParam:
-                return impBidderAttributeReader
+                return IMP_BIDDER_ATTRIBUTE_READER
                         .readFromExt(imp, category, node -> nodeToList(node, RequestContext::nodeToString));
             case userSegment:
                 return getSegments(category);
             case userFirstPartyData:
-                return userAttributeReader.readFromExt(
+                return USER_ATTRIBUTE_READER.readFromExt(
                         bidRequest.getUser(), category, node -> nodeToList(node, RequestContext::nodeToString));
             case siteFirstPartyData:
                 return getSiteFirstPartyData(category, node -> nodeToList(node, RequestContext::nodeToString));
@@ -153,14 +207,14 @@ public class RequestContext {
         }
     }
 
-    public List<Integer> lookupIntegers(TargetingCategory category) {
+    private List<Integer> resolveIntegers(TargetingCategory category) {
         final TargetingCategory.Type type = category.type();
         switch (type) {
             case bidderParam:
-                return impBidderAttributeReader
+                return IMP_BIDDER_ATTRIBUTE_READER
                         .readFromExt(imp, category, node -> nodeToList(node, RequestContext::nodeToInteger));
             case userFirstPartyData:
-                return userAttributeReader.readFromExt(
+                return USER_ATTRIBUTE_READER.readFromExt(
                         bidRequest.getUser(), category, node -> nodeToList(node, RequestContext::nodeToInteger));
             case siteFirstPartyData:
                 return getSiteFirstPartyData(category, node -> nodeToList(node, RequestContext::nodeToInteger));
@@ -170,7 +224,7 @@ public class RequestContext {
         }
     }
 
-    public List<Size> lookupSizes(TargetingCategory category) {
+    private List<Size> resolveSizes(TargetingCategory category) {
         final TargetingCategory.Type type = category.type();
         if (type != TargetingCategory.Type.size) {
             throw new TargetingSyntaxException(
@@ -183,7 +237,7 @@ public class RequestContext {
                 .collect(Collectors.toList());
     }
 
-    public GeoLocation lookupGeoLocation(TargetingCategory category) {
+    private GeoLocation resolveGeoLocation(TargetingCategory category) {
         final TargetingCategory.Type type = category.type();
         if (type != TargetingCategory.Type.location) {
             throw new TargetingSyntaxException(
@@ -197,10 +251,6 @@ public class RequestContext {
         return lat != null && lon != null ? GeoLocation.of(lat, lon) : null;
     }
 
-    public TxnLog txnLog() {
-        return txnLog;
-    }
-
     private String getFirstNonNullStringFromImpExt(String... path) {
         return Arrays.stream(path).map(this::getStringFromImpExt).filter(Objects::nonNull).findFirst().orElse(null);
     }
@@ -241,9 +291,9 @@ public class RequestContext {
 
     private <T> T getSiteFirstPartyData(TargetingCategory category, Function<JsonNode, T> valueExtractor) {
         return ObjectUtil.firstNonNull(
-                () -> impContextDataAttributeReader.readFromExt(imp, category, valueExtractor),
-                () -> siteAttributeReader.readFromExt(bidRequest.getSite(), category, valueExtractor),
-                () -> appAttributeReader.readFromExt(bidRequest.getApp(), category, valueExtractor));
+                () -> IMP_CONTEXT_DATA_ATTRIBUTE_READER.readFromExt(imp, category, valueExtractor),
+                () -> SITE_ATTRIBUTE_READER.readFromExt(bidRequest.getSite(), category, valueExtractor),
+                () -> APP_ATTRIBUTE_READER.readFromExt(bidRequest.getApp(), category, valueExtractor));
     }
 
     public List<String> getSegments(TargetingCategory category) {
@@ -257,6 +307,12 @@ public class RequestContext {
                 .collect(Collectors.toList());
     }
 
+    private static List<String> toLowerCase(List<String> values) {
+        return values != null
+                ? values.stream().map(String::toLowerCase).collect(Collectors.toList())
+                : null;
+    }
+
     private static String toJsonPointer(String path) {
         return Arrays.stream(path.split("\\.")).collect(Collectors.joining("/", "/", StringUtils.EMPTY));
     }
@@ -282,43 +338,49 @@ public class RequestContext {
 
     private static class AttributeReader<T> {
 
-        private static final Set<Class<?>> SUPPORTED_PROPERTY_TYPES = new HashSet<>(Arrays.asList(
-                String.class, Integer.class, int.class));
-
         private static final String EXT_PREBID = "prebid";
         private static final String EXT_BIDDER = "bidder";
         private static final String EXT_DATA = "data";
         private static final String EXT_CONTEXT = "context";
 
-        private final Map<String, PropertyDescriptor> properties;
+        private final Map<String, Function<T, ?>> properties;
         private final Function<T, JsonNode> extPathExtractor;
 
-        private AttributeReader(Class<T> type, Function<T, JsonNode> extPathExtractor) {
-            this.properties = supportedBeanProperties(type);
+        private AttributeReader(Map<String, Function<T, ?>> properties, Function<T, JsonNode> extPathExtractor) {
+            this.properties = properties;
             this.extPathExtractor = extPathExtractor;
         }
 
         public static AttributeReader<User> forUser() {
+            final Map<String, Function<User, ?>> properties = new HashMap<>();
+            properties.put("id", User::getId);
+            properties.put("buyeruid", User::getBuyeruid);
+            properties.put("yob", User::getYob);
+            properties.put("gender", User::getGender);
+            properties.put("language", User::getLanguage);
+            properties.put("keywords", User::getKeywords);
+            properties.put("customdata", User::getCustomdata);
+
             return new AttributeReader<>(
-                    User.class,
+                    Collections.unmodifiableMap(properties),
                     user -> getIfNotNull(getIfNotNull(user, User::getExt), ExtUser::getData));
         }
 
         public static AttributeReader<Site> forSite() {
             return new AttributeReader<>(
-                    Site.class,
+                    Collections.emptyMap(),
                     site -> getIfNotNull(getIfNotNull(site, Site::getExt), ExtSite::getData));
         }
 
         public static AttributeReader<App> forApp() {
             return new AttributeReader<>(
-                    App.class,
+                    Collections.emptyMap(),
                     app -> getIfNotNull(getIfNotNull(app, App::getExt), ExtApp::getData));
         }
 
         public static AttributeReader<Imp> forImpContextData() {
             return new AttributeReader<>(
-                    Imp.class,
+                    Collections.emptyMap(),
                     imp -> getIfNotNull(
                             getIfNotNull(
                                     getIfNotNull(imp, Imp::getExt), node -> node.get(EXT_CONTEXT)),
@@ -327,7 +389,7 @@ public class RequestContext {
 
         public static AttributeReader<Imp> forImpBidder() {
             return new AttributeReader<>(
-                    Imp.class,
+                    Collections.emptyMap(),
                     imp -> getIfNotNull(
                             getIfNotNull(
                                     getIfNotNull(imp, Imp::getExt), node -> node.get(EXT_PREBID)),
@@ -345,10 +407,10 @@ public class RequestContext {
         }
 
         public <A> A readFromObject(T target, TargetingCategory category, Class<A> attributeType) {
-            if (isTopLevelAttribute(category.path())) {
-                return getIfNotNull(target, user -> readProperty(user, category.path(), attributeType));
-            }
-            return null;
+            final Function<T, ?> property = target != null ? properties.get(category.path()) : null;
+            final Object value = property != null ? property.apply(target) : null;
+
+            return attributeType.isInstance(value) ? attributeType.cast(value) : null;
         }
 
         public <A> A readFromExt(T target, TargetingCategory category, Function<JsonNode, A> valueExtractor) {
@@ -357,35 +419,5 @@ public class RequestContext {
                             getIfNotNull(target, extPathExtractor), node -> node.at(toJsonPointer(category.path()))),
                     valueExtractor);
         }
-
-        private boolean isTopLevelAttribute(String path) {
-            return !path.contains(".");
-        }
-
-        private static Map<String, PropertyDescriptor> supportedBeanProperties(Class<?> beanClass) {
-            try {
-                final BeanInfo beanInfo = Introspector.getBeanInfo(beanClass, Object.class);
-                return Arrays.stream(beanInfo.getPropertyDescriptors())
-                        .filter(pd -> SUPPORTED_PROPERTY_TYPES.contains(pd.getPropertyType()))
-                        .collect(Collectors.toMap(FeatureDescriptor::getName, Function.identity()));
-            } catch (IntrospectionException e) {
-                return ExceptionUtils.rethrow(e);
-            }
-        }
-
-        @SuppressWarnings("unchecked")
-        private <A> A readProperty(T target, String path, Class<A> attributeType) {
-            final PropertyDescriptor descriptor = properties.get(path);
-
-            if (descriptor != null && descriptor.getPropertyType().equals(attributeType)) {
-                try {
-                    return (A) descriptor.getReadMethod().invoke(target);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    // just ignore
-                }
-            }
-
-            return null;
-        }
     }
 }
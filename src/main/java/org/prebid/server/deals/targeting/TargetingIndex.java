@@ -0,0 +1,188 @@
+package org.prebid.server.deals.targeting;
+
+import lombok.Value;
+import org.prebid.server.deals.targeting.interpret.And;
+import org.prebid.server.deals.targeting.interpret.DomainMetricAwareExpression;
+import org.prebid.server.deals.targeting.interpret.Expression;
+import org.prebid.server.deals.targeting.interpret.IndexableExpression;
+import org.prebid.server.deals.targeting.interpret.Matches;
+import org.prebid.server.deals.targeting.syntax.TargetingCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index of {@link TargetingDefinition}s by values of their top level {@link IndexableExpression}s,
+ * for example "adunit.size" → definitions, "site.domain" → definitions or "geo.distance" grid cell → definitions.
+ * <p>
+ * Allows to reject definitions which do not match the request without evaluating them one by one,
+ * while the rest of definitions still should be evaluated in full.
+ * <p>
+ * Only conditions which are evaluated before anything having side effects (like domain targeting
+ * metrics) or possibly failing are indexed, so rejected definitions are exactly the ones whose evaluation
+ * would stop on the failed indexed condition without leaving any traces.
+ */
+public class TargetingIndex {
+
+    private static final TargetingIndex EMPTY = new TargetingIndex(
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private static final Collection<?> UNKNOWN_VALUES = Collections.unmodifiableList(new ArrayList<>());
+
+    private final Map<IndexKey, IndexableExpression> keyToLookupExpression;
+    private final Map<IndexKey, Map<Object, Set<TargetingDefinition>>> keyToValueToDefinitions;
+    private final Map<TargetingDefinition, List<IndexKey>> definitionToKeys;
+
+    private TargetingIndex(Map<IndexKey, IndexableExpression> keyToLookupExpression,
+                           Map<IndexKey, Map<Object, Set<TargetingDefinition>>> keyToValueToDefinitions,
+                           Map<TargetingDefinition, List<IndexKey>> definitionToKeys) {
+
+        this.keyToLookupExpression = keyToLookupExpression;
+        this.keyToValueToDefinitions = keyToValueToDefinitions;
+        this.definitionToKeys = definitionToKeys;
+    }
+
+    public static TargetingIndex empty() {
+        return EMPTY;
+    }
+
+    public static TargetingIndex of(Collection<TargetingDefinition> definitions) {
+        final Map<IndexKey, IndexableExpression> keyToLookupExpression = new HashMap<>();
+        final Map<IndexKey, Map<Object, Set<TargetingDefinition>>> keyToValueToDefinitions = new HashMap<>();
+        final Map<TargetingDefinition, List<IndexKey>> definitionToKeys = new IdentityHashMap<>();
+
+        for (final TargetingDefinition definition : definitions) {
+            final List<IndexableExpression> expressions = indexableExpressions(definition.getRootExpression());
+            if (expressions.isEmpty()) {
+                continue;
+            }
+
+            final List<IndexKey> keys = new ArrayList<>(expressions.size());
+            for (final IndexableExpression expression : expressions) {
+                final IndexKey key = IndexKey.of(expression.getClass(), expression.category());
+                keyToLookupExpression.putIfAbsent(key, expression);
+
+                final Map<Object, Set<TargetingDefinition>> valueToDefinitions =
+                        keyToValueToDefinitions.computeIfAbsent(key, ignored -> new HashMap<>());
+                for (final Object value : expression.values()) {
+                    valueToDefinitions
+                            .computeIfAbsent(value, ignored -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                            .add(definition);
+                }
+                keys.add(key);
+            }
+            definitionToKeys.put(definition, keys);
+        }
+
+        return new TargetingIndex(keyToLookupExpression, keyToValueToDefinitions, definitionToKeys);
+    }
+
+    /**
+     * Returns conditions of the root conjunction which are evaluated before any expression
+     * that may have side effects or fail to be evaluated.
+     */
+    private static List<IndexableExpression> indexableExpressions(Expression rootExpression) {
+        final List<Expression> conjuncts = rootExpression instanceof And
+                ? ((And) rootExpression).expressions()
+                : Collections.singletonList(rootExpression);
+
+        final List<IndexableExpression> indexableExpressions = new ArrayList<>();
+        for (final Expression conjunct : conjuncts) {
+            if (conjunct instanceof IndexableExpression) {
+                if (((IndexableExpression) conjunct).values() != null) {
+                    indexableExpressions.add((IndexableExpression) conjunct);
+                }
+            } else if (conjunct instanceof DomainMetricAwareExpression) {
+                // domain metric is updated only when expression matches, so it is safe to index it,
+                // but not the expressions going after it
+                final Expression domainFunction = ((DomainMetricAwareExpression) conjunct).domainFunction();
+                if (domainFunction instanceof IndexableExpression
+                        && ((IndexableExpression) domainFunction).values() != null) {
+                    indexableExpressions.add((IndexableExpression) domainFunction);
+                }
+                break;
+            } else if (!(conjunct instanceof Matches)) {
+                break;
+            }
+        }
+        return indexableExpressions;
+    }
+
+    /**
+     * Returns filter passing {@link TargetingDefinition}s which may match the given request,
+     * the rest of them are known to not match it.
+     * <p>
+     * Request values are looked up at most once for each indexed category, so the returned filter
+     * should not be shared between requests.
+     */
+    public Predicate<TargetingDefinition> candidates(RequestContext context) {
+        if (definitionToKeys.isEmpty()) {
+            return definition -> true;
+        }
+
+        final Map<IndexKey, Collection<?>> keyToRequestValues = new HashMap<>();
+        return definition -> mayMatch(definition, keyToRequestValues, context);
+    }
+
+    private boolean mayMatch(TargetingDefinition definition,
+                             Map<IndexKey, Collection<?>> keyToRequestValues,
+                             RequestContext context) {
+
+        final List<IndexKey> keys = definitionToKeys.get(definition);
+        if (keys == null) {
+            return true;
+        }
+
+        for (final IndexKey key : keys) {
+            final Collection<?> requestValues = keyToRequestValues.computeIfAbsent(key,
+                    ignored -> lookupRequestValues(keyToLookupExpression.get(key), context));
+            if (requestValues == UNKNOWN_VALUES) {
+                // evaluation of this condition fails, so leave it for the expression itself
+                return true;
+            }
+
+            if (!isIndexedByAny(definition, keyToValueToDefinitions.get(key), requestValues)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Collection<?> lookupRequestValues(IndexableExpression expression, RequestContext context) {
+        final Collection<?> values;
+        try {
+            values = expression.lookupValues(context);
+        } catch (RuntimeException e) {
+            return UNKNOWN_VALUES;
+        }
+        return values != null ? values : UNKNOWN_VALUES;
+    }
+
+    private static boolean isIndexedByAny(TargetingDefinition definition,
+                                          Map<Object, Set<TargetingDefinition>> valueToDefinitions,
+                                          Collection<?> requestValues) {
+
+        for (final Object value : requestValues) {
+            final Set<TargetingDefinition> definitions = valueToDefinitions.get(value);
+            if (definitions != null && definitions.contains(definition)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class IndexKey {
+
+        Class<?> type;
+
+        TargetingCategory category;
+    }
+}
@@ -24,4 +24,8 @@ public class And implements NonTerminalExpression {
         }
         return true;
     }
+
+    public List<Expression> expressions() {
+        return expressions;
+    }
 }
@@ -22,4 +22,8 @@ public class DomainMetricAwareExpression implements Expression {
         }
         return matches;
     }
+
+    public Expression domainFunction() {
+        return domainFunction;
+    }
 }
@@ -16,9 +16,7 @@ public class InStrings extends In<String> {
 
     @Override
     public String lookupActualValue(RequestContext context) {
-        final String actualValue = context.lookupString(category);
-
-        return actualValue != null ? actualValue.toLowerCase() : null;
+        return context.lookupLowerCaseString(category);
     }
 
     private static List<String> toLowerCase(List<String> values) {
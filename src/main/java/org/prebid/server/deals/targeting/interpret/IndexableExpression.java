@@ -0,0 +1,27 @@
+package org.prebid.server.deals.targeting.interpret;
+
+import org.prebid.server.deals.targeting.RequestContext;
+import org.prebid.server.deals.targeting.syntax.TargetingCategory;
+
+import java.util.Collection;
+
+/**
+ * Terminal expression which matches only if at least one of the values looked up from the request
+ * is equal to one of the expression values, so it could be evaluated with the inverted index of values.
+ * <p>
+ * Expressions of the same class and {@link TargetingCategory} look up the same values from the request.
+ */
+public interface IndexableExpression extends TerminalExpression {
+
+    TargetingCategory category();
+
+    /**
+     * Returns values to index expression by or null if expression could not be indexed.
+     */
+    Collection<?> values();
+
+    /**
+     * Returns values of the request to match against or null if expression would fail to evaluate them.
+     */
+    Collection<?> lookupValues(RequestContext context);
+}
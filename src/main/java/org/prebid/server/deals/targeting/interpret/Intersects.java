@@ -4,25 +4,46 @@ import lombok.EqualsAndHashCode;
 import org.prebid.server.deals.targeting.RequestContext;
 import org.prebid.server.deals.targeting.syntax.TargetingCategory;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
-@EqualsAndHashCode
-public abstract class Intersects<T> implements TerminalExpression {
+@EqualsAndHashCode(exclude = "valuesSet")
+public abstract class Intersects<T> implements IndexableExpression {
 
     protected final TargetingCategory category;
 
     protected List<T> values;
 
+    private final Set<T> valuesSet;
+
     public Intersects(TargetingCategory category, List<T> values) {
         this.category = Objects.requireNonNull(category);
         this.values = Collections.unmodifiableList(values);
+        this.valuesSet = new HashSet<>(values);
     }
 
     @Override
     public boolean matches(RequestContext context) {
-        return !Collections.disjoint(values, lookupActualValues(context));
+        return !Collections.disjoint(valuesSet, lookupActualValues(context));
+    }
+
+    @Override
+    public TargetingCategory category() {
+        return category;
+    }
+
+    @Override
+    public Collection<T> values() {
+        return values;
+    }
+
+    @Override
+    public Collection<T> lookupValues(RequestContext context) {
+        return lookupActualValues(context);
     }
 
     protected abstract List<T> lookupActualValues(RequestContext context);
@@ -16,7 +16,7 @@ public class IntersectsStrings extends Intersects<String> {
 
     @Override
     public List<String> lookupActualValues(RequestContext context) {
-        return toLowerCase(context.lookupStrings(category));
+        return context.lookupLowerCaseStrings(category);
     }
 
     private static List<String> toLowerCase(List<String> values) {
@@ -1,11 +1,11 @@
 package org.prebid.server.deals.targeting.interpret;
 
 import lombok.EqualsAndHashCode;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.deals.targeting.RequestContext;
 import org.prebid.server.deals.targeting.syntax.TargetingCategory;
 
 import java.util.Objects;
-import java.util.function.BiFunction;
 
 @EqualsAndHashCode
 public class Matches implements TerminalExpression {
@@ -14,31 +14,49 @@ public class Matches implements TerminalExpression {
 
     private final TargetingCategory category;
 
-    private BiFunction<String, String, Boolean> method;
+    private final Method method;
 
-    private String value;
+    private final String value;
 
     public Matches(TargetingCategory category, String value) {
         this.category = Objects.requireNonNull(category);
         this.method = resolveMethod(Objects.requireNonNull(value));
-        this.value = value.replaceAll("\\*", "").toLowerCase();
+        this.value = StringUtils.remove(value, WILDCARD).toLowerCase();
     }
 
     @Override
     public boolean matches(RequestContext context) {
-        final String valueToMatch = context.lookupString(category);
-        return valueToMatch != null && method.apply(valueToMatch.toLowerCase(), value);
+        final String valueToMatch = context.lookupLowerCaseString(category);
+        if (valueToMatch == null) {
+            return false;
+        }
+
+        switch (method) {
+            case CONTAINS:
+                return valueToMatch.contains(value);
+            case ENDS_WITH:
+                return valueToMatch.endsWith(value);
+            case STARTS_WITH:
+                return valueToMatch.startsWith(value);
+            default:
+                return valueToMatch.equals(value);
+        }
     }
 
-    private static BiFunction<String, String, Boolean> resolveMethod(String value) {
+    private static Method resolveMethod(String value) {
         if (value.startsWith(WILDCARD) && value.endsWith(WILDCARD)) {
-            return String::contains;
+            return Method.CONTAINS;
         } else if (value.startsWith(WILDCARD)) {
-            return String::endsWith;
+            return Method.ENDS_WITH;
         } else if (value.endsWith(WILDCARD)) {
-            return String::startsWith;
+            return Method.STARTS_WITH;
         } else {
-            return String::equals;
+            return Method.EQUALS;
         }
     }
+
+    private enum Method {
+
+        CONTAINS, ENDS_WITH, STARTS_WITH, EQUALS
+    }
 }
@@ -6,20 +6,44 @@ import org.prebid.server.deals.targeting.model.GeoLocation;
 import org.prebid.server.deals.targeting.model.GeoRegion;
 import org.prebid.server.deals.targeting.syntax.TargetingCategory;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
-@EqualsAndHashCode
-public class Within implements TerminalExpression {
+/**
+ * Matches if location of the request is within the radius of {@link GeoRegion}.
+ * <p>
+ * To be looked up in the {@link org.prebid.server.deals.targeting.TargetingIndex} the region is covered
+ * with cells of the fixed latitude/longitude grid, so only regions covering the cell of the request location
+ * are evaluated. Regions too large for the grid (or touching poles) are not indexed.
+ */
+@EqualsAndHashCode(of = {"category", "value"})
+public class Within implements IndexableExpression {
 
     private static final int EARTH_RADIUS_MI = 3959;
 
+    private static final double CELL_SIZE_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_SIZE_DEGREES);
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_SIZE_DEGREES);
+    private static final int MAX_REGION_CELLS = 1024;
+    // covers rounding errors of region bounds calculation
+    private static final double BOUNDS_MARGIN_DEGREES = 0.001;
+
     private final TargetingCategory category;
 
     private GeoRegion value;
 
+    private final double cosLat;
+    private final Set<Long> cells;
+
     public Within(TargetingCategory category, GeoRegion value) {
         this.category = Objects.requireNonNull(category);
         this.value = Objects.requireNonNull(value);
+
+        cosLat = Math.cos(Math.toRadians(value.getLat()));
+        cells = coveringCells(value);
     }
 
     @Override
@@ -29,21 +53,108 @@ public class Within implements TerminalExpression {
         return location != null && isLocationWithinRegion(location);
     }
 
+    @Override
+    public TargetingCategory category() {
+        return category;
+    }
+
+    /**
+     * Returns identifiers of grid cells covering the region or null if region is not indexed.
+     */
+    @Override
+    public Collection<Long> values() {
+        return cells;
+    }
+
+    @Override
+    public Collection<Long> lookupValues(RequestContext context) {
+        final GeoLocation location = context.lookupGeoLocation(category);
+        if (location == null) {
+            return Collections.emptyList();
+        }
+
+        final float lat = location.getLat();
+        final float lon = location.getLon();
+        return lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180
+                ? Collections.singletonList(cell(lat, lon))
+                : null;
+    }
+
     private boolean isLocationWithinRegion(GeoLocation location) {
-        final double distance = calculateDistance(location.getLat(), location.getLon(), value.getLat(), value.getLon());
+        final double dLat = Math.toRadians((double) value.getLat() - location.getLat());
+
+        // distance along the meridian is never longer than the great-circle one
+        if (EARTH_RADIUS_MI * Math.abs(dLat) >= value.getRadiusMiles()) {
+            return false;
+        }
+
+        final double dLong = Math.toRadians((double) value.getLon() - location.getLon());
+        final double distance = calculateDistance(dLat, dLong, Math.cos(Math.toRadians(location.getLat())));
 
         return value.getRadiusMiles() > distance;
     }
 
-    private static double calculateDistance(double startLat, double startLong, double endLat, double endLong) {
-        final double dLat = Math.toRadians(endLat - startLat);
-        final double dLong = Math.toRadians(endLong - startLong);
+    private double calculateDistance(double dLat, double dLong, double startCosLat) {
+        final double sinHalfDLat = Math.sin(dLat / 2);
+        final double sinHalfDLong = Math.sin(dLong / 2);
 
-        double a = Math.pow(Math.sin(dLat / 2), 2)
-                + Math.cos(Math.toRadians(startLat)) * Math.cos(Math.toRadians(endLat))
-                * Math.pow(Math.sin(dLong / 2), 2);
+        double a = sinHalfDLat * sinHalfDLat + startCosLat * cosLat * sinHalfDLong * sinHalfDLong;
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
 
         return EARTH_RADIUS_MI * c;
     }
+
+    private static Set<Long> coveringCells(GeoRegion region) {
+        final double lat = region.getLat();
+        final double lon = region.getLon();
+        final double radius = region.getRadiusMiles();
+        if (!(radius > 0) || !(Math.abs(lat) <= 90) || !(Math.abs(lon) <= 180)) {
+            return null;
+        }
+
+        final double latDelta = Math.toDegrees(radius / EARTH_RADIUS_MI) + BOUNDS_MARGIN_DEGREES;
+        final double minLat = lat - latDelta;
+        final double maxLat = lat + latDelta;
+        if (minLat <= -90 || maxLat >= 90) {
+            return null;
+        }
+
+        // the widest longitude span of the spherical cap, reached away from its center latitude
+        final double lonDelta = Math.toDegrees(Math.asin(
+                Math.sin(radius / EARTH_RADIUS_MI) / Math.cos(Math.toRadians(lat))))
+                + BOUNDS_MARGIN_DEGREES;
+
+        final int minLatCell = latCell(minLat);
+        final int maxLatCell = latCell(maxLat);
+        final int minLonCell = (int) Math.floor((lon - lonDelta + 180) / CELL_SIZE_DEGREES);
+        final int maxLonCell = (int) Math.floor((lon + lonDelta + 180) / CELL_SIZE_DEGREES);
+        if (Double.isNaN(lonDelta)
+                || (long) (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1) > MAX_REGION_CELLS) {
+            return null;
+        }
+
+        final Set<Long> cells = new HashSet<>();
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                cells.add(cell(latCell, Math.floorMod(lonCell, LON_CELLS)));
+            }
+        }
+        return Collections.unmodifiableSet(cells);
+    }
+
+    private static long cell(float lat, float lon) {
+        return cell(latCell(lat), Math.floorMod(lonCell(lon), LON_CELLS));
+    }
+
+    private static long cell(int latCell, int lonCell) {
+        return (long) latCell * LON_CELLS + lonCell;
+    }
+
+    private static int latCell(double lat) {
+        return Math.min((int) Math.floor((lat + 90) / CELL_SIZE_DEGREES), LAT_CELLS - 1);
+    }
+
+    private static int lonCell(double lon) {
+        return (int) Math.floor((lon + 180) / CELL_SIZE_DEGREES);
+    }
 }
@@ -1,7 +1,11 @@
 package org.prebid.server.geolocation;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Metadata;
 import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.City;
@@ -10,18 +14,36 @@ import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.RemoteFileProcessor;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -30,13 +52,80 @@ import java.util.zip.GZIPInputStream;
  */
 public class MaxMindGeoLocationService implements GeoLocationService, RemoteFileProcessor {
 
+    private static final Logger logger = LoggerFactory.getLogger(MaxMindGeoLocationService.class);
+
     private static final String VENDOR = "maxmind";
 
     private static final String DATABASE_FILE_NAME = "GeoLite2-City.mmdb";
 
-    private DatabaseReader databaseReader;
+    private static final long PREVIOUS_READER_CLOSE_DELAY_MS = 1000L;
+
+    private final boolean memoryMapped;
+    private final String probeIp;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final Map<InetAddress, GeoInfo> addressToGeoInfo;
+
+    private volatile DatabaseReader databaseReader;
+    private volatile Instant databaseBuildTime;
+
+    /**
+     * Creates service reading database either from heap or from memory-mapped file extracted next to the downloaded
+     * archive. Lookup results are cached by IP address when both cache TTL and size are positive.
+     * If probe IP is given, loaded database is validated by looking it up.
+     * <p>
+     * Results are not shared between addresses of the same network: database client in use doesn't expose
+     * the network the result was found for, and networks of the database are often narrower than /24.
+     */
+    public MaxMindGeoLocationService(boolean memoryMapped,
+                                     int cacheTtlSeconds,
+                                     int cacheSize,
+                                     String probeIp,
+                                     Vertx vertx,
+                                     Metrics metrics,
+                                     Clock clock) {
+
+        this.memoryMapped = memoryMapped;
+        this.probeIp = StringUtils.stripToNull(probeIp);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        this.addressToGeoInfo = cacheTtlSeconds > 0 && cacheSize > 0
+                ? Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+                .maximumSize(cacheSize)
+                .<InetAddress, GeoInfo>build()
+                .asMap()
+                : null;
 
+        metrics.createGeoLocationDatabaseAgeGauge(this::databaseAgeSeconds);
+    }
+
+    /**
+     * Loads and validates database from the given archive on a worker thread and then replaces the current one.
+     * <p>
+     * Lookups keep using the current database until the new one is ready. If the new database can't be loaded or
+     * doesn't pass validation, the current one stays in use.
+     * <p>
+     * Reloads are executed one by one, so they never extract database to the same temporary file at once.
+     */
     public Future<?> setDataPath(String dataFilePath) {
+        final long startTime = clock.millis();
+
+        final Promise<DatabaseReader> promise = Promise.promise();
+        vertx.executeBlocking(loadPromise -> loadDatabaseReader(dataFilePath, loadPromise), true, promise);
+
+        return promise.future().map(loadedReader -> {
+            swapDatabaseReader(loadedReader);
+            metrics.updateGeoLocationDatabaseReloadTime(clock.millis() - startTime);
+            return null;
+        });
+    }
+
+    private void loadDatabaseReader(String dataFilePath, Promise<DatabaseReader> promise) {
         try (TarArchiveInputStream tarInput = new TarArchiveInputStream(new GZIPInputStream(
                 new FileInputStream(dataFilePath)))) {
 
@@ -49,44 +138,177 @@ public class MaxMindGeoLocationService implements GeoLocationService, RemoteFile
                 }
             }
             if (!hasDatabaseFile) {
-                return Future.failedFuture(String.format("Database file %s not found in %s archive", DATABASE_FILE_NAME,
+                promise.fail(String.format("Database file %s not found in %s archive", DATABASE_FILE_NAME,
                         dataFilePath));
+                return;
             }
 
-            databaseReader = new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
-            return Future.succeededFuture();
+            promise.complete(memoryMapped
+                    ? loadMemoryMappedReader(tarInput, dataFilePath)
+                    : loadInMemoryReader(tarInput));
         } catch (IOException e) {
-            return Future.failedFuture(
+            promise.fail(
                     String.format("IO Exception occurred while trying to read an archive/db file: %s", e.getMessage()));
+        } catch (PreBidException e) {
+            promise.fail(e.getMessage());
+        }
+    }
+
+    private DatabaseReader loadInMemoryReader(InputStream databaseInput) throws IOException {
+        final DatabaseReader reader = new DatabaseReader.Builder(databaseInput)
+                .fileMode(Reader.FileMode.MEMORY)
+                .withCache(new CHMCache())
+                .build();
+
+        try {
+            validate(reader);
+        } catch (PreBidException e) {
+            close(reader);
+            throw e;
+        }
+        return reader;
+    }
+
+    /**
+     * Extracts database file from archive to the file system and maps it to memory.
+     * <p>
+     * Database is extracted to a temporary file and moved over the previous one only after validation, so the file
+     * mapped by the previous reader stays intact.
+     */
+    private DatabaseReader loadMemoryMappedReader(InputStream databaseInput, String dataFilePath)
+            throws IOException {
+
+        final Path databasePath = Paths.get(dataFilePath).resolveSibling(DATABASE_FILE_NAME);
+        final Path tmpDatabasePath = databasePath.resolveSibling(DATABASE_FILE_NAME + ".tmp");
+
+        Files.copy(databaseInput, tmpDatabasePath, StandardCopyOption.REPLACE_EXISTING);
+
+        DatabaseReader reader = null;
+        try {
+            reader = new DatabaseReader.Builder(tmpDatabasePath.toFile())
+                    .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                    .withCache(new CHMCache())
+                    .build();
+
+            validate(reader);
+            Files.move(tmpDatabasePath, databasePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            return reader;
+        } catch (IOException | PreBidException e) {
+            if (reader != null) {
+                close(reader);
+            }
+            Files.deleteIfExists(tmpDatabasePath);
+            throw e;
+        }
+    }
+
+    /**
+     * Makes sure the loaded database has metadata and, if probe IP is configured, can be searched for it.
+     * <p>
+     * Probe IP having no record in the database is fine, since database content changes from release to release.
+     */
+    private void validate(DatabaseReader reader) {
+        String error = reader.getMetadata() == null ? "database metadata is missing" : null;
+        if (error == null && probeIp != null) {
+            try {
+                resolveGeoInfo(reader, InetAddress.getByName(probeIp));
+            } catch (AddressNotFoundException e) {
+                logger.debug("Probe IP {0} was not found in geo location database", probeIp);
+            } catch (IOException | GeoIp2Exception e) {
+                error = String.format("lookup of probe IP %s failed: %s", probeIp, e.getMessage());
+            }
+        }
+
+        if (error != null) {
+            throw new PreBidException(String.format("Geo location database validation failed: %s", error));
+        }
+    }
+
+    /**
+     * Replaces current reader with the loaded one. The previous reader is closed with a delay to let lookups
+     * started before the swap complete.
+     */
+    private void swapDatabaseReader(DatabaseReader loadedReader) {
+        final DatabaseReader previousReader = databaseReader;
+
+        databaseReader = loadedReader;
+        databaseBuildTime = buildTime(loadedReader);
+        if (addressToGeoInfo != null) {
+            addressToGeoInfo.clear();
+        }
+
+        if (previousReader != null) {
+            vertx.setTimer(PREVIOUS_READER_CLOSE_DELAY_MS, ignored -> close(previousReader));
+        }
+    }
+
+    private static Instant buildTime(DatabaseReader reader) {
+        final Metadata metadata = reader.getMetadata();
+        final Date buildDate = metadata != null ? metadata.getBuildDate() : null;
+        return buildDate != null ? buildDate.toInstant() : null;
+    }
+
+    private static void close(DatabaseReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close geo location database reader", e);
         }
     }
 
+    /**
+     * Returns age of the current database in seconds or zero if database is not loaded yet.
+     */
+    private long databaseAgeSeconds() {
+        final Instant buildTime = databaseBuildTime;
+        return buildTime != null ? Duration.between(buildTime, clock.instant()).getSeconds() : 0;
+    }
+
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
+        final DatabaseReader databaseReader = this.databaseReader;
         if (databaseReader == null) {
             return Future.failedFuture("Geo location database file hasn't been downloaded yet, try again later");
         }
 
         try {
             final InetAddress inetAddress = InetAddress.getByName(ip);
-            final CityResponse cityResponse = databaseReader.city(inetAddress);
-            final Location location = cityResponse != null ? cityResponse.getLocation() : null;
-
-            return Future.succeededFuture(GeoInfo.builder()
-                    .vendor(VENDOR)
-                    .continent(resolveContinent(cityResponse))
-                    .country(resolveCountry(cityResponse))
-                    .region(resolveRegion(cityResponse))
-                    // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
-                    .city(resolveCity(cityResponse))
-                    .lat(resolveLatitude(location))
-                    .lon(resolveLongitude(location))
-                    .build());
+            if (addressToGeoInfo == null) {
+                return Future.succeededFuture(resolveGeoInfo(databaseReader, inetAddress));
+            }
+
+            final GeoInfo cachedGeoInfo = addressToGeoInfo.get(inetAddress);
+            if (cachedGeoInfo != null) {
+                return Future.succeededFuture(cachedGeoInfo);
+            }
+
+            final GeoInfo geoInfo = resolveGeoInfo(databaseReader, inetAddress);
+            addressToGeoInfo.put(inetAddress, geoInfo);
+            return Future.succeededFuture(geoInfo);
         } catch (IOException | GeoIp2Exception e) {
             return Future.failedFuture(e);
         }
     }
 
+    private static GeoInfo resolveGeoInfo(DatabaseReader databaseReader, InetAddress inetAddress)
+            throws IOException, GeoIp2Exception {
+
+        final CityResponse cityResponse = databaseReader.city(inetAddress);
+        final Location location = cityResponse != null ? cityResponse.getLocation() : null;
+
+        return GeoInfo.builder()
+                .vendor(VENDOR)
+                .continent(resolveContinent(cityResponse))
+                .country(resolveCountry(cityResponse))
+                .region(resolveRegion(cityResponse))
+                // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
+                .city(resolveCity(cityResponse))
+                .lat(resolveLatitude(location))
+                .lon(resolveLongitude(location))
+                .build();
+    }
+
     private static String resolveContinent(CityResponse cityResponse) {
         final Continent continent = cityResponse != null ? cityResponse.getContinent() : null;
         final String code = continent != null ? continent.getCode() : null;
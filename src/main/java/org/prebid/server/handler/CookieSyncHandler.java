@@ -20,6 +20,7 @@ import org.prebid.server.auction.PrivacyEnforcementService;
 import org.prebid.server.auction.model.CookieSyncContext;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.bidder.UsersyncInfoAssembler;
+import org.prebid.server.bidder.UsersyncInfoTemplate;
 import org.prebid.server.bidder.UsersyncMethodChooser;
 import org.prebid.server.bidder.UsersyncUtil;
 import org.prebid.server.bidder.Usersyncer;
@@ -56,6 +57,7 @@ import org.prebid.server.util.HttpUtil;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -82,6 +84,7 @@ public class CookieSyncHandler implements Handler<RoutingContext> {
     private final ApplicationSettings applicationSettings;
     private final BidderCatalog bidderCatalog;
     private final Set<String> activeBidders;
+    private final Map<Usersyncer.UsersyncMethod, UsersyncInfoTemplate> usersyncInfoTemplates;
     private final TcfDefinerService tcfDefinerService;
     private final PrivacyEnforcementService privacyEnforcementService;
     private final Integer gdprHostVendorId;
@@ -114,6 +117,7 @@ public class CookieSyncHandler implements Handler<RoutingContext> {
         this.applicationSettings = Objects.requireNonNull(applicationSettings);
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.activeBidders = activeBidders(bidderCatalog);
+        this.usersyncInfoTemplates = usersyncInfoTemplates(bidderCatalog);
         this.tcfDefinerService = Objects.requireNonNull(tcfDefinerService);
         this.privacyEnforcementService = Objects.requireNonNull(privacyEnforcementService);
         this.gdprHostVendorId = validateHostVendorId(gdprHostVendorId);
@@ -132,6 +136,28 @@ public class CookieSyncHandler implements Handler<RoutingContext> {
         return bidderCatalog.names().stream().filter(bidderCatalog::isActive).collect(Collectors.toSet());
     }
 
+    private static Map<Usersyncer.UsersyncMethod, UsersyncInfoTemplate> usersyncInfoTemplates(
+            BidderCatalog bidderCatalog) {
+
+        final Map<Usersyncer.UsersyncMethod, UsersyncInfoTemplate> templates = new HashMap<>();
+        for (final String bidder : bidderCatalog.names()) {
+            final Usersyncer usersyncer = bidderCatalog.usersyncerByName(bidder);
+            if (usersyncer != null) {
+                addUsersyncInfoTemplate(usersyncer.getPrimaryMethod(), templates);
+                addUsersyncInfoTemplate(usersyncer.getSecondaryMethod(), templates);
+            }
+        }
+        return templates;
+    }
+
+    private static void addUsersyncInfoTemplate(Usersyncer.UsersyncMethod usersyncMethod,
+                                                Map<Usersyncer.UsersyncMethod, UsersyncInfoTemplate> templates) {
+
+        if (usersyncMethod != null && usersyncMethod.getUsersyncUrl() != null) {
+            templates.computeIfAbsent(usersyncMethod, UsersyncInfoTemplate::compile);
+        }
+    }
+
     private static Integer validateHostVendorId(Integer gdprHostVendorId) {
         if (gdprHostVendorId == null) {
             logger.warn("gdpr.host-vendor-id not specified. Will skip host company GDPR checks");
@@ -576,14 +602,17 @@ public class CookieSyncHandler implements Handler<RoutingContext> {
                                         String uidFromHostCookieToSet,
                                         Privacy privacy) {
 
-        final UsersyncInfoAssembler usersyncInfoAssembler = UsersyncInfoAssembler.from(usersyncMethod);
+        if (uidFromHostCookieToSet != null) {
+            return UsersyncInfoAssembler.from(usersyncMethod)
+                    .withUrl(toHostBidderUsersyncUrl(cookieFamilyName, usersyncMethod, uidFromHostCookieToSet))
+                    .withPrivacy(privacy)
+                    .assemble();
+        }
 
-        return (uidFromHostCookieToSet == null
-                ? usersyncInfoAssembler
-                : usersyncInfoAssembler
-                .withUrl(toHostBidderUsersyncUrl(cookieFamilyName, usersyncMethod, uidFromHostCookieToSet)))
-                .withPrivacy(privacy)
-                .assemble();
+        final UsersyncInfoTemplate usersyncInfoTemplate = usersyncInfoTemplates.get(usersyncMethod);
+        return usersyncInfoTemplate != null
+                ? usersyncInfoTemplate.render(privacy)
+                : UsersyncInfoAssembler.from(usersyncMethod).withPrivacy(privacy).assemble();
     }
 
     /**
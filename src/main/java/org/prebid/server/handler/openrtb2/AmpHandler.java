@@ -12,6 +12,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -261,7 +262,7 @@ public class AmpHandler implements Handler<RoutingContext> {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final HttpResponseStatus status;
-        final String body;
+        final Buffer body;
 
         final String origin = originFrom(routingContext);
         ampEventBuilder.origin(origin);
@@ -277,7 +278,7 @@ public class AmpHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK;
             routingContext.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
-            body = mapper.encode(responseResult.result().getRight());
+            body = mapper.encodeToBuffer(responseResult.result().getRight());
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -293,7 +294,7 @@ public class AmpHandler implements Handler<RoutingContext> {
                         routingContext.request().headers().get(HttpUtil.REFERER_HEADER)), 100);
 
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String message = exception.getMessage();
@@ -302,7 +303,7 @@ public class AmpHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.UNAUTHORIZED;
-                body = message;
+                body = Buffer.buffer(message);
                 String accountId = ((UnauthorizedAccountException) exception).getAccountId();
                 metrics.updateAccountRequestRejectedMetrics(accountId);
             } else if (exception instanceof BlacklistedAppException
@@ -314,7 +315,7 @@ public class AmpHandler implements Handler<RoutingContext> {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.FORBIDDEN;
-                body = message;
+                body = Buffer.buffer(message);
             } else {
                 final String message = exception.getMessage();
 
@@ -323,7 +324,7 @@ public class AmpHandler implements Handler<RoutingContext> {
                 logger.error("Critical error while running the auction", exception);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
-                body = String.format("Critical error while running the auction: %s", message);
+                body = Buffer.buffer(String.format("Critical error while running the auction: %s", message));
             }
         }
 
@@ -350,7 +351,7 @@ public class AmpHandler implements Handler<RoutingContext> {
         return origin;
     }
 
-    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, String body, long startTime,
+    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, Buffer body, long startTime,
                              MetricName metricRequestStatus, AmpEvent event, TcfContext tcfContext) {
 
         final boolean responseSent = HttpUtil.executeSafely(routingContext, Endpoint.openrtb2_amp,
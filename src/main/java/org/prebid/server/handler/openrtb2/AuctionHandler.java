@@ -7,6 +7,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -126,7 +127,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final HttpResponseStatus status;
-        final String body;
+        final Buffer body;
 
         if (responseSucceeded) {
             metricRequestStatus = MetricName.ok;
@@ -134,7 +135,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK;
             routingContext.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
-            body = mapper.encode(responseResult.result().getLeft());
+            body = mapper.encodeToBuffer(responseResult.result().getLeft());
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -149,7 +150,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
                 conditionalLogger.info(String.format("%s, Referer: %s", message, referer), 0.01);
 
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = message;
+                body = Buffer.buffer(message);
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String message = exception.getMessage();
@@ -157,7 +158,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.UNAUTHORIZED;
-                body = message;
+                body = Buffer.buffer(message);
                 final String accountId = ((UnauthorizedAccountException) exception).getAccountId();
                 metrics.updateAccountRequestRejectedMetrics(accountId);
             } else if (exception instanceof BlacklistedAppException
@@ -169,7 +170,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
 
                 errorMessages = Collections.singletonList(message);
                 status = HttpResponseStatus.FORBIDDEN;
-                body = message;
+                body = Buffer.buffer(message);
             } else {
                 metricRequestStatus = MetricName.err;
                 logger.error("Critical error while running the auction", exception);
@@ -178,7 +179,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
-                body = String.format("Critical error while running the auction: %s", message);
+                body = Buffer.buffer(String.format("Critical error while running the auction: %s", message));
             }
         }
 
@@ -191,7 +192,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
         httpInteractionLogger.maybeLogOpenrtb2Auction(auctionContext, routingContext, status.code(), body);
     }
 
-    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, String body, long startTime,
+    private void respondWith(RoutingContext routingContext, HttpResponseStatus status, Buffer body, long startTime,
                              MetricName requestType, MetricName metricRequestStatus, AuctionEvent event,
                              TcfContext tcfContext) {
 
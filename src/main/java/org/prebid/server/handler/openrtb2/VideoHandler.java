@@ -4,6 +4,7 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.RoutingContext;
@@ -96,7 +97,7 @@ public class VideoHandler implements Handler<RoutingContext> {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final HttpResponseStatus status;
-        final String body;
+        final Buffer body;
 
         if (responseSucceeded) {
             metricRequestStatus = MetricName.ok;
@@ -104,7 +105,7 @@ public class VideoHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK;
             routingContext.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
-            body = mapper.encode(responseResult.result());
+            body = mapper.encodeToBuffer(responseResult.result());
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -113,9 +114,9 @@ public class VideoHandler implements Handler<RoutingContext> {
                 logger.info("Invalid request format: {0}", errorMessages);
 
                 status = HttpResponseStatus.BAD_REQUEST;
-                body = errorMessages.stream()
+                body = Buffer.buffer(errorMessages.stream()
                         .map(msg -> String.format("Invalid request format: %s", msg))
-                        .collect(Collectors.joining("\n"));
+                        .collect(Collectors.joining("\n")));
             } else if (exception instanceof UnauthorizedAccountException) {
                 metricRequestStatus = MetricName.badinput;
                 final String errorMessage = exception.getMessage();
@@ -123,7 +124,7 @@ public class VideoHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(errorMessage);
 
                 status = HttpResponseStatus.UNAUTHORIZED;
-                body = String.format("Unauthorised: %s", errorMessage);
+                body = Buffer.buffer(String.format("Unauthorised: %s", errorMessage));
             } else {
                 metricRequestStatus = MetricName.err;
                 logger.error("Critical error while running the auction", exception);
@@ -132,7 +133,7 @@ public class VideoHandler implements Handler<RoutingContext> {
                 errorMessages = Collections.singletonList(message);
 
                 status = HttpResponseStatus.INTERNAL_SERVER_ERROR;
-                body = String.format("Critical error while running the auction: %s", message);
+                body = Buffer.buffer(String.format("Critical error while running the auction: %s", message));
             }
         }
 
@@ -145,7 +146,7 @@ public class VideoHandler implements Handler<RoutingContext> {
 
     private void respondWith(RoutingContext routingContext,
                              HttpResponseStatus status,
-                             String body,
+                             Buffer body,
                              long startTime,
                              MetricName metricRequestStatus,
                              VideoEvent event,
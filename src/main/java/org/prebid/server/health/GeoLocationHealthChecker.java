@@ -1,8 +1,10 @@
 package org.prebid.server.health;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.geolocation.GeoLocationService;
+import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.health.model.Status;
 import org.prebid.server.health.model.StatusResponse;
 
@@ -34,15 +36,22 @@ public class GeoLocationHealthChecker extends PeriodicHealthChecker {
         this.clock = Objects.requireNonNull(clock);
     }
 
+    /**
+     * Reports service as ready only when well-known IP address is resolved to a country.
+     */
     @Override
     void updateStatus() {
         geoLocationService.lookup(PREBID_ORG_IP, timeoutFactory.create(TIMEOUT_MILLIS))
                 .setHandler(result ->
                         status = StatusResponse.of(
-                                result.succeeded() ? Status.UP.name() : Status.DOWN.name(),
+                                isResolved(result) ? Status.UP.name() : Status.DOWN.name(),
                                 ZonedDateTime.now(clock)));
     }
 
+    private static boolean isResolved(AsyncResult<GeoInfo> result) {
+        return result.succeeded() && result.result() != null && result.result().getCountry() != null;
+    }
+
     @Override
     public String name() {
         return NAME;
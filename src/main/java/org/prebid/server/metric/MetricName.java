@@ -20,6 +20,8 @@ public enum MetricName {
     geolocation_request_time,
     geolocation_successful,
     geolocation_fail,
+    geolocation_db_reload_time,
+    geolocation_db_age,
 
     // auction
     requests,
@@ -124,6 +126,14 @@ public enum MetricName {
     hit,
     miss,
 
+    // tcf cache
+    consent,
+    permissions,
+
+    // public suffix list cache
+    public_suffix_cache_hit,
+    public_suffix_cache_miss,
+
     // hooks
     call,
     success,
@@ -158,7 +168,10 @@ public enum MetricName {
     delivery_requests,
     delivery_request_failed,
     delivery_request_successful,
-    delivery_request_time;
+    delivery_request_time,
+    user_details_cache_hit,
+    user_details_cache_miss,
+    user_details_cache_coalesced;
 
 
     private final String name;
@@ -418,6 +418,10 @@ public class Metrics extends UpdatableMetrics {
         updatePrivacyTcfVendorListMetric(version, MetricName.fallback);
     }
 
+    public void updatePrivacyTcfCacheMetric(MetricName cacheType, MetricName event) {
+        privacy().tcf().cache(cacheType).incCounter(event);
+    }
+
     private void updatePrivacyTcfVendorListMetric(int version, MetricName metricName) {
         final TcfMetrics tcfMetrics = privacy().tcf();
         tcfMetrics.fromVersion(version).vendorList().incCounter(metricName);
@@ -502,6 +506,10 @@ public class Metrics extends UpdatableMetrics {
         pgMetrics().updateTimer(MetricName.delivery_request_time, millis);
     }
 
+    public void updateUserDetailsCacheMetric(MetricName metricName) {
+        pgMetrics().incCounter(metricName);
+    }
+
     public void updateGeoLocationMetric(boolean successful) {
         incCounter(MetricName.geolocation_requests);
         if (successful) {
@@ -511,6 +519,14 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateGeoLocationDatabaseReloadTime(long millis) {
+        updateTimer(MetricName.geolocation_db_reload_time, millis);
+    }
+
+    public void createGeoLocationDatabaseAgeGauge(LongSupplier ageSecondsSupplier) {
+        createGauge(MetricName.geolocation_db_age, ageSecondsSupplier);
+    }
+
     public void createGeoLocationCircuitBreakerGauge(BooleanSupplier stateSupplier) {
         forCircuitBreakerType(MetricName.geo)
                 .createGauge(MetricName.opened, () -> stateSupplier.getAsBoolean() ? 1 : 0);
@@ -571,6 +587,10 @@ public class Metrics extends UpdatableMetrics {
         forSettingsCacheType(cacheType).incCounter(event);
     }
 
+    public void updatePublicSuffixCacheMetric(boolean hit) {
+        incCounter(hit ? MetricName.public_suffix_cache_hit : MetricName.public_suffix_cache_miss);
+    }
+
     public void updateHooksMetrics(
             String moduleCode,
             Stage stage,
@@ -16,6 +16,8 @@ class TcfMetrics extends UpdatableMetrics {
 
     private final TcfVersionMetrics tcfVersion1Metrics;
     private final TcfVersionMetrics tcfVersion2Metrics;
+    private final TcfCacheMetrics consentCacheMetrics;
+    private final TcfCacheMetrics permissionsCacheMetrics;
 
     TcfMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
         super(
@@ -25,6 +27,10 @@ class TcfMetrics extends UpdatableMetrics {
 
         tcfVersion1Metrics = new TcfVersionMetrics(metricRegistry, counterType, createTcfPrefix(prefix), "v1");
         tcfVersion2Metrics = new TcfVersionMetrics(metricRegistry, counterType, createTcfPrefix(prefix), "v2");
+        consentCacheMetrics = new TcfCacheMetrics(metricRegistry, counterType, createTcfPrefix(prefix),
+                MetricName.consent);
+        permissionsCacheMetrics = new TcfCacheMetrics(metricRegistry, counterType, createTcfPrefix(prefix),
+                MetricName.permissions);
     }
 
     TcfVersionMetrics fromVersion(int version) {
@@ -38,6 +44,17 @@ class TcfMetrics extends UpdatableMetrics {
         }
     }
 
+    TcfCacheMetrics cache(MetricName cacheType) {
+        switch (cacheType) {
+            case consent:
+                return consentCacheMetrics;
+            case permissions:
+                return permissionsCacheMetrics;
+            default:
+                throw new PreBidException(String.format("Unknown tcf cache type %s", cacheType));
+        }
+    }
+
     private static String createTcfPrefix(String prefix) {
         return String.format("%s.tcf", prefix);
     }
@@ -90,4 +107,22 @@ class TcfMetrics extends UpdatableMetrics {
             return metricName -> String.format("%s.%s", prefix, metricName.toString());
         }
     }
+
+    static class TcfCacheMetrics extends UpdatableMetrics {
+
+        TcfCacheMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, MetricName type) {
+            super(
+                    Objects.requireNonNull(metricRegistry),
+                    Objects.requireNonNull(counterType),
+                    nameCreator(createCachePrefix(Objects.requireNonNull(prefix), Objects.requireNonNull(type))));
+        }
+
+        private static String createCachePrefix(String prefix, MetricName type) {
+            return String.format("%s.cache.%s", prefix, type.toString());
+        }
+
+        private static Function<MetricName, String> nameCreator(String prefix) {
+            return metricName -> String.format("%s.%s", prefix, metricName.toString());
+        }
+    }
 }
@@ -5,7 +5,10 @@ import io.vertx.core.Future;
 import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.TCStringEmpty;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
@@ -40,12 +43,15 @@ public class Tcf2Service {
     private final List<SpecialFeaturesStrategy> specialFeaturesStrategies;
     private final BidderCatalog bidderCatalog;
     private final PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation;
+    private final Metrics metrics;
+    private final Map<PermissionsCacheKey, Collection<VendorPermission>> permissionsCache;
 
     public Tcf2Service(GdprConfig gdprConfig,
                        List<PurposeStrategy> purposeStrategies,
                        List<SpecialFeaturesStrategy> specialFeaturesStrategies,
                        VendorListServiceV2 vendorListServiceV2,
-                       BidderCatalog bidderCatalog) {
+                       BidderCatalog bidderCatalog,
+                       Metrics metrics) {
 
         this.defaultPurposes = gdprConfig.getPurposes() == null ? Purposes.builder().build() : gdprConfig.getPurposes();
         this.defaultSpecialFeatures = gdprConfig.getSpecialFeatures() == null
@@ -56,6 +62,8 @@ public class Tcf2Service {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.purposeStrategies = Objects.requireNonNull(purposeStrategies);
         this.specialFeaturesStrategies = Objects.requireNonNull(specialFeaturesStrategies);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.permissionsCache = TcfCacheFactory.create(gdprConfig);
     }
 
     public Future<Collection<VendorPermission>> permissionsFor(Set<Integer> vendorIds, TCString tcfConsent) {
@@ -92,6 +100,16 @@ public class Tcf2Service {
                                                                         TCString tcfConsent,
                                                                         AccountGdprConfig accountGdprConfig) {
 
+        final PermissionsCacheKey cacheKey = permissionsCacheKey(vendorPermissions, tcfConsent, accountGdprConfig);
+        if (cacheKey != null) {
+            final Collection<VendorPermission> cachedPermissions = permissionsCache.get(cacheKey);
+            metrics.updatePrivacyTcfCacheMetric(
+                    MetricName.permissions, cachedPermissions != null ? MetricName.hit : MetricName.miss);
+            if (cachedPermissions != null) {
+                return Future.succeededFuture(copyPermissions(cachedPermissions));
+            }
+        }
+
         final Purposes mergedPurposes = mergeAccountPurposes(accountGdprConfig);
         final SpecialFeatures mergedSpecialFeatures = mergeAccountSpecialFeatures(accountGdprConfig);
         final PurposeOneTreatmentInterpretation mergedPurposeOneTreatmentInterpretation =
@@ -101,15 +119,62 @@ public class Tcf2Service {
                 vendorPermissions, accountGdprConfig);
 
         return vendorListServiceV2.forVersion(tcfConsent.getVendorListVersion())
-                .map(vendorGvlPermissions -> wrapWithGVL(vendorPermissionsByType, vendorGvlPermissions))
-
-                .compose(gvlResult -> processSupportedPurposeStrategies(tcfConsent, gvlResult, mergedPurposes,
-                        purposeOneTreatmentInterpretation),
+                .compose(vendorGvlPermissions -> processSupportedPurposeStrategies(tcfConsent,
+                        wrapWithGVL(vendorPermissionsByType, vendorGvlPermissions), mergedPurposes,
+                        purposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(
+                                        tcfConsent, changedVendorPermissions, mergedSpecialFeatures))
+                                // permissions by fallback vendor list are not cached to pick up the real one
+                                // once it is fetched
+                                .map(changedVendorPermissions -> cachePermissions(
+                                        vendorListServiceV2.isTemporaryFallback(vendorGvlPermissions)
+                                                ? null
+                                                : cacheKey,
+                                        changedVendorPermissions)),
+
+                        // downgraded permissions are not cached to pick up vendor list once it becomes available
                         ignoredFailed -> processDowngradedSupportedPurposeStrategies(tcfConsent,
-                                vendorPermissionsByType, mergedPurposes, mergedPurposeOneTreatmentInterpretation))
+                                vendorPermissionsByType, mergedPurposes, mergedPurposeOneTreatmentInterpretation)
+                                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(
+                                        tcfConsent, changedVendorPermissions, mergedSpecialFeatures)));
+    }
+
+    private PermissionsCacheKey permissionsCacheKey(Collection<VendorPermission> vendorPermissions,
+                                                    TCString tcfConsent,
+                                                    AccountGdprConfig accountGdprConfig) {
+
+        if (permissionsCache == null || tcfConsent instanceof TCStringEmpty) {
+            return null;
+        }
+
+        final List<VendorPermission> vendors = vendorPermissions.stream()
+                .map(vendorPermission -> VendorPermission.of(
+                        vendorPermission.getVendorId(), vendorPermission.getBidderName(), null))
+                .collect(Collectors.toList());
+
+        return PermissionsCacheKey.of(tcfConsent, accountGdprConfig, vendors);
+    }
+
+    private Collection<VendorPermission> cachePermissions(PermissionsCacheKey cacheKey,
+                                                          Collection<VendorPermission> vendorPermissions) {
 
-                .map(changedVendorPermissions -> processSupportedSpecialFeatureStrategies(tcfConsent,
-                        changedVendorPermissions, mergedSpecialFeatures));
+        if (cacheKey != null) {
+            permissionsCache.put(cacheKey, copyPermissions(vendorPermissions));
+        }
+
+        return vendorPermissions;
+    }
+
+    /**
+     * Copies permissions to not share mutable {@link PrivacyEnforcementAction} between requests.
+     */
+    private static Collection<VendorPermission> copyPermissions(Collection<VendorPermission> vendorPermissions) {
+        return vendorPermissions.stream()
+                .map(vendorPermission -> VendorPermission.of(
+                        vendorPermission.getVendorId(),
+                        vendorPermission.getBidderName(),
+                        vendorPermission.getPrivacyEnforcementAction().toBuilder().build()))
+                .collect(Collectors.toList());
     }
 
     private static VendorPermissionsByType<VendorPermission> toVendorPermissionsByType(
@@ -390,4 +455,14 @@ public class Tcf2Service {
                     .collect(Collectors.toList());
         }
     }
+
+    @Value(staticConstructor = "of")
+    private static class PermissionsCacheKey {
+
+        TCString consent;
+
+        AccountGdprConfig accountGdprConfig;
+
+        List<VendorPermission> vendors;
+    }
 }
@@ -0,0 +1,33 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.prebid.server.settings.model.GdprConfig;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates caches for decoded consent strings and computed vendor permissions.
+ */
+class TcfCacheFactory {
+
+    private TcfCacheFactory() {
+    }
+
+    /**
+     * Creates size and TTL bounded cache for TCF related data or returns null if caching is not configured.
+     */
+    static <K, V> Map<K, V> create(GdprConfig gdprConfig) {
+        final Integer ttl = gdprConfig.getTcfCacheTtlSeconds();
+        final Integer size = gdprConfig.getTcfCacheSize();
+        if (ttl == null || ttl <= 0 || size == null || size <= 0) {
+            return null;
+        }
+
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .maximumSize(size)
+                .<K, V>build()
+                .asMap();
+    }
+}
@@ -60,6 +60,7 @@ public class TcfDefinerService {
     private final BidderCatalog bidderCatalog;
     private final IpAddressHelper ipAddressHelper;
     private final Metrics metrics;
+    private final Map<String, TCString> consentCache;
 
     public TcfDefinerService(GdprConfig gdprConfig,
                              Set<String> eeaCountries,
@@ -79,6 +80,7 @@ public class TcfDefinerService {
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.ipAddressHelper = Objects.requireNonNull(ipAddressHelper);
         this.metrics = Objects.requireNonNull(metrics);
+        this.consentCache = gdprConfig != null ? TcfCacheFactory.create(gdprConfig) : null;
     }
 
     /**
@@ -377,6 +379,62 @@ public class TcfDefinerService {
     }
 
     private TCString decodeTcString(String consentString, RequestLogInfo requestLogInfo) {
+        if (consentCache == null) {
+            return decodeTcStringOrNull(consentString, requestLogInfo);
+        }
+
+        final TCString cachedTcString = consentCache.get(consentString);
+        metrics.updatePrivacyTcfCacheMetric(
+                MetricName.consent, cachedTcString != null ? MetricName.hit : MetricName.miss);
+        if (cachedTcString != null) {
+            return cachedTcString;
+        }
+
+        final TCString tcString = decodeTcStringOrNull(consentString, requestLogInfo);
+        if (tcString != null && decodeAllFields(tcString)) {
+            consentCache.put(consentString, tcString);
+        }
+        return tcString;
+    }
+
+    /**
+     * Decoder parses each field on first access and is not thread-safe, so all fields are read here
+     * before {@link TCString} can be shared between requests. Returns false if any field could not be decoded.
+     */
+    private static boolean decodeAllFields(TCString tcString) {
+        try {
+            tcString.getVersion();
+            tcString.getCreated();
+            tcString.getLastUpdated();
+            tcString.getCmpId();
+            tcString.getCmpVersion();
+            tcString.getConsentScreen();
+            tcString.getConsentLanguage();
+            tcString.getVendorListVersion();
+            tcString.getTcfPolicyVersion();
+            tcString.isServiceSpecific();
+            tcString.getUseNonStandardStacks();
+            tcString.getSpecialFeatureOptIns();
+            tcString.getPurposesConsent();
+            tcString.getPurposesLITransparency();
+            tcString.getPurposeOneTreatment();
+            tcString.getPublisherCC();
+            tcString.getVendorConsent();
+            tcString.getVendorLegitimateInterest();
+            tcString.getPublisherRestrictions();
+            tcString.getDisclosedVendors();
+            tcString.getAllowedVendors();
+            tcString.getPubPurposesConsent();
+            tcString.getPubPurposesLITransparency();
+            tcString.getCustomPurposesConsent();
+            tcString.getCustomPurposesLITransparency();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private TCString decodeTcStringOrNull(String consentString, RequestLogInfo requestLogInfo) {
         try {
             return TCString.decode(consentString);
         } catch (Exception e) {
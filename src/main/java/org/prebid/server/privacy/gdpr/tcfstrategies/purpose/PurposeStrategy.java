@@ -15,8 +15,10 @@ import org.prebid.server.settings.model.Purpose;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public abstract class PurposeStrategy {
@@ -54,9 +56,8 @@ public abstract class PurposeStrategy {
             boolean wasDowngraded) {
 
         final Collection<VendorPermissionWithGvl> excludedVendors = excludedVendors(vendorPermissions, purpose);
-        final Collection<VendorPermissionWithGvl> vendorForPurpose = vendorPermissions.stream()
-                .filter(vendorPermission -> !excludedVendors.contains(vendorPermission))
-                .collect(Collectors.toList());
+        final Collection<VendorPermissionWithGvl> vendorForPurpose = vendorsForPurpose(vendorPermissions,
+                excludedVendors);
 
         allowedByTypeStrategy(vendorConsent, purpose, vendorForPurpose, excludedVendors).stream()
                 .map(VendorPermission::getPrivacyEnforcementAction)
@@ -75,6 +76,26 @@ public abstract class PurposeStrategy {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Excluded vendors are the subset of given permissions, so they are matched by identity
+     * instead of comparing permissions together with their GVL entries.
+     */
+    private static Collection<VendorPermissionWithGvl> vendorsForPurpose(
+            Collection<VendorPermissionWithGvl> vendorPermissions,
+            Collection<VendorPermissionWithGvl> excludedVendors) {
+
+        if (excludedVendors.isEmpty()) {
+            return vendorPermissions;
+        }
+
+        final Set<VendorPermissionWithGvl> excludedVendorsSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        excludedVendorsSet.addAll(excludedVendors);
+
+        return vendorPermissions.stream()
+                .filter(vendorPermission -> !excludedVendorsSet.contains(vendorPermission))
+                .collect(Collectors.toList());
+    }
+
     private Collection<VendorPermission> allowedByTypeStrategy(TCString vendorConsent,
                                                                Purpose purpose,
                                                                Collection<VendorPermissionWithGvl> vendorForPurpose,
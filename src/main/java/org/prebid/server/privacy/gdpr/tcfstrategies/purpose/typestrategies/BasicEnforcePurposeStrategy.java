@@ -3,7 +3,6 @@ package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
-import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
@@ -31,6 +30,6 @@ public class BasicEnforcePurposeStrategy extends EnforcePurposeStrategy {
                         purpose, vendorPermission.getVendorId(), isEnforceVendors, vendorConsent))
                 .collect(Collectors.toList());
 
-        return CollectionUtils.union(allowedVendorPermissions, toVendorPermissions(excludedVendors));
+        return withExcludedVendors(allowedVendorPermissions, excludedVendors);
     }
 }
@@ -6,8 +6,9 @@ import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
 public abstract class EnforcePurposeStrategy {
 
@@ -60,11 +61,18 @@ public abstract class EnforcePurposeStrategy {
         return isPurposeAllowed && isVendorAllowed;
     }
 
-    protected static Collection<VendorPermission> toVendorPermissions(
-            Collection<VendorPermissionWithGvl> vendorPermissionWithGvls) {
-
-        return vendorPermissionWithGvls.stream()
-                .map(VendorPermissionWithGvl::getVendorPermission)
-                .collect(Collectors.toList());
+    /**
+     * Joins allowed and excluded vendors, which are disjoint by construction.
+     */
+    protected static Collection<VendorPermission> withExcludedVendors(
+            Collection<VendorPermission> allowedVendorPermissions,
+            Collection<VendorPermissionWithGvl> excludedVendors) {
+
+        final List<VendorPermission> result = new ArrayList<>(allowedVendorPermissions.size() + excludedVendors.size());
+        result.addAll(allowedVendorPermissions);
+        for (VendorPermissionWithGvl excludedVendor : excludedVendors) {
+            result.add(excludedVendor.getVendorPermission());
+        }
+        return result;
     }
 }
@@ -9,11 +9,12 @@ import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -29,53 +30,45 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
                 .filter(publisherRestriction -> publisherRestriction.getPurposeId() == purpose.code())
                 .collect(Collectors.toList());
 
-        final List<VendorPermission> allowedExcluded = allowedExcludedVendorPermission(excludedVendors,
-                publisherRestrictions);
+        final List<VendorPermission> allowedVendorPermissions = new ArrayList<>();
+        for (VendorPermissionWithGvl vendorPermissionWithGvl : vendorsForPurpose) {
+            final RestrictionType restrictionType = restrictionType(vendorPermissionWithGvl, publisherRestrictions);
+            if (isAllowedByPublisherRestrictionAndFlexible(
+                    purpose, isEnforceVendors, vendorPermissionWithGvl, vendorConsent, restrictionType)) {
 
-        final Map<VendorPermissionWithGvl, RestrictionType> vendorPermissionToRestriction = mapVendorPermission(
-                vendorsForPurpose, publisherRestrictions);
-
-        final List<VendorPermission> allowedVendorPermissions = vendorPermissionToRestriction.entrySet().stream()
-                .filter(permissionAndRestriction ->
-                        isAllowedByPublisherRestrictionAndFlexible(purpose, isEnforceVendors,
-                                permissionAndRestriction.getKey(), vendorConsent, permissionAndRestriction.getValue()))
-                .map(Map.Entry::getKey)
-                .map(VendorPermissionWithGvl::getVendorPermission)
-                .collect(Collectors.toList());
+                allowedVendorPermissions.add(vendorPermissionWithGvl.getVendorPermission());
+            }
+        }
 
-        return CollectionUtils.union(allowedExcluded, allowedVendorPermissions);
+        allowedVendorPermissions.addAll(allowedExcludedVendorPermission(excludedVendors, publisherRestrictions));
+        return allowedVendorPermissions;
     }
 
     private List<VendorPermission> allowedExcludedVendorPermission(
             Collection<VendorPermissionWithGvl> excludedVendors,
             Collection<PublisherRestriction> publisherRestrictions) {
 
-        final List<Integer> notAllowedVendorIds = publisherRestrictions.stream()
+        if (excludedVendors.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final BitSet notAllowedVendorIds = new BitSet();
+        publisherRestrictions.stream()
                 .filter(publisherRestriction -> publisherRestriction.getRestrictionType()
                         .equals(RestrictionType.NOT_ALLOWED))
                 .map(PublisherRestriction::getVendorIds)
                 .flatMap(vendorIds -> StreamSupport.stream(vendorIds.spliterator(), false))
-                .collect(Collectors.toList());
+                .forEach(notAllowedVendorIds::set);
 
         return excludedVendors.stream()
                 .map(VendorPermissionWithGvl::getVendorPermission)
-                .filter(vendorPermissionWithGvl -> isNotRestricted(notAllowedVendorIds, vendorPermissionWithGvl))
+                .filter(vendorPermission -> isNotRestricted(notAllowedVendorIds, vendorPermission))
                 .collect(Collectors.toList());
     }
 
-    private boolean isNotRestricted(List<Integer> notAllowedVendorIds, VendorPermission vendorPermission) {
+    private boolean isNotRestricted(BitSet notAllowedVendorIds, VendorPermission vendorPermission) {
         final Integer vendorId = vendorPermission.getVendorId();
-        return vendorId == null || !notAllowedVendorIds.contains(vendorId);
-    }
-
-    private Map<VendorPermissionWithGvl, RestrictionType> mapVendorPermission(
-            Collection<VendorPermissionWithGvl> vendorsForPurpose,
-            Collection<PublisherRestriction> publisherRestrictions) {
-
-        return vendorsForPurpose.stream()
-                .collect(Collectors.toMap(
-                        Function.identity(),
-                        vendorPermissionWithGvl -> restrictionType(vendorPermissionWithGvl, publisherRestrictions)));
+        return vendorId == null || vendorId < 0 || !notAllowedVendorIds.get(vendorId);
     }
 
     private RestrictionType restrictionType(VendorPermissionWithGvl vendorPermissionWithGvl,
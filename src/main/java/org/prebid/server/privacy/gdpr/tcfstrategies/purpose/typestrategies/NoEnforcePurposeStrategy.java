@@ -2,7 +2,6 @@ package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
 import com.iabtcf.decoder.TCString;
 import com.iabtcf.utils.IntIterable;
-import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
@@ -29,7 +28,7 @@ public class NoEnforcePurposeStrategy extends EnforcePurposeStrategy {
                         vendorConsent, vendorLIConsent))
                 .collect(Collectors.toList());
 
-        return CollectionUtils.union(allowedVendorPermissions, toVendorPermissions(excludedVendors));
+        return withExcludedVendors(allowedVendorPermissions, excludedVendors);
     }
 
     private boolean isAllowedByVendorConsent(Integer vendorId,
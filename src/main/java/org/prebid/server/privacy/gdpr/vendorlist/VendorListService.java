@@ -2,7 +2,10 @@ package org.prebid.server.privacy.gdpr.vendorlist;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
@@ -24,11 +27,15 @@ import org.prebid.server.vertx.http.model.HttpClientResponse;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -39,9 +46,10 @@ import java.util.stream.Collectors;
  * - file system (persistent cache);
  * - remote web resource (original source);
  * <p>
- * So, on service creation we initialize in-memory cache from previously loaded vendor list on file system.
- * If request asks version that is absent in cache, we respond with failed result but start background process
- * to download new version and then put it to cache.
+ * So, on service creation we initialize in-memory cache from the most recent previously loaded vendor lists
+ * on file system, older ones are read from file system on demand. In-memory cache keeps limited number of versions.
+ * If request asks version that is absent in cache and on file system, we respond with failed result
+ * but start background process to download new version and then put it to cache.
  */
 public abstract class VendorListService<T, V> {
 
@@ -54,6 +62,7 @@ public abstract class VendorListService<T, V> {
     private final String endpointTemplate;
     private final int defaultTimeoutMs;
     private final long refreshMissingListPeriodMs;
+    private final int maxResidentVersions;
     private final boolean deprecated;
     private final Vertx vertx;
     private final FileSystem fileSystem;
@@ -69,6 +78,16 @@ public abstract class VendorListService<T, V> {
      */
     private final Map<Integer, Map<Integer, V>> cache;
 
+    /**
+     * Map of vendor list version -> path to the file with this version on file system.
+     */
+    private final Map<Integer, String> versionToFilepath;
+
+    /**
+     * Map of vendor list version -> read of this version from file system in progress.
+     */
+    private final Map<Integer, VendorListFileRead<V>> versionToFileRead = new ConcurrentHashMap<>();
+
     private final Map<Integer, V> fallbackVendorList;
     private final Set<Integer> versionsToFallback;
 
@@ -76,6 +95,7 @@ public abstract class VendorListService<T, V> {
                              String endpointTemplate,
                              int defaultTimeoutMs,
                              long refreshMissingListPeriodMs,
+                             int maxResidentVersions,
                              boolean deprecated,
                              Integer gdprHostVendorId,
                              String fallbackVendorListPath,
@@ -90,6 +110,7 @@ public abstract class VendorListService<T, V> {
         this.endpointTemplate = Objects.requireNonNull(endpointTemplate);
         this.defaultTimeoutMs = defaultTimeoutMs;
         this.refreshMissingListPeriodMs = refreshMissingListPeriodMs;
+        this.maxResidentVersions = maxResidentVersions;
         this.deprecated = deprecated;
         this.vertx = Objects.requireNonNull(vertx);
         this.fileSystem = Objects.requireNonNull(fileSystem);
@@ -100,7 +121,8 @@ public abstract class VendorListService<T, V> {
         knownVendorIds = knownVendorIds(gdprHostVendorId, bidderCatalog);
 
         createAndCheckWritePermissionsFor(fileSystem, cacheDir);
-        cache = Objects.requireNonNull(createCache(fileSystem, cacheDir));
+        versionToFilepath = new ConcurrentHashMap<>(readFileSystemCache(fileSystem, cacheDir));
+        cache = Objects.requireNonNull(createCache(fileSystem, versionToFilepath));
 
         fallbackVendorList = StringUtils.isNotBlank(fallbackVendorListPath)
                 ? readFallbackVendorList(fallbackVendorListPath) : null;
@@ -131,6 +153,11 @@ public abstract class VendorListService<T, V> {
             return Future.succeededFuture(idToVendor);
         }
 
+        final String filepath = versionToFilepath.get(version);
+        if (filepath != null) {
+            return readFromFile(version, filepath);
+        }
+
         final int tcf = getTcfVersion();
 
         if (shouldFallback(version)) {
@@ -148,6 +175,14 @@ public abstract class VendorListService<T, V> {
                 String.format("TCF %d vendor list for version %d not fetched yet, try again later.", tcf, version));
     }
 
+    /**
+     * Returns true if the given vendor list is the fallback one served in place of the vendor list
+     * which is not fetched yet, so it could be replaced with the real one later.
+     */
+    public boolean isTemporaryFallback(Map<Integer, V> idToVendor) {
+        return !deprecated && idToVendor != null && idToVendor == fallbackVendorList;
+    }
+
     /**
      * Creates vendorList object from string content or throw {@link PreBidException}.
      */
@@ -196,33 +231,80 @@ public abstract class VendorListService<T, V> {
     }
 
     /**
-     * Creates the cache from previously downloaded vendor lists.
+     * Creates the cache from the most recent previously downloaded vendor lists.
      */
-    private Map<Integer, Map<Integer, V>> createCache(FileSystem fileSystem, String cacheDir) {
-        final Map<String, String> versionToFileContent = readFileSystemCache(fileSystem, cacheDir);
-
+    private Map<Integer, Map<Integer, V>> createCache(FileSystem fileSystem, Map<Integer, String> versionToFilepath) {
         final Map<Integer, Map<Integer, V>> cache = Caffeine.newBuilder()
+                .maximumSize(maxResidentVersions)
                 .<Integer, Map<Integer, V>>build()
                 .asMap();
 
-        for (Map.Entry<String, String> versionAndFileContent : versionToFileContent.entrySet()) {
-            final T vendorList = toVendorList(versionAndFileContent.getValue());
-            final Map<Integer, V> vendorIdToVendors = filterVendorIdToVendors(vendorList);
+        final List<Integer> recentVersions = versionToFilepath.keySet().stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(maxResidentVersions)
+                .collect(Collectors.toList());
 
-            cache.put(Integer.valueOf(versionAndFileContent.getKey()), vendorIdToVendors);
+        for (Integer version : recentVersions) {
+            final String fileContent = fileSystem.readFileBlocking(versionToFilepath.get(version)).toString();
+            cache.put(version, filterVendorIdToVendors(toVendorList(fileContent)));
         }
         return cache;
     }
 
     /**
-     * Reads files with .json extension in configured directory and
-     * returns a {@link Map} where key is a file name without .json extension and value is file content.
+     * Reads names of files with .json extension in configured directory and
+     * returns a {@link Map} where key is a file name without .json extension and value is file path.
      */
-    private Map<String, String> readFileSystemCache(FileSystem fileSystem, String dir) {
+    private static Map<Integer, String> readFileSystemCache(FileSystem fileSystem, String dir) {
         return fileSystem.readDirBlocking(dir).stream()
                 .filter(filepath -> filepath.endsWith(JSON_SUFFIX))
-                .collect(Collectors.toMap(filepath -> StringUtils.removeEnd(new File(filepath).getName(), JSON_SUFFIX),
-                        filename -> fileSystem.readFileBlocking(filename).toString()));
+                .collect(Collectors.toMap(
+                        filepath -> Integer.valueOf(StringUtils.removeEnd(new File(filepath).getName(), JSON_SUFFIX)),
+                        Function.identity()));
+    }
+
+    /**
+     * Reads previously downloaded vendor list which is not kept in memory or joins the read of this version
+     * if it is in progress, so the same file is not read and parsed by concurrent requests.
+     */
+    private Future<Map<Integer, V>> readFromFile(int version, String filepath) {
+        final VendorListFileRead<V> fileRead = new VendorListFileRead<>();
+        final VendorListFileRead<V> fileReadInProgress = versionToFileRead.putIfAbsent(version, fileRead);
+        if (fileReadInProgress != null) {
+            final Future<Map<Integer, V>> joinedRead = fileReadInProgress.join();
+            // read could be completed meanwhile
+            return joinedRead != null ? joinedRead : forVersion(version);
+        }
+
+        final Future<Map<Integer, V>> result = fileRead.join();
+        readAndCacheFile(version, filepath).setHandler(readResult -> {
+            versionToFileRead.remove(version, fileRead);
+            fileRead.complete(readResult);
+        });
+        return result;
+    }
+
+    /**
+     * Reads vendor list from file and puts it back to cache.
+     */
+    private Future<Map<Integer, V>> readAndCacheFile(int version, String filepath) {
+        final Promise<Buffer> promise = Promise.promise();
+        fileSystem.readFile(filepath, promise);
+
+        return promise.future()
+                .map(content -> filterVendorIdToVendors(toVendorList(content.toString())))
+                .map(vendorIdToVendors -> {
+                    cache.put(version, vendorIdToVendors);
+                    return vendorIdToVendors;
+                })
+                .recover(exception -> {
+                    logger.warn("Cannot read TCF {0} vendor list for version {1} from file {2}: {3}",
+                            getTcfVersion(), version, filepath, exception.getMessage());
+
+                    // broken file will be overwritten by downloaded one
+                    versionToFilepath.remove(version, filepath);
+                    return forVersion(version);
+                });
     }
 
     private Map<Integer, V> readFallbackVendorList(String fallbackVendorListPath) {
@@ -290,6 +372,7 @@ public abstract class VendorListService<T, V> {
 
         fileSystem.writeFile(filepath, Buffer.buffer(vendorListResult.getVendorListAsString()), result -> {
             if (result.succeeded()) {
+                versionToFilepath.put(version, filepath);
                 promise.complete(vendorListResult);
             } else {
                 logger.error("Could not create new vendor list for version {0}, file: {1}", result.cause(), version,
@@ -367,6 +450,48 @@ public abstract class VendorListService<T, V> {
         T vendorList;
     }
 
+    /**
+     * Read of vendor list from file in progress, which could be joined by other requests for the same version.
+     * <p>
+     * Joined requests are completed on their own Vert.x context.
+     */
+    private static class VendorListFileRead<V> {
+
+        private final List<Handler<AsyncResult<Map<Integer, V>>>> handlers = new ArrayList<>();
+
+        private AsyncResult<Map<Integer, V>> result;
+
+        /**
+         * Returns future completed with the read result or null if read is already completed.
+         */
+        synchronized Future<Map<Integer, V>> join() {
+            if (result != null) {
+                return null;
+            }
+
+            final Promise<Map<Integer, V>> promise = Promise.promise();
+            final Context context = Vertx.currentContext();
+            handlers.add(readResult -> {
+                if (context != null && context != Vertx.currentContext()) {
+                    context.runOnContext(ignored -> promise.handle(readResult));
+                } else {
+                    promise.handle(readResult);
+                }
+            });
+            return promise.future();
+        }
+
+        void complete(AsyncResult<Map<Integer, V>> readResult) {
+            final List<Handler<AsyncResult<Map<Integer, V>>>> handlersToNotify;
+            synchronized (this) {
+                result = readResult;
+                handlersToNotify = new ArrayList<>(handlers);
+                handlers.clear();
+            }
+            handlersToNotify.forEach(handler -> handler.handle(readResult));
+        }
+    }
+
     private static class MissingVendorListException extends RuntimeException {
 
         MissingVendorListException(String message) {
@@ -28,6 +28,7 @@ public class VendorListServiceV2 extends VendorListService<VendorListV2, VendorV
                                String endpointTemplate,
                                int defaultTimeoutMs,
                                long refreshMissingListPeriodMs,
+                               int maxResidentVersions,
                                boolean deprecated,
                                Integer gdprHostVendorId,
                                String fallbackVendorListPath,
@@ -43,6 +44,7 @@ public class VendorListServiceV2 extends VendorListService<VendorListV2, VendorV
                 endpointTemplate,
                 defaultTimeoutMs,
                 refreshMissingListPeriodMs,
+                maxResidentVersions,
                 deprecated,
                 gdprHostVendorId,
                 fallbackVendorListPath,
@@ -9,7 +9,7 @@ import java.util.Map;
 /**
  * Defines the contract for a bidresponse.ext.debug.httpcalls.{bidder}[i]
  */
-@Builder
+@Builder(toBuilder = true)
 @Value
 public class ExtHttpCall {
 
@@ -27,4 +27,7 @@ public class AccountAuctionConfig {
     AccountBidValidationConfig bidValidations;
 
     AccountEventsConfig events;
+
+    @JsonProperty("debug-body-limit")
+    Integer debugBodyLimit;
 }
@@ -35,5 +35,11 @@ public class GdprConfig {
 
     @JsonProperty("purpose-one-treatment-interpretation")
     PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation;
+
+    @JsonProperty("tcf-cache-ttl-seconds")
+    Integer tcfCacheTtlSeconds;
+
+    @JsonProperty("tcf-cache-size")
+    Integer tcfCacheSize;
 }
 
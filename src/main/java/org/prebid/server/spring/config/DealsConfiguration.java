@@ -196,6 +196,7 @@ public class DealsConfiguration {
                 @Value("${datacenter-region}") String dataCenterRegion,
                 LineItemService lineItemService,
                 HttpClient httpClient,
+                Vertx vertx,
                 Clock clock,
                 Metrics metrics,
                 JacksonMapper mapper) {
@@ -205,6 +206,7 @@ public class DealsConfiguration {
                     dataCenterRegion,
                     lineItemService,
                     httpClient,
+                    vertx,
                     clock,
                     metrics,
                     mapper);
@@ -496,6 +498,7 @@ public class DealsConfiguration {
                 @Value("${datacenter-region}") String dataCenterRegion,
                 LineItemService lineItemService,
                 HttpClient httpClient,
+                Vertx vertx,
                 Clock clock,
                 Metrics metrics,
                 JacksonMapper mapper) {
@@ -506,6 +509,7 @@ public class DealsConfiguration {
                     dataCenterRegion,
                     lineItemService,
                     httpClient,
+                    vertx,
                     clock,
                     metrics,
                     mapper);
@@ -795,6 +799,8 @@ public class DealsConfiguration {
     @NoArgsConstructor
     private static class UserDetailsProperties {
 
+        private static final int DEFAULT_CACHE_SIZE = 10000;
+
         @NotBlank
         private String userDetailsEndpoint;
         @NotBlank
@@ -804,13 +810,19 @@ public class DealsConfiguration {
         @NotNull
         private List<UserIdRule> userIds;
 
+        private Long cacheTtlMs;
+
+        private Integer cacheSize;
+
         public org.prebid.server.deals.model.UserDetailsProperties toComponentProperties() {
             final List<org.prebid.server.deals.model.UserIdRule> componentUserIds = getUserIds().stream()
                     .map(DealsConfiguration.UserIdRule::toComponentProperties)
                     .collect(Collectors.toList());
 
             return org.prebid.server.deals.model.UserDetailsProperties.of(
-                    getUserDetailsEndpoint(), getWinEventEndpoint(), getTimeout(), componentUserIds);
+                    getUserDetailsEndpoint(), getWinEventEndpoint(), getTimeout(), componentUserIds,
+                    getCacheTtlMs() != null ? getCacheTtlMs() : 0L,
+                    getCacheSize() != null ? getCacheSize() : DEFAULT_CACHE_SIZE);
         }
     }
 
@@ -11,6 +11,7 @@ import org.prebid.server.spring.config.model.CircuitBreakerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
 import org.prebid.server.spring.config.model.RemoteFileSyncerProperties;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -41,10 +42,18 @@ public class GeoLocationConfiguration {
         @Bean
         @ConditionalOnProperty(prefix = "geolocation.circuit-breaker", name = "enabled", havingValue = "false",
                 matchIfMissing = true)
-        GeoLocationService basicGeoLocationService(RemoteFileSyncerProperties fileSyncerProperties,
-                                                   Vertx vertx) {
+        GeoLocationService basicGeoLocationService(
+                RemoteFileSyncerProperties fileSyncerProperties,
+                @Value("${geolocation.maxmind.memory-mapped}") boolean memoryMapped,
+                @Value("${geolocation.maxmind.cache.ttl-seconds}") int cacheTtlSeconds,
+                @Value("${geolocation.maxmind.cache.size}") int cacheSize,
+                @Value("${geolocation.maxmind.probe-ip:#{null}}") String probeIp,
+                Vertx vertx,
+                Metrics metrics,
+                Clock clock) {
 
-            return createGeoLocationService(fileSyncerProperties, vertx);
+            return createGeoLocationService(
+                    fileSyncerProperties, memoryMapped, cacheTtlSeconds, cacheSize, probeIp, vertx, metrics, clock);
         }
 
         @Bean
@@ -53,17 +62,30 @@ public class GeoLocationConfiguration {
                 Vertx vertx,
                 Metrics metrics,
                 RemoteFileSyncerProperties fileSyncerProperties,
+                @Value("${geolocation.maxmind.memory-mapped}") boolean memoryMapped,
+                @Value("${geolocation.maxmind.cache.ttl-seconds}") int cacheTtlSeconds,
+                @Value("${geolocation.maxmind.cache.size}") int cacheSize,
+                @Value("${geolocation.maxmind.probe-ip:#{null}}") String probeIp,
                 @Qualifier("maxMindCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties,
                 Clock clock) {
 
             return new CircuitBreakerSecuredGeoLocationService(vertx,
-                    createGeoLocationService(fileSyncerProperties, vertx), metrics,
+                    createGeoLocationService(
+                            fileSyncerProperties, memoryMapped, cacheTtlSeconds, cacheSize, probeIp, vertx, metrics,
+                            clock),
+                    metrics,
                     circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                     circuitBreakerProperties.getClosingIntervalMs(), clock);
         }
 
         private GeoLocationService createGeoLocationService(RemoteFileSyncerProperties fileSyncerProperties,
-                                                            Vertx vertx) {
+                                                            boolean memoryMapped,
+                                                            int cacheTtlSeconds,
+                                                            int cacheSize,
+                                                            String probeIp,
+                                                            Vertx vertx,
+                                                            Metrics metrics,
+                                                            Clock clock) {
 
             final HttpClientProperties httpClientProperties = fileSyncerProperties.getHttpClient();
             final HttpClientOptions httpClientOptions = new HttpClientOptions()
@@ -75,7 +97,8 @@ public class GeoLocationConfiguration {
                     fileSyncerProperties.getRetryCount(), fileSyncerProperties.getRetryIntervalMs(),
                     fileSyncerProperties.getTimeoutMs(), fileSyncerProperties.getUpdateIntervalMs(),
                     vertx.createHttpClient(httpClientOptions), vertx, vertx.fileSystem());
-            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService();
+            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService(
+                    memoryMapped, cacheTtlSeconds, cacheSize, probeIp, vertx, metrics, clock);
 
             remoteFileSyncer.syncForFilepath(maxMindGeoLocationService);
             return maxMindGeoLocationService;
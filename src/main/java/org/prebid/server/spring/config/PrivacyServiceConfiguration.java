@@ -53,6 +53,7 @@ public class PrivacyServiceConfiguration {
             @Value("${gdpr.vendorlist.v2.http-endpoint-template}") String endpointTemplate,
             @Value("${gdpr.vendorlist.default-timeout-ms}") int defaultTimeoutMs,
             @Value("${gdpr.vendorlist.v2.refresh-missing-list-period-ms}") int refreshMissingListPeriodMs,
+            @Value("${gdpr.vendorlist.v2.max-resident-versions}") int maxResidentVersions,
             @Value("${gdpr.host-vendor-id:#{null}}") Integer hostVendorId,
             @Value("${gdpr.vendorlist.v2.fallback-vendor-list-path:#{null}}") String fallbackVendorListPath,
             @Value("${gdpr.vendorlist.v2.deprecated}") boolean deprecated,
@@ -68,6 +69,7 @@ public class PrivacyServiceConfiguration {
                 endpointTemplate,
                 defaultTimeoutMs,
                 refreshMissingListPeriodMs,
+                maxResidentVersions,
                 deprecated,
                 hostVendorId,
                 fallbackVendorListPath,
@@ -84,10 +86,11 @@ public class PrivacyServiceConfiguration {
                             List<PurposeStrategy> purposeStrategies,
                             List<SpecialFeaturesStrategy> specialFeaturesStrategies,
                             VendorListServiceV2 vendorListServiceV2,
-                            BidderCatalog bidderCatalog) {
+                            BidderCatalog bidderCatalog,
+                            Metrics metrics) {
 
         return new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListServiceV2,
-                bidderCatalog);
+                bidderCatalog, metrics);
     }
 
     @Bean
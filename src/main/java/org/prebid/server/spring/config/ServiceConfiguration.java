@@ -126,8 +126,12 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    ImplicitParametersExtractor implicitParametersExtractor(PublicSuffixList psl) {
-        return new ImplicitParametersExtractor(psl);
+    ImplicitParametersExtractor implicitParametersExtractor(
+            PublicSuffixList psl,
+            @Value("${public-suffix-list.cache-size}") int domainCacheSize,
+            Metrics metrics) {
+
+        return new ImplicitParametersExtractor(psl, domainCacheSize, metrics);
     }
 
     @Bean
@@ -73,6 +73,7 @@ public final class HttpUtil {
     public static final CharSequence PG_TRX_ID = HttpHeaders.createOptimized("pg-trx-id");
 
     private static final String BASIC_AUTH_PATTERN = "Basic %s";
+    private static final String TRUNCATED_BODY_PATTERN = "%s...[truncated %d chars]";
 
     private HttpUtil() {
     }
@@ -239,6 +240,18 @@ public final class HttpUtil {
                 : null;
     }
 
+    /**
+     * Truncates debug body to the given limit of characters, so oversized request or response bodies
+     * are not retained for the whole auction and not sent back in response.ext.debug.httpcalls.
+     */
+    public static String truncateDebugBody(String body, Integer limit) {
+        if (body == null || limit == null || limit < 0 || body.length() <= limit) {
+            return body;
+        }
+
+        return String.format(TRUNCATED_BODY_PATTERN, body.substring(0, limit), body.length() - limit);
+    }
+
     private static boolean isSensitiveHeader(String header) {
         return SENSITIVE_HEADERS.stream().anyMatch(header::equalsIgnoreCase);
     }
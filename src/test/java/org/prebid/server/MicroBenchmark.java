@@ -0,0 +1,115 @@
+package org.prebid.server;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plain JUnit timing harness for hot paths, used by *Benchmark classes.
+ * <p>
+ * Benchmark classes are not picked up by the default build, run them explicitly, e.g.
+ * {@code mvn test -Dtest=BidResponseCreatorBenchmark}. Numbers are printed to the log as time and memory allocated
+ * by the calling thread per operation, so they are meant to compare runs on the same machine only.
+ */
+public class MicroBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(MicroBenchmark.class);
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private MicroBenchmark() {
+    }
+
+    public static void run(String name, Runnable operation) {
+        run(name, WARMUP_ITERATIONS, MEASURED_ITERATIONS, operation);
+    }
+
+    public static void run(String name, int warmupIterations, int measuredIterations, Runnable operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            operation.run();
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int i = 0; i < measuredIterations; i++) {
+            operation.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        logger.info(String.format("%s: %d ns/op, %d B/op", name,
+                elapsed / measuredIterations, allocated / measuredIterations));
+    }
+
+    /**
+     * Runs operation on the given number of threads at once and reports their total throughput.
+     * <p>
+     * Threads warm up on their own and start measured iterations together.
+     */
+    public static void runConcurrently(String name, int threads, int warmupIterations, int measuredIterations,
+                                       Runnable operation) {
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch warmedUp = new CountDownLatch(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executorService.submit(() -> {
+                    try {
+                        for (int j = 0; j < warmupIterations; j++) {
+                            operation.run();
+                        }
+                    } finally {
+                        warmedUp.countDown();
+                    }
+                    await(start);
+                    for (int j = 0; j < measuredIterations; j++) {
+                        operation.run();
+                    }
+                }));
+            }
+
+            await(warmedUp);
+            final long startTime = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            final long elapsed = System.nanoTime() - startTime;
+
+            final long operations = (long) threads * measuredIterations;
+            logger.info(String.format("%s: %d ops/s on %d threads, %d ns/op", name,
+                    operations * 1_000_000_000L / elapsed, threads, elapsed / operations));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidRequestCacheInfo;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.DebugContext;
+import org.prebid.server.auction.model.MultiBidConfig;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.cache.CacheService;
+import org.prebid.server.deals.model.DeepDebugLog;
+import org.prebid.server.deals.model.TxnLog;
+import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.hooks.execution.HookStageExecutor;
+import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
+import org.prebid.server.identity.IdGenerator;
+import org.prebid.server.identity.IdGeneratorType;
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
+import org.prebid.server.proto.openrtb.ext.response.BidType;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.VideoStoredDataResult;
+import org.prebid.server.vast.VastModifier;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures creating auction response from 20 bidders returning 3 bids for each of 5 imps with targeting enabled.
+ */
+public class BidResponseCreatorBenchmark extends VertxTest {
+
+    private static final int BIDDERS = 20;
+    private static final int IMPS = 5;
+    private static final int BIDS_PER_IMP = 3;
+
+    private BidResponseCreator bidResponseCreator;
+
+    private AuctionContext auctionContext;
+
+    private Map<String, MultiBidConfig> bidderToMultiBid;
+
+    @Before
+    public void setUp() {
+        final CacheService cacheService = stubOnlyMock(CacheService.class);
+        final HookStageExecutor hookStageExecutor = stubOnlyMock(HookStageExecutor.class);
+        final StoredRequestProcessor storedRequestProcessor = stubOnlyMock(StoredRequestProcessor.class);
+        final IdGenerator idGenerator = stubOnlyMock(IdGenerator.class);
+
+        BDDMockito.given(cacheService.getEndpointHost()).willReturn("cacheHost");
+        BDDMockito.given(cacheService.getEndpointPath()).willReturn("cachePath");
+        BDDMockito.given(cacheService.getCachedAssetURLTemplate()).willReturn("uuid=");
+        BDDMockito.given(idGenerator.getType()).willReturn(IdGeneratorType.none);
+        BDDMockito.given(storedRequestProcessor.videoStoredDataResult(
+                ArgumentMatchers.any(), ArgumentMatchers.anyList(), ArgumentMatchers.anyList(),
+                ArgumentMatchers.any()))
+                .willReturn(Future.succeededFuture(VideoStoredDataResult.empty()));
+        BDDMockito.given(hookStageExecutor.executeProcessedBidderResponseStage(
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
+                        false,
+                        BidderResponsePayloadImpl.of(((BidderResponse) invocation.getArgument(0))
+                                .getSeatBid()
+                                .getBids()))));
+
+        final Clock clock = Clock.fixed(Instant.ofEpochMilli(1000L), ZoneOffset.UTC);
+
+        bidResponseCreator = new BidResponseCreator(
+                cacheService,
+                stubOnlyMock(BidderCatalog.class),
+                stubOnlyMock(VastModifier.class),
+                stubOnlyMock(EventsService.class),
+                storedRequestProcessor,
+                new WinningBidComparatorFactory(),
+                idGenerator,
+                hookStageExecutor,
+                0,
+                clock,
+                jacksonMapper);
+
+        final List<Imp> imps = IntStream.range(0, IMPS)
+                .mapToObj(i -> Imp.builder().id("impId" + i).build())
+                .collect(Collectors.toList());
+        final ExtRequestTargeting targeting = ExtRequestTargeting.builder()
+                .pricegranularity(mapper.valueToTree(ExtPriceGranularity.of(2, Collections.singletonList(
+                        ExtGranularityRange.of(BigDecimal.valueOf(20), BigDecimal.valueOf(0.1))))))
+                .includewinners(true)
+                .includebidderkeys(true)
+                .build();
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .cur(Collections.singletonList("USD"))
+                .tmax(1000L)
+                .imp(imps)
+                .ext(ExtRequest.of(ExtRequestPrebid.builder().targeting(targeting).build()))
+                .build();
+
+        final Timeout timeout = new TimeoutFactory(clock).create(1000L);
+        auctionContext = AuctionContext.builder()
+                .account(Account.empty("accountId"))
+                .bidRequest(bidRequest)
+                .txnLog(TxnLog.create())
+                .timeout(timeout)
+                .debugContext(DebugContext.empty())
+                .deepDebugLog(DeepDebugLog.create(false, clock))
+                .debugHttpCalls(new HashMap<>())
+                .debugWarnings(new ArrayList<>())
+                .prebidErrors(new ArrayList<>())
+                .build();
+
+        bidderToMultiBid = IntStream.range(0, BIDDERS)
+                .mapToObj(BidResponseCreatorBenchmark::bidderName)
+                .collect(Collectors.toMap(bidder -> bidder,
+                        bidder -> MultiBidConfig.of(bidder, BIDS_PER_IMP, bidder + "_m")));
+    }
+
+    @Test
+    public void createMultiBidResponse() {
+        MicroBenchmark.run("BidResponseCreator.create 20 bidders x 5 imps x 3 bids", 2_000, 2_000,
+                () -> bidResponseCreator.create(
+                        bidderResponses(), auctionContext, BidRequestCacheInfo.noCache(), bidderToMultiBid));
+    }
+
+    private static List<BidderResponse> bidderResponses() {
+        final List<BidderResponse> bidderResponses = new ArrayList<>(BIDDERS);
+        for (int bidderIndex = 0; bidderIndex < BIDDERS; bidderIndex++) {
+            final List<BidderBid> bids = new ArrayList<>(IMPS * BIDS_PER_IMP);
+            for (int impIndex = 0; impIndex < IMPS; impIndex++) {
+                for (int bidIndex = 0; bidIndex < BIDS_PER_IMP; bidIndex++) {
+                    final Bid bid = Bid.builder()
+                            .id("bid" + bidderIndex + "-" + impIndex + "-" + bidIndex)
+                            .impid("impId" + impIndex)
+                            .price(BigDecimal.valueOf(1 + bidderIndex + bidIndex))
+                            .adm("adm")
+                            .w(300)
+                            .h(250)
+                            .ext(mapper.createObjectNode().put("origbidcpm", 1))
+                            .build();
+                    bids.add(BidderBid.of(bid, BidType.banner, "USD"));
+                }
+            }
+            bidderResponses.add(BidderResponse.of(bidderName(bidderIndex),
+                    BidderSeatBid.of(bids, new ArrayList<>(), new ArrayList<>()), 100));
+        }
+        return bidderResponses;
+    }
+
+    private static String bidderName(int index) {
+        return "bidder" + index;
+    }
+
+    private static <T> T stubOnlyMock(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
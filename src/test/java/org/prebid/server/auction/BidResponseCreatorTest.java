@@ -2179,6 +2179,48 @@ public class BidResponseCreatorTest extends VertxTest {
         verify(cacheService).cacheBidsOpenrtb(anyList(), any(), any(), any());
     }
 
+    @Test
+    public void shouldKeepBidderExtAndNotModifyOriginalBidExtWhenPopulatingExtPrebid() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(givenBidRequest(
+                identity(),
+                extBuilder -> extBuilder.targeting(givenTargeting()),
+                givenImp()));
+
+        final ObjectNode originalBidExt = mapper.createObjectNode();
+        originalBidExt.set("bidder", mapper.createObjectNode().put("key", "value"));
+        final Bid bid = Bid.builder()
+                .id("bidId")
+                .price(BigDecimal.valueOf(5.67))
+                .impid(IMP_ID)
+                .ext(originalBidExt)
+                .build();
+        final List<BidderResponse> bidderResponses = singletonList(BidderResponse.of("bidder1",
+                givenSeatBid(BidderBid.of(bid, banner, "USD")), 100));
+
+        final BidRequestCacheInfo cacheInfo = BidRequestCacheInfo.builder()
+                .doCaching(true)
+                .shouldCacheBids(true)
+                .build();
+
+        givenCacheServiceResult(singletonList(CacheInfo.of("cacheId", null, null, null)));
+
+        // when
+        final BidResponse bidResponse =
+                bidResponseCreator.create(bidderResponses, auctionContext, cacheInfo, MULTI_BIDS).result();
+
+        // then
+        final Bid responseBid = bidResponse.getSeatbid().get(0).getBid().get(0);
+        assertThat(responseBid.getExt().get("bidder")).isEqualTo(mapper.createObjectNode().put("key", "value"));
+        assertThat(toExtBidPrebid(responseBid.getExt()))
+                .extracting(ExtBidPrebid::getType, extBidPrebid -> extBidPrebid.getCache().getBids())
+                .containsExactly(banner, CacheAsset.of("uuid=cacheId", "cacheId"));
+        assertThat(toTargetingByKey(responseBid, "hb_bidder")).isEqualTo("bidder1");
+
+        assertThat(originalBidExt.size()).isEqualTo(1);
+        assertThat(originalBidExt.has("prebid")).isFalse();
+    }
+
     @Test
     public void shouldNotPopulateWinningBidTargetingIfIncludeWinnersFlagIsFalse() {
         // given
@@ -0,0 +1,227 @@
+package org.prebid.server.auction;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import com.iab.openrtb.response.BidResponse;
+import io.vertx.core.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidderPrivacyResult;
+import org.prebid.server.auction.model.BidderRequest;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.DebugContext;
+import org.prebid.server.auction.model.StoredResponseResult;
+import org.prebid.server.bidder.Bidder;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.Usersyncer;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.cookie.UidsCookie;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.deals.events.ApplicationEventService;
+import org.prebid.server.deals.model.DeepDebugLog;
+import org.prebid.server.deals.model.TxnLog;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.hooks.execution.HookStageExecutor;
+import org.prebid.server.hooks.execution.model.HookExecutionContext;
+import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.v1.auction.AuctionResponsePayloadImpl;
+import org.prebid.server.hooks.execution.v1.bidder.BidderRequestPayloadImpl;
+import org.prebid.server.hooks.execution.v1.bidder.BidderResponsePayloadImpl;
+import org.prebid.server.log.CriteriaLogManager;
+import org.prebid.server.log.HttpInteractionLogger;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
+import org.prebid.server.model.Endpoint;
+import org.prebid.server.model.HttpRequestContext;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.validation.ResponseBidValidator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures holding an auction for 20 bidders bidding on each of 10 imps, with bidder and stored responses stubbed out,
+ * so the time is spent mostly on preparing bidder requests.
+ */
+public class ExchangeServiceBenchmark extends VertxTest {
+
+    private static final int BIDDERS = 20;
+    private static final int IMPS = 10;
+
+    private ExchangeService exchangeService;
+
+    private AuctionContext auctionContext;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        final BidderCatalog bidderCatalog = stubOnlyMock(BidderCatalog.class);
+        final Bidder<?> bidder = stubOnlyMock(Bidder.class);
+        BDDMockito.given(bidderCatalog.isValidName(ArgumentMatchers.anyString())).willReturn(true);
+        BDDMockito.given(bidderCatalog.isActive(ArgumentMatchers.anyString())).willReturn(true);
+        BDDMockito.given(bidderCatalog.usersyncerByName(ArgumentMatchers.anyString()))
+                .willReturn(Usersyncer.of("cookieFamily", null, null));
+        BDDMockito.doReturn(bidder).when(bidderCatalog).bidderByName(ArgumentMatchers.anyString());
+
+        final StoredResponseProcessor storedResponseProcessor = stubOnlyMock(StoredResponseProcessor.class);
+        BDDMockito.given(storedResponseProcessor.getStoredResponseResult(
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> Future.succeededFuture(StoredResponseResult.of(
+                        invocation.getArgument(0), Collections.emptyList(), Collections.emptyMap())));
+        BDDMockito.given(storedResponseProcessor.mergeWithBidderResponses(
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        final PrivacyEnforcementService privacyEnforcementService = stubOnlyMock(PrivacyEnforcementService.class);
+        BDDMockito.given(privacyEnforcementService.mask(
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> Future.succeededFuture(
+                        ((Map<String, User>) invocation.getArgument(1)).entrySet().stream()
+                                .map(bidderAndUser -> BidderPrivacyResult.builder()
+                                        .requestBidder(bidderAndUser.getKey())
+                                        .user(bidderAndUser.getValue())
+                                        .build())
+                                .collect(Collectors.toList())));
+
+        final FpdResolver fpdResolver = stubOnlyMock(FpdResolver.class);
+        BDDMockito.given(fpdResolver.resolveUser(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(fpdResolver.resolveSite(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(fpdResolver.resolveApp(ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(fpdResolver.resolveImpExt(ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        final HttpBidderRequester httpBidderRequester = stubOnlyMock(HttpBidderRequester.class);
+        BDDMockito.given(httpBidderRequester.requestBids(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
+                .willAnswer(invocation -> Future.succeededFuture(BidderSeatBid.of(
+                        new ArrayList<>(), new ArrayList<>(), new ArrayList<>())));
+
+        final BidResponseCreator bidResponseCreator = stubOnlyMock(BidResponseCreator.class);
+        BDDMockito.given(bidResponseCreator.create(ArgumentMatchers.anyList(), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willReturn(Future.succeededFuture(BidResponse.builder().id("responseId").build()));
+
+        final HookStageExecutor hookStageExecutor = stubOnlyMock(HookStageExecutor.class);
+        BDDMockito.given(hookStageExecutor.executeBidderRequestStage(
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
+                        false,
+                        BidderRequestPayloadImpl.of(invocation.<BidderRequest>getArgument(0).getBidRequest()))));
+        BDDMockito.given(hookStageExecutor.executeRawBidderResponseStage(
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
+                        false,
+                        BidderResponsePayloadImpl.of(invocation.<BidderResponse>getArgument(0).getSeatBid()
+                                .getBids()))));
+        BDDMockito.given(hookStageExecutor.executeAuctionResponseStage(
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
+                        false,
+                        AuctionResponsePayloadImpl.of(invocation.getArgument(0)))));
+
+        final CriteriaLogManager criteriaLogManager = stubOnlyMock(CriteriaLogManager.class);
+        BDDMockito.given(criteriaLogManager.traceResponse(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.anyBoolean()))
+                .willAnswer(invocation -> invocation.getArgument(1));
+
+        final Clock clock = Clock.fixed(Instant.ofEpochMilli(1000L), ZoneOffset.UTC);
+
+        exchangeService = new ExchangeService(
+                0,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                fpdResolver,
+                stubOnlyMock(SchainResolver.class),
+                httpBidderRequester,
+                stubOnlyMock(ResponseBidValidator.class),
+                stubOnlyMock(CurrencyConversionService.class),
+                bidResponseCreator,
+                BidResponsePostProcessor.noOp(),
+                hookStageExecutor,
+                stubOnlyMock(ApplicationEventService.class),
+                stubOnlyMock(HttpInteractionLogger.class),
+                stubOnlyMock(Metrics.class),
+                clock,
+                jacksonMapper,
+                criteriaLogManager);
+
+        final List<Imp> imps = IntStream.range(0, IMPS)
+                .mapToObj(ExchangeServiceBenchmark::givenImp)
+                .collect(Collectors.toList());
+        final BidRequest bidRequest = BidRequest.builder()
+                .id("requestId")
+                .cur(Collections.singletonList("USD"))
+                .imp(imps)
+                .site(Site.builder().page("https://example.com").build())
+                .user(User.builder().id("userId").build())
+                .build();
+
+        final Timeout timeout = new TimeoutFactory(clock).create(1000L);
+        auctionContext = AuctionContext.builder()
+                .httpRequest(HttpRequestContext.builder().headers(CaseInsensitiveMultiMap.empty()).build())
+                .uidsCookie(stubOnlyMock(UidsCookie.class))
+                .bidRequest(bidRequest)
+                .debugWarnings(new ArrayList<>())
+                .account(Account.empty("accountId"))
+                .requestTypeMetric(MetricName.openrtb2web)
+                .timeout(timeout)
+                .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                .debugContext(DebugContext.empty())
+                .txnLog(TxnLog.create())
+                .deepDebugLog(DeepDebugLog.create(false, clock))
+                .build();
+    }
+
+    @Test
+    public void holdAuctionFor20BiddersAnd10Imps() {
+        MicroBenchmark.run("ExchangeService.holdAuction 20 bidders x 10 imps", 5_000, 5_000,
+                () -> exchangeService.holdAuction(auctionContext));
+    }
+
+    private static Imp givenImp(int index) {
+        final ObjectNode bidderParams = mapper.createObjectNode();
+        for (int i = 0; i < BIDDERS; i++) {
+            bidderParams.set("bidder" + i, mapper.createObjectNode()
+                    .put("placementId", index * 100 + i)
+                    .put("siteId", "site" + i)
+                    .put("keywords", "sports,news,weather"));
+        }
+
+        final ObjectNode prebid = mapper.createObjectNode();
+        prebid.set("bidder", bidderParams);
+        prebid.set("storedrequest", mapper.createObjectNode().put("id", "storedImp" + index));
+
+        final ObjectNode ext = mapper.createObjectNode();
+        ext.set("prebid", prebid);
+        ext.set("data", mapper.createObjectNode().put("pbadslot", "/slot/" + index));
+
+        return Imp.builder().id("impId" + index).ext(ext).build();
+    }
+
+    private static <T> T stubOnlyMock(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
@@ -2,6 +2,7 @@ package org.prebid.server.auction;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.App;
@@ -26,6 +27,7 @@ import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
 import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.apache.commons.collections4.MapUtils;
 import org.junit.Before;
 import org.junit.Rule;
@@ -118,6 +120,7 @@ import org.prebid.server.proto.openrtb.ext.response.BidType;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidPrebid;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidResponse;
 import org.prebid.server.proto.openrtb.ext.response.ExtBidderError;
+import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.ExtModules;
 import org.prebid.server.proto.openrtb.ext.response.ExtModulesTrace;
 import org.prebid.server.proto.openrtb.ext.response.ExtModulesTraceAnalyticsActivity;
@@ -556,7 +559,8 @@ public class ExchangeServiceTest extends VertxTest {
         givenBidder(bidder, mock(Bidder.class), givenSeatBid(singletonList(
                 givenBid(Bid.builder().build()))));
 
-        final BidderBid hookChangedBid = BidderBid.of(Bid.builder().id("newId").build(), video, "USD");
+        final BidderBid hookChangedBid =
+                BidderBid.of(Bid.builder().id("newId").price(BigDecimal.ONE).build(), video, "USD");
         doAnswer(invocation -> Future.succeededFuture(HookStageExecutionResult.of(
                 false,
                 BidderResponsePayloadImpl.of(singletonList(hookChangedBid)))))
@@ -574,7 +578,33 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(bidResponseCaptor.getValue())
                 .extracting(BidderResponse::getSeatBid)
                 .flatExtracting(BidderSeatBid::getBids)
-                .containsOnly(hookChangedBid);
+                .extracting(BidderBid::getBid)
+                .extracting(Bid::getId)
+                .containsOnly("newId");
+    }
+
+    @Test
+    public void shouldValidateBidderResponseWithoutWaitingForOtherBidders() {
+        // given
+        final Bidder<?> bidder1 = mock(Bidder.class);
+        givenBidder("bidder1", bidder1, givenSingleSeatBid(givenBid(
+                Bid.builder().id("bidId1").impid("impId").price(BigDecimal.ONE).build())));
+
+        final Bidder<?> bidder2 = mock(Bidder.class);
+        doReturn(bidder2).when(bidderCatalog).bidderByName(eq("bidder2"));
+        given(httpBidderRequester.requestBids(same(bidder2), any(), any(), any(), anyBoolean()))
+                .willReturn(Promise.<BidderSeatBid>promise().future());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(doubleMap("bidder1", 1, "bidder2", 2)));
+
+        // when
+        final Future<BidResponse> result = exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        assertThat(result.isComplete()).isFalse();
+        verify(responseBidValidator).validate(any(), eq("bidder1"), any(), any());
+        verify(metrics).updateAdapterRequestGotbidsMetrics(eq("bidder1"), any());
+        verify(bidResponseCreator, never()).create(anyList(), any(), any(), any());
     }
 
     @Test
@@ -1150,6 +1180,37 @@ public class ExchangeServiceTest extends VertxTest {
                 .allSatisfy(map -> assertThat(map).isNull());
     }
 
+    @Test
+    public void shouldTruncateBidderDebugHttpCallsBodiesWhenAccountDebugBodyLimitIsDefined() {
+        // given
+        final ExtHttpCall httpCall = ExtHttpCall.builder()
+                .uri("uri")
+                .requestbody("request-body")
+                .responsebody("resp")
+                .status(200)
+                .build();
+        givenBidder("bidder", mock(Bidder.class), BidderSeatBid.of(emptyList(), singletonList(httpCall), emptyList()));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidder", 1)));
+        final Account account = Account.builder()
+                .id("accountId")
+                .auction(AccountAuctionConfig.builder().debugBodyLimit(4).build())
+                .build();
+        final AuctionContext auctionContext = givenRequestContext(bidRequest, account).toBuilder()
+                .debugContext(DebugContext.of(true, null))
+                .build();
+
+        // when
+        exchangeService.holdAuction(auctionContext);
+
+        // then
+        assertThat(captureBidResponses())
+                .extracting(BidderResponse::getSeatBid)
+                .flatExtracting(BidderSeatBid::getHttpCalls)
+                .extracting(ExtHttpCall::getUri, ExtHttpCall::getRequestbody, ExtHttpCall::getResponsebody)
+                .containsExactly(tuple("uri", "requ...[truncated 8 chars]", "resp"));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void shouldTolerateResponseBidValidationErrors() {
@@ -2109,6 +2170,48 @@ public class ExchangeServiceTest extends VertxTest {
                         tuple(ExtApp.of(null, dataNode), "keyword"));
     }
 
+    @Test
+    public void shouldPassCleanedImpExtPrebidToEachBidderWithoutSharingNodes() {
+        // given
+        final Bidder<?> bidder = mock(Bidder.class);
+        givenBidder("bidder1", bidder, givenEmptySeatBid());
+        givenBidder("bidder2", bidder, givenEmptySeatBid());
+
+        final ObjectNode impExt = mapper.createObjectNode()
+                .set("prebid", mapper.createObjectNode()
+                        .<ObjectNode>set("storedrequest", mapper.createObjectNode().put("id", "storedId"))
+                        .set("bidder", mapper.createObjectNode().put("bidder1", 1).put("bidder2", 2)));
+        final ObjectNode originalImpExt = impExt.deepCopy();
+
+        final BidRequest bidRequest = givenBidRequest(singletonList(givenImp(null, builder -> builder
+                .id("impId")
+                .ext(impExt))));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<BidderRequest> bidderRequestCaptor = ArgumentCaptor.forClass(BidderRequest.class);
+        verify(httpBidderRequester, times(2))
+                .requestBids(any(), bidderRequestCaptor.capture(), any(), any(), anyBoolean());
+        final List<ObjectNode> impExts = bidderRequestCaptor.getAllValues().stream()
+                .map(BidderRequest::getBidRequest)
+                .flatMap(request -> request.getImp().stream())
+                .map(Imp::getExt)
+                .collect(Collectors.toList());
+
+        final ObjectNode expectedImpExtPrebid = mapper.createObjectNode()
+                .set("storedrequest", mapper.createObjectNode().put("id", "storedId"));
+        assertThat(impExts)
+                .extracting(ext -> ext.get("prebid"))
+                .containsExactly(expectedImpExtPrebid, expectedImpExtPrebid);
+        assertThat(impExts)
+                .extracting(ext -> ext.get("bidder"))
+                .containsExactlyInAnyOrder(IntNode.valueOf(1), IntNode.valueOf(2));
+        assertThat(impExts.get(0).get("prebid")).isNotSameAs(impExts.get(1).get("prebid"));
+        assertThat(impExt).isEqualTo(originalImpExt);
+    }
+
     @Test
     public void shouldPassAppExtDataOnlyForAllowedBidder() {
         // given
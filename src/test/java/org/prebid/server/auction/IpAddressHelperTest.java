@@ -55,6 +55,18 @@ public class IpAddressHelperTest {
                 .isEqualTo("192.168.34.0");
     }
 
+    @Test
+    public void maskIpv4ShouldReturnInputIfOctetsHaveLeadingZeros() {
+        final String ip = "192.168.034.056";
+        assertThat(ipAddressHelper.maskIpv4(ip)).isSameAs(ip);
+    }
+
+    @Test
+    public void maskIpv4ShouldReturnInputIfFirstOctetIsZero() {
+        final String ip = "0.168.34.56";
+        assertThat(ipAddressHelper.maskIpv4(ip)).isSameAs(ip);
+    }
+
     @Test
     public void maskIpv4ShouldReturnInputIfIpIsNotValid() {
         final String ip = "abc";
@@ -67,6 +79,17 @@ public class IpAddressHelperTest {
                 .isEqualTo("1111:2222:3333:4400::");
     }
 
+    @Test
+    public void anonymizeIpv6ShouldAcceptCompressedAndUppercaseNotation() {
+        assertThat(ipAddressHelper.anonymizeIpv6("2001:DB8::FF00:42:8329"))
+                .isEqualTo("2001:db8::");
+    }
+
+    @Test
+    public void anonymizeIpv6ShouldReturnNullIfIpIsV4() {
+        assertThat(ipAddressHelper.anonymizeIpv6("192.168.34.56")).isNull();
+    }
+
     @Test
     public void anonymizeIpv6ShouldReturnNullIfIpIsNotValid() {
         assertThat(ipAddressHelper.anonymizeIpv6("abc")).isNull();
@@ -93,6 +116,24 @@ public class IpAddressHelperTest {
         assertThat(ipAddressHelper.toIpAddress("192.168.0.1")).isNull();
     }
 
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsV4AndPrivate() {
+        assertThat(ipAddressHelper.toIpAddress("10.1.2.3")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("172.16.0.1")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("172.31.255.255")).isNull();
+    }
+
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsV4AndInConfiguredNetwork() {
+        // given
+        ipAddressHelper = new IpAddressHelper(64, 56, singletonList("100.64.0.0/10"));
+
+        // when and then
+        assertThat(ipAddressHelper.toIpAddress("100.127.255.255")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("100.128.0.1"))
+                .isEqualTo(IpAddress.of("100.128.0.1", IpAddress.IP.v4));
+    }
+
     @Test
     public void toIpAddressShouldReturnNullIfIpIsV4AndMulticast() {
         assertThat(ipAddressHelper.toIpAddress("224.0.0.0/4")).isNull();
@@ -113,6 +154,26 @@ public class IpAddressHelperTest {
         assertThat(ipAddressHelper.toIpAddress("fc00:0000:0000:0000:0000:0000:0000:0001")).isNull();
     }
 
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsV6AndLinkLocal() {
+        assertThat(ipAddressHelper.toIpAddress("fe80::1")).isNull();
+    }
+
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsV6AndInConfiguredNetwork() {
+        // given
+        ipAddressHelper = new IpAddressHelper(64, 56, singletonList("2001:db8::/32"));
+
+        // when and then
+        assertThat(ipAddressHelper.toIpAddress("2001:db8:ffff::1")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("2001:db9::1")).isEqualTo(IpAddress.of("2001:db9::", IpAddress.IP.v6));
+    }
+
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsV6AndLoopback() {
+        assertThat(ipAddressHelper.toIpAddress("::1")).isNull();
+    }
+
     @Test
     public void toIpAddressShouldReturnNullIfIpIsV6AndMulticast() {
         assertThat(ipAddressHelper.toIpAddress("ff00::/64")).isNull();
@@ -133,6 +194,27 @@ public class IpAddressHelperTest {
         assertThat(ipAddressHelper.toIpAddress("12.34.56.78")).isEqualTo(IpAddress.of("12.34.56.78", IpAddress.IP.v4));
     }
 
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsNotValidV4() {
+        assertThat(ipAddressHelper.toIpAddress("256.1.1.1")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("1.2.3.4.5")).isNull();
+    }
+
+    @Test
+    public void toIpAddressShouldReturnNullIfIpIsNotValidV6() {
+        assertThat(ipAddressHelper.toIpAddress("1::2::3")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("1:2:3:4:5:6:7:8:9")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("12345::")).isNull();
+    }
+
+    @Test
+    public void toIpAddressShouldReturnIpV6AddressMaskedWithoutCompressingSingleZeroGroup() {
+        assertThat(ipAddressHelper.toIpAddress("2001:0:85a3:a5b7:0:8a2e:370:7334"))
+                .isEqualTo(IpAddress.of("2001:0:85a3:a5b7::", IpAddress.IP.v6));
+        assertThat(new IpAddressHelper(128, 56, emptyList()).toIpAddress("2001:0:0:a5b7:1:0:0:7334"))
+                .isEqualTo(IpAddress.of("2001::a5b7:1:0:0:7334", IpAddress.IP.v6));
+    }
+
     @Test
     public void toIpAddressShouldReturnIpV6AddressMasked() {
         assertThat(ipAddressHelper.toIpAddress("2001:1db8:85a3:a5b7:0000:8a2e:0370:7334"))
@@ -0,0 +1,137 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Geo;
+import com.iab.openrtb.request.User;
+import io.vertx.core.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.PrivacyExtractor;
+import org.prebid.server.privacy.ccpa.Ccpa;
+import org.prebid.server.privacy.gdpr.TcfDefinerService;
+import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.TcfContext;
+import org.prebid.server.privacy.gdpr.model.TcfResponse;
+import org.prebid.server.privacy.model.Privacy;
+import org.prebid.server.privacy.model.PrivacyContext;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.settings.model.Account;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures masking user and device for 30 bidders with GDPR applying, where bidders share the request user
+ * and get one of three distinct TCF enforcement actions.
+ */
+public class PrivacyEnforcementServiceBenchmark extends VertxTest {
+
+    private static final int BIDDERS = 30;
+
+    private PrivacyEnforcementService privacyEnforcementService;
+
+    private BidderAliases aliases;
+
+    private AuctionContext auctionContext;
+
+    private List<String> bidders;
+
+    private Map<String, User> bidderToUser;
+
+    @Before
+    public void setUp() {
+        final User user = User.builder()
+                .id("id")
+                .geo(Geo.builder().lon(-85.1245F).lat(189.9531F).country("US").build())
+                .ext(ExtUser.builder().consent("consent").build())
+                .build();
+        final Device device = Device.builder()
+                .ip("192.168.0.10")
+                .ipv6("2001:0db8:85a3:0000:0000:8a2e:0370:7334")
+                .geo(Geo.builder().lon(-85.34321F).lat(189.342323F).country("US").build())
+                .ifa("ifa")
+                .macsha1("macsha1")
+                .didsha1("didsha1")
+                .dpidsha1("dpidsha1")
+                .build();
+
+        bidders = new ArrayList<>();
+        bidderToUser = new HashMap<>();
+        final Map<String, PrivacyEnforcementAction> bidderToEnforcement = new HashMap<>();
+        for (int i = 0; i < BIDDERS; i++) {
+            final String bidder = "bidder" + i;
+            bidders.add(bidder);
+            bidderToUser.put(bidder, user);
+            bidderToEnforcement.put(bidder, enforcementAction(i));
+        }
+
+        final TcfDefinerService tcfDefinerService = stubOnlyMock(TcfDefinerService.class);
+        BDDMockito.given(tcfDefinerService.resultForBidderNames(ArgumentMatchers.any(), ArgumentMatchers.any(),
+                ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willReturn(Future.succeededFuture(TcfResponse.of(true, bidderToEnforcement, null)));
+
+        final IpAddressHelper ipAddressHelper = stubOnlyMock(IpAddressHelper.class);
+        BDDMockito.given(ipAddressHelper.maskIpv4(ArgumentMatchers.anyString())).willReturn("192.168.0.0");
+        BDDMockito.given(ipAddressHelper.anonymizeIpv6(ArgumentMatchers.anyString()))
+                .willReturn("2001:0db8:85a3:0000::");
+
+        aliases = stubOnlyMock(BidderAliases.class);
+        BDDMockito.given(aliases.resolveBidder(ArgumentMatchers.anyString()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        privacyEnforcementService = new PrivacyEnforcementService(
+                stubOnlyMock(BidderCatalog.class),
+                new PrivacyExtractor(),
+                tcfDefinerService,
+                stubOnlyMock(ImplicitParametersExtractor.class),
+                ipAddressHelper,
+                stubOnlyMock(Metrics.class),
+                false,
+                false);
+
+        auctionContext = AuctionContext.builder()
+                .account(Account.builder().build())
+                .requestTypeMetric(MetricName.openrtb2web)
+                .bidRequest(BidRequest.builder().user(user).device(device).build())
+                .privacyContext(PrivacyContext.of(Privacy.of("1", "consent", Ccpa.EMPTY, 0), TcfContext.empty()))
+                .build();
+    }
+
+    @Test
+    public void maskFor30BiddersWithGdprApplying() {
+        MicroBenchmark.run("PrivacyEnforcementService.mask 30 bidders with GDPR",
+                () -> privacyEnforcementService.mask(auctionContext, bidderToUser, bidders, aliases));
+    }
+
+    private static PrivacyEnforcementAction enforcementAction(int index) {
+        switch (index % 3) {
+            case 0:
+                return PrivacyEnforcementAction.builder()
+                        .maskDeviceInfo(true)
+                        .maskDeviceIp(true)
+                        .maskGeo(true)
+                        .removeUserIds(true)
+                        .build();
+            case 1:
+                return PrivacyEnforcementAction.builder().maskGeo(true).build();
+            default:
+                return PrivacyEnforcementAction.allowAll();
+        }
+    }
+
+    private static <T> T stubOnlyMock(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
@@ -946,6 +946,59 @@ public class PrivacyEnforcementServiceTest extends VertxTest {
                 anyBoolean());
     }
 
+    @Test
+    public void shouldShareMaskedUserAndDeviceBetweenBiddersWithSameTcfMasking() {
+        // given
+        final User user = notMaskedUser();
+        final Device device = notMaskedDevice();
+
+        final List<String> bidders = new ArrayList<>();
+        final Map<String, Integer> bidderToImpExt = new HashMap<>();
+        final Map<String, User> bidderToUser = new HashMap<>();
+        final Map<String, PrivacyEnforcementAction> bidderToEnforcement = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            final String bidder = "bidder" + i;
+            final PrivacyEnforcementAction privacyEnforcementAction = PrivacyEnforcementAction.allowAll();
+            privacyEnforcementAction.setMaskGeo(true);
+
+            bidders.add(bidder);
+            bidderToImpExt.put(bidder, i);
+            bidderToUser.put(bidder, user);
+            bidderToEnforcement.put(bidder, privacyEnforcementAction);
+        }
+
+        given(tcfDefinerService.resultForBidderNames(any(), any(), any(), any()))
+                .willReturn(Future.succeededFuture(TcfResponse.of(true, bidderToEnforcement, null)));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(bidderToImpExt),
+                bidRequestBuilder -> bidRequestBuilder
+                        .user(user)
+                        .device(device));
+
+        final PrivacyContext privacyContext = givenPrivacyContext("0", Ccpa.EMPTY, 0);
+
+        final AuctionContext context = auctionContext(bidRequest, privacyContext);
+
+        // when
+        final List<BidderPrivacyResult> result = privacyEnforcementService
+                .mask(context, bidderToUser, bidders, aliases)
+                .result();
+
+        // then
+        assertThat(result).hasSize(30)
+                .extracting(BidderPrivacyResult::getUser)
+                .containsOnly(givenNotMaskedUser(userBuilder -> userBuilder.geo(userTcfMasked().getGeo())));
+        assertThat(result)
+                .extracting(BidderPrivacyResult::getDevice)
+                .containsOnly(givenNotMaskedDevice(deviceBuilder -> deviceBuilder.geo(deviceTcfMasked().getGeo())));
+
+        final BidderPrivacyResult firstResult = result.get(0);
+        assertThat(result).allSatisfy(bidderPrivacyResult -> {
+            assertThat(bidderPrivacyResult.getUser()).isSameAs(firstResult.getUser());
+            assertThat(bidderPrivacyResult.getDevice()).isSameAs(firstResult.getDevice());
+        });
+    }
+
     @Test
     public void shouldMaskDeviceIpWhenTcfDefinerServiceRestrictDeviceIp() {
         // given
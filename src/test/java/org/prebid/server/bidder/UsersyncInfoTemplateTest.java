@@ -0,0 +1,79 @@
+package org.prebid.server.bidder;
+
+import org.junit.Test;
+import org.prebid.server.privacy.ccpa.Ccpa;
+import org.prebid.server.privacy.model.Privacy;
+import org.prebid.server.proto.response.UsersyncInfo;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UsersyncInfoTemplateTest {
+
+    @Test
+    public void renderShouldPopulatePrivacyInUsersyncAndRedirectUrl() {
+        // given
+        final UsersyncInfoTemplate template = UsersyncInfoTemplate.compile(createUsersyncMethod(
+                "http://url/{{gdpr}}/{{gdpr_consent}}?redir=",
+                "http://localhost:8000/setuid?bidder=adnxs&gdpr={{gdpr}}&gdpr_consent={{gdpr_consent}}"
+                        + "&us_privacy={{us_privacy}}&uid=$UID"));
+
+        // when
+        final UsersyncInfo result = template.render(Privacy.of("1", "consent$1", Ccpa.of("1YNN"), null));
+
+        // then
+        assertThat(result).isEqualTo(UsersyncInfo.of(
+                "http://url/1/consent%241?redir=http%3A%2F%2Flocalhost%3A8000%2Fsetuid%3Fbidder%3Dadnxs%26gdpr%3D1"
+                        + "%26gdpr_consent%3Dconsent%241%26us_privacy%3D1YNN%26f%3Di%26uid%3D%24UID",
+                "redirect", true));
+    }
+
+    @Test
+    public void renderShouldNotEncodeRedirectQueryParamsAfterLastQuestionMark() {
+        // given
+        final UsersyncInfoTemplate template = UsersyncInfoTemplate.compile(createUsersyncMethod(
+                "http://url/redirect=", "http://localhost:8000/setuid?gdpr={{gdpr}}?gdpr={{gdpr}}&c={{gdpr_consent}}"));
+
+        // when
+        final UsersyncInfo result = template.render(Privacy.of("1", "consent$1", Ccpa.EMPTY, null));
+
+        // then
+        assertThat(result.getUrl()).isEqualTo(
+                "http://url/redirect=http%3A%2F%2Flocalhost%3A8000%2Fsetuid%3Fgdpr%3D1?gdpr=1&f=i&c=consent$1");
+    }
+
+    @Test
+    public void renderShouldBeEqualToAssemblerResultForAllSupportedTemplates() {
+        // given
+        final List<Usersyncer.UsersyncMethod> usersyncMethods = Arrays.asList(
+                createUsersyncMethod("http://url/redirect=", null),
+                createUsersyncMethod("http://url/redirect=", "http://localhost:8000redirectUrl"),
+                createUsersyncMethod("http://url?redir=%26gdpr%3D{{gdpr}}%26gdpr_consent%3D{{gdpr_consent}}"
+                        + "%26us_privacy%3D{{us_privacy}}", null),
+                createUsersyncMethod("http://url/{{gdpr}}{{gdpr_consent}}{{us_privacy}}?{{gdpr",
+                        "http://localhost/setuid?bidder=a&gdpr={{gdpr}}&gdpr_consent={{gdpr_consent}}"
+                                + "&us_privacy={{us_privacy}}&f={uid}&uid=$UID"),
+                createUsersyncMethod("//url/sync?r=", "/setuid?a={{gdpr}}?b={{us_privacy}}?c={{gdpr_consent}}"),
+                createUsersyncMethod("//url/sync?r=", "/setuid?ü={{gdpr_consent}}&f=b"));
+        final List<Privacy> privacies = Arrays.asList(
+                Privacy.of(null, null, Ccpa.EMPTY, null),
+                Privacy.of("1", "BONciguONcjGKADACHENAOLS1rAHDAFAAEAASABQAMwAeACEAFw", Ccpa.of("1YNN"), null),
+                Privacy.of("0", "c+o/n=s&e%n#t", Ccpa.of("1 Y"), null),
+                Privacy.of("1", "consent?with=question", Ccpa.of("1YN{{gdpr}}"), null));
+
+        // when and then
+        for (Usersyncer.UsersyncMethod usersyncMethod : usersyncMethods) {
+            final UsersyncInfoTemplate template = UsersyncInfoTemplate.compile(usersyncMethod);
+            for (Privacy privacy : privacies) {
+                assertThat(template.render(privacy))
+                        .isEqualTo(UsersyncInfoAssembler.from(usersyncMethod).withPrivacy(privacy).assemble());
+            }
+        }
+    }
+
+    private static Usersyncer.UsersyncMethod createUsersyncMethod(String usersyncUrl, String redirectUrl) {
+        return Usersyncer.UsersyncMethod.of("redirect", usersyncUrl, redirectUrl, true);
+    }
+}
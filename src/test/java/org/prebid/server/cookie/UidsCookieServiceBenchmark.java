@@ -0,0 +1,64 @@
+package org.prebid.server.cookie;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures parsing and writing uids cookie with 50 families, as done on each auction and setuid request.
+ */
+public class UidsCookieServiceBenchmark extends VertxTest {
+
+    private static final int FAMILIES = 50;
+    private static final int MAX_COOKIE_SIZE_BYTES = 2048;
+
+    private UidsCookieService uidsCookieService;
+
+    private Map<String, String> cookies;
+
+    private UidsCookie uidsCookie;
+
+    @Before
+    public void setUp() {
+        uidsCookieService = new UidsCookieService(
+                "trp_optout", "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        for (int i = 0; i < FAMILIES; i++) {
+            uids.put("family" + i, new UidWithExpiry("b8e2a3f4-5c6d-47e8-9f01-" + (100000000000L + i),
+                    now.plusHours(i)));
+        }
+        final Uids cookieUids = Uids.builder().uids(uids).bday(now).build();
+
+        cookies = Collections.singletonMap("uids",
+                Base64.getUrlEncoder().encodeToString(jacksonMapper.encode(cookieUids).getBytes()));
+        uidsCookie = new UidsCookie(cookieUids, jacksonMapper);
+    }
+
+    @Test
+    public void parseCookieAndLookupThreeFamilies() {
+        MicroBenchmark.run("UidsCookieService.parseFromCookies 50 families, 3 lookups", () -> {
+            final UidsCookie parsed = uidsCookieService.parseFromCookies(cookies);
+            parsed.hasLiveUidFrom("family1");
+            parsed.hasLiveUidFrom("family20");
+            parsed.hasLiveUidFrom("family40");
+        });
+    }
+
+    @Test
+    public void writeCookieTrimmedToMaxSize() {
+        MicroBenchmark.run("UidsCookieService.toCookie 50 families trimmed to 2048 bytes", 2_000, 2_000,
+                () -> uidsCookieService.toCookie(uidsCookie));
+    }
+}
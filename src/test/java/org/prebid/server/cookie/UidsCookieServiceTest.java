@@ -22,6 +22,8 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
@@ -271,6 +273,44 @@ public class UidsCookieServiceTest extends VertxTest {
         assertThat(uidsCookie.uidFrom("audienceNetwork")).isNull();
     }
 
+    @Test
+    public void shouldParseUidsWithSameExpirationDatesAsDecodedCookie() throws IOException {
+        // given
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uidsWithExpiry = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            uidsWithExpiry.put("family" + i, new UidWithExpiry("uid" + i, now.plusDays(i - 25)));
+        }
+        final String encodedUids = encodeUids(Uids.builder().uids(uidsWithExpiry).build());
+
+        // when
+        final UidsCookie uidsCookie = uidsCookieService.parseFromCookies(singletonMap("uids", encodedUids));
+
+        // then
+        assertThat(uidsCookie.getCookieUids().getUids()).isEqualTo(decodeUids(encodedUids).getUids());
+        assertThat(uidsCookie.hasLiveUidFrom("family24")).isFalse();
+        assertThat(uidsCookie.hasLiveUidFrom("family26")).isTrue();
+    }
+
+    @Test
+    public void shouldTreatUidWithInvalidExpirationDateAsExpiredAndKeepOtherUids() {
+        // given
+        final String cookieValue = Base64.getUrlEncoder().encodeToString(("{\"tempUIDs\":{"
+                + "\"rubicon\":{\"uid\":\"rubiconUid\",\"expires\":\"invalid\"},"
+                + "\"adnxs\":{\"uid\":\"adnxsUid\",\"expires\":\"2999-01-01T00:00:00Z\"},"
+                + "\"appnexus\":null}}").getBytes());
+
+        // when
+        final UidsCookie uidsCookie = uidsCookieService.parseFromCookies(singletonMap("uids", cookieValue));
+
+        // then
+        assertThat(uidsCookie.uidFrom(RUBICON)).isEqualTo("rubiconUid");
+        assertThat(uidsCookie.hasLiveUidFrom(RUBICON)).isFalse();
+        assertThat(uidsCookie.uidFrom(ADNXS)).isEqualTo("adnxsUid");
+        assertThat(uidsCookie.hasLiveUidFrom(ADNXS)).isTrue();
+        assertThat(uidsCookie.getCookieUids().getUids()).containsOnlyKeys(RUBICON, ADNXS);
+    }
+
     @Test
     public void toCookieShouldEnforceMaxCookieSizeAndRemoveAUidWithCloserExpirationDate() throws IOException {
         // given
@@ -299,6 +339,43 @@ public class UidsCookieServiceTest extends VertxTest {
         assertThat(uids).hasSize(6);
     }
 
+    @Test
+    public void toCookieShouldEnforceMaxCookieSizeAndKeepUidsWithFurthestExpirationDate() throws IOException {
+        // given
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            uidsMap.put("family" + i, new UidWithExpiry("uid" + i, now.plusDays(i)));
+        }
+        final UidsCookie uidsCookie = new UidsCookie(Uids.builder().uids(uidsMap).build(), jacksonMapper);
+
+        final int maxCookieSizeBytes = 500;
+        uidsCookieService = new UidsCookieService(OPT_OUT_COOKIE_NAME, OPT_OUT_COOKIE_VALUE, null,
+                null, HOST_COOKIE_DOMAIN, 90, maxCookieSizeBytes, jacksonMapper);
+
+        // when
+        final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
+
+        // then
+        final byte[] cookieBytes = Base64.getUrlDecoder().decode(cookie.getValue());
+        assertThat(cookieBytes.length).isLessThanOrEqualTo(maxCookieSizeBytes);
+
+        final Map<String, UidWithExpiry> uids = decodeUids(cookie.getValue()).getUids();
+        final int keptUidsCount = uids.size();
+        assertThat(keptUidsCount).isPositive();
+        assertThat(uids.keySet()).containsOnly(IntStream.range(50 - keptUidsCount, 50)
+                .mapToObj(i -> "family" + i)
+                .toArray(String[]::new));
+
+        // one more UID would not fit
+        final UidsCookie uidsCookieWithOneMoreUid = new UidsCookie(Uids.builder()
+                .uids(IntStream.range(50 - keptUidsCount - 1, 50)
+                        .boxed()
+                        .collect(Collectors.toMap(i -> "family" + i, i -> uidsMap.get("family" + i))))
+                .build(), jacksonMapper);
+        assertThat(uidsCookieWithOneMoreUid.toJson().getBytes().length).isGreaterThan(maxCookieSizeBytes);
+    }
+
     @Test
     public void toCookieShouldReturnCookieWithExpectedValue() throws IOException {
         // given
@@ -1,8 +1,11 @@
 package org.prebid.server.deals;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.apache.http.HttpHeaders;
 import org.junit.Before;
@@ -50,6 +53,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -374,6 +378,7 @@ public class DeliveryStatsServiceTest extends VertxTest {
                 jacksonMapper);
 
         givenDeliveryProgressHttpResponse(httpClient, 200, null);
+        givenExecuteBlockingRunsImmediately();
 
         final DeliveryProgressReport deliveryProgressReport = DeliveryProgressReport.builder().reportId("1")
                 .lineItemStatus(emptySet())
@@ -403,6 +408,18 @@ public class DeliveryStatsServiceTest extends VertxTest {
         // verify Content-encoding header was added
         final MultiMap headers = headerCaptor.getValue();
         assertThat(headers.get(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        // verify body was compressed on worker thread
+        verify(vertx).executeBlocking(any(), eq(false), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenExecuteBlockingRunsImmediately() {
+        willAnswer(invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            ((Handler<Promise<Object>>) invocation.getArgument(0)).handle(promise);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(promise.future());
+            return null;
+        }).given(vertx).executeBlocking(any(), anyBoolean(), any());
     }
 
     private static String decompress(byte[] byteArray) {
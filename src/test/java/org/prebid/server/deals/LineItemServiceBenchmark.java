@@ -0,0 +1,208 @@
+package org.prebid.server.deals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Data;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Segment;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.deals.events.ApplicationEventService;
+import org.prebid.server.deals.model.DeepDebugLog;
+import org.prebid.server.deals.model.TxnLog;
+import org.prebid.server.deals.proto.DeliverySchedule;
+import org.prebid.server.deals.proto.LineItemMetaData;
+import org.prebid.server.deals.proto.Price;
+import org.prebid.server.deals.proto.Token;
+import org.prebid.server.log.CriteriaLogManager;
+import org.prebid.server.proto.openrtb.ext.request.ExtSite;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.settings.model.Account;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Measures matching an imp against line items of many accounts and bidders, as done for each imp of a deals auction.
+ */
+public class LineItemServiceBenchmark extends VertxTest {
+
+    private Clock clock;
+
+    private ZonedDateTime now;
+
+    private BidderCatalog bidderCatalog;
+
+    private AuctionContext auctionContext;
+
+    private Imp imp;
+
+    @Before
+    public void setUp() {
+        clock = Clock.fixed(Instant.parse("2019-07-26T10:00:00Z"), ZoneOffset.UTC);
+        now = ZonedDateTime.now(clock);
+
+        bidderCatalog = stubOnlyMock(BidderCatalog.class);
+        BDDMockito.given(bidderCatalog.isValidName(ArgumentMatchers.anyString())).willReturn(true);
+
+        final ObjectNode bidderParams = mapper.createObjectNode();
+        for (int i = 0; i < 3; i++) {
+            bidderParams.set("bidder" + i, mapper.createObjectNode().put("siteId", 123));
+        }
+        final ObjectNode prebid = mapper.createObjectNode();
+        prebid.set("bidder", bidderParams);
+        final ObjectNode impExt = mapper.createObjectNode();
+        impExt.set("prebid", prebid);
+        imp = Imp.builder()
+                .id("impId")
+                .banner(Banner.builder()
+                        .format(Collections.singletonList(Format.builder().w(300).h(250).build()))
+                        .pos(1)
+                        .build())
+                .ext(impExt)
+                .build();
+
+        auctionContext = AuctionContext.builder()
+                .account(Account.builder().id("account0").build())
+                .bidRequest(BidRequest.builder()
+                        .imp(Collections.singletonList(imp))
+                        .site(Site.builder()
+                                .domain("example.com")
+                                .page("https://example.com/sports")
+                                .ext(ExtSite.of(0, mapper.createObjectNode().put("section", "news")))
+                                .build())
+                        .user(User.builder()
+                                .data(Collections.singletonList(Data.builder()
+                                        .id("rubicon")
+                                        .segment(Collections.singletonList(Segment.builder().id("234").build()))
+                                        .build()))
+                                .ext(ExtUser.builder().data(mapper.createObjectNode().put("sport", "hockey")).build())
+                                .build())
+                        .build())
+                .txnLog(TxnLog.create())
+                .deepDebugLog(DeepDebugLog.create(false, clock))
+                .build();
+    }
+
+    @Test
+    public void findMatchingLineItemsPreMatching() {
+        // targeting service mock leaves line items without targeting, which are rejected without evaluation,
+        // so only pre-matching by account and bidder is measured
+        final TargetingService targetingService = stubOnlyMock(TargetingService.class);
+        for (int lineItemsCount : new int[]{1_000, 10_000, 100_000}) {
+            final LineItemService lineItemService = givenLineItemService(
+                    lineItemsCount, 100, 20, targetingService, index -> null);
+            MicroBenchmark.run("LineItemService.findMatchingLineItems pre-matching " + lineItemsCount
+                            + " line items", 5_000, 5_000,
+                    () -> lineItemService.findMatchingLineItems(auctionContext, imp));
+        }
+    }
+
+    @Test
+    public void findMatchingLineItemsTargeting() {
+        // all line items of the account are pre-matched and evaluate all of their 5-10 terminal expressions,
+        // the last one of which does not match
+        final LineItemService lineItemService = givenLineItemService(
+                1_000, 1_000, 3, new TargetingService(jacksonMapper), LineItemServiceBenchmark::givenTargeting);
+        MicroBenchmark.run("LineItemService.findMatchingLineItems targeting 1000 line items", 100, 100,
+                () -> lineItemService.findMatchingLineItems(auctionContext, imp));
+    }
+
+    private LineItemService givenLineItemService(int lineItemsCount, int lineItemsPerAccount, int sources,
+                                                 TargetingService targetingService,
+                                                 IntFunction<ObjectNode> targetingCreator) {
+        final LineItemService lineItemService = new LineItemService(
+                2,
+                targetingService,
+                bidderCatalog,
+                stubOnlyMock(CurrencyConversionService.class),
+                stubOnlyMock(ApplicationEventService.class),
+                "USD",
+                clock,
+                stubOnlyMock(CriteriaLogManager.class));
+
+        final List<LineItemMetaData> lineItems = new ArrayList<>(lineItemsCount);
+        for (int i = 0; i < lineItemsCount; i++) {
+            lineItems.add(givenLineItemMetaData(
+                    i, "account" + i / lineItemsPerAccount, "bidder" + i % sources, targetingCreator.apply(i)));
+        }
+        lineItemService.updateLineItems(lineItems, true, now);
+        return lineItemService;
+    }
+
+    private LineItemMetaData givenLineItemMetaData(int index, String accountId, String source, ObjectNode targeting) {
+        return LineItemMetaData.builder()
+                .lineItemId("lineItem" + index)
+                .dealId("deal" + index)
+                .status("active")
+                .accountId(accountId)
+                .source(source)
+                .price(Price.of(BigDecimal.ONE, "USD"))
+                .relativePriority(5)
+                .startTimeStamp(now.minusHours(1))
+                .endTimeStamp(now.plusHours(1))
+                .updatedTimeStamp(now)
+                .deliverySchedules(Collections.singletonList(DeliverySchedule.builder()
+                        .planId("plan" + index)
+                        .startTimeStamp(now.minusHours(1))
+                        .endTimeStamp(now.plusHours(1))
+                        .updatedTimeStamp(now)
+                        .tokens(Collections.singleton(Token.of(1, 100)))
+                        .build()))
+                .targeting(targeting)
+                .build();
+    }
+
+    private static ObjectNode givenTargeting(int index) {
+        final List<ObjectNode> terminals = new ArrayList<>();
+        terminals.add(terminal("adunit.size", "$intersects",
+                mapper.createArrayNode().add(mapper.createObjectNode().put("w", 300).put("h", 250))));
+        terminals.add(terminal("site.domain", "$in", mapper.createArrayNode().add("example.com").add("other.com")));
+        terminals.add(terminal("site.referrer", "$matches", mapper.getNodeFactory().textNode("*sports*")));
+        terminals.add(terminal("bidp.bidder0.siteId", "$in", mapper.createArrayNode().add(123).add(321)));
+        terminals.add(terminal("pos", "$in", mapper.createArrayNode().add(1).add(3)));
+        terminals.add(terminal("ufpd.sport", "$in", mapper.createArrayNode().add("hockey")));
+        terminals.add(terminal("sfpd.section", "$in", mapper.createArrayNode().add("news")));
+        terminals.add(terminal("segment.rubicon", "$intersects", mapper.createArrayNode().add("123").add("234")));
+        terminals.add(terminal("adunit.mediatype", "$intersects", mapper.createArrayNode().add("banner")));
+
+        final ArrayNode expressions = mapper.createArrayNode();
+        expressions.addAll(terminals.subList(0, 4 + index % 6));
+        expressions.add(terminal("adunit.mediatype", "$intersects", mapper.createArrayNode().add("video")));
+
+        final ObjectNode targeting = mapper.createObjectNode();
+        targeting.set("$and", expressions);
+        return targeting;
+    }
+
+    private static ObjectNode terminal(String category, String function, JsonNode value) {
+        final ObjectNode terminal = mapper.createObjectNode();
+        terminal.set(category, mapper.createObjectNode().set(function, value));
+        return terminal;
+    }
+
+    private static <T> T stubOnlyMock(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
@@ -63,7 +63,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -593,6 +595,82 @@ public class LineItemServiceTest extends VertxTest {
         assertThat(result.getLineItems()).isEmpty();
     }
 
+    @Test
+    public void findMatchingLineItemsShouldReturnOnlyLineItemsOfAccountAndBidder() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(emptyList());
+
+        givenTargetingService();
+
+        givenClock(now, now.plusMinutes(1));
+
+        givenBidderCatalog();
+
+        final List<DeliverySchedule> deliverySchedules = singletonList(givenDeliverySchedule("planId1",
+                now.minusHours(1), now.plusMinutes(1), singleton(Token.of(1, 100))));
+        final List<LineItemMetaData> planResponse = asList(
+                givenLineItemMetaData("lineItem1", "accountId", "rubicon", deliverySchedules, now),
+                givenLineItemMetaData("lineItem2", "accountId", "appnexus", deliverySchedules, now),
+                givenLineItemMetaData("lineItem3", "accountId", "pubmatic", deliverySchedules, now),
+                givenLineItemMetaData("lineItem4", "accountIdOther", "rubicon", deliverySchedules, now));
+
+        lineItemService.updateLineItems(planResponse, true);
+
+        final Imp imp = Imp.builder().id("imp1").ext(givenImpExt("rubicon", "appnexus")).build();
+
+        // when
+        final MatchLineItemsResult result = lineItemService.findMatchingLineItems(auctionContext, imp);
+
+        // then
+        assertThat(result.getLineItems()).extracting(LineItem::getLineItemId)
+                .containsOnly("lineItem1", "lineItem2");
+    }
+
+    @Test
+    public void findMatchingLineItemsShouldNotReturnInvalidatedLineItems() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(emptyList());
+
+        givenTargetingService();
+
+        givenClock(now, now.plusMinutes(1));
+
+        givenBidderCatalog();
+
+        final List<DeliverySchedule> deliverySchedules = singletonList(givenDeliverySchedule("planId1",
+                now.minusHours(1), now.plusMinutes(1), singleton(Token.of(1, 100))));
+        final List<LineItemMetaData> planResponse = asList(
+                givenLineItemMetaData("lineItem1", "accountId", "rubicon", deliverySchedules, now),
+                givenLineItemMetaData("lineItem2", "accountId", "rubicon", deliverySchedules, now));
+
+        lineItemService.updateLineItems(planResponse, true);
+        lineItemService.invalidateLineItemsByIds(singletonList("lineItem1"));
+
+        final Imp imp = Imp.builder().id("imp1").ext(givenImpExt("rubicon")).build();
+
+        // when
+        final MatchLineItemsResult result = lineItemService.findMatchingLineItems(auctionContext, imp);
+
+        // then
+        assertThat(result.getLineItems()).extracting(LineItem::getLineItemId).containsOnly("lineItem2");
+    }
+
+    @Test
+    public void accountHasDealsShouldReturnFalseWhenLineItemsWereInvalidated() {
+        // given
+        final List<LineItemMetaData> planResponse = singletonList(givenLineItemMetaData("lineItem1", "accountId",
+                "rubicon", singletonList(givenDeliverySchedule("planId1", now.minusHours(1), now.plusMinutes(1),
+                        singleton(Token.of(1, 100)))), now));
+
+        lineItemService.updateLineItems(planResponse, true, now);
+
+        // when
+        lineItemService.invalidateLineItems();
+
+        // then
+        assertThat(lineItemService.accountHasDeals("accountId", now)).isFalse();
+    }
+
     @Test
     public void findMatchingLineItemsShouldReturnEmptyListWhenNoBiddersMatched() {
         // given
@@ -795,7 +873,8 @@ public class LineItemServiceTest extends VertxTest {
                 .willReturn(TargetingDefinition.of(context -> false));
         given(targetingService.parseTargetingDefinition(any(), eq("id2")))
                 .willReturn(TargetingDefinition.of(context -> true));
-        given(targetingService.matchesTargeting(any(), any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.matchesTargeting(any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.candidates(any(), any())).willReturn(definition -> true);
 
         givenClock(now, now.plusMinutes(1));
 
@@ -832,6 +911,7 @@ public class LineItemServiceTest extends VertxTest {
 
         // then
         assertThat(result.getLineItems()).extracting(LineItem::getLineItemId).containsOnly("id2");
+        verify(targetingService).createRequestContext(same(auctionContext), same(imp));
 
         assertThat(auctionContext.getDeepDebugLog().entries()).containsOnly(
                 ExtTraceDeal.of("id1", ZonedDateTime.now(clock), Category.targeting,
@@ -842,6 +922,44 @@ public class LineItemServiceTest extends VertxTest {
                         "Matched Line Item id2 for bidder appnexus ready to serve. relPriority null"));
     }
 
+    @Test
+    public void findMatchingLineItemsShouldNotEvaluateTargetingRejectedByIndex() {
+        // given
+        final AuctionContext auctionContext = givenAuctionContext(emptyList());
+
+        final TargetingDefinition rejectedTargeting = TargetingDefinition.of(context -> true);
+        given(targetingService.parseTargetingDefinition(any(), eq("id1"))).willReturn(rejectedTargeting);
+        given(targetingService.parseTargetingDefinition(any(), eq("id2")))
+                .willReturn(TargetingDefinition.of(context -> true));
+        given(targetingService.matchesTargeting(any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.candidates(any(), any()))
+                .willReturn(definition -> definition != rejectedTargeting);
+
+        givenClock(now, now.plusMinutes(1));
+
+        givenBidderCatalog();
+
+        final List<DeliverySchedule> deliverySchedules = singletonList(givenDeliverySchedule("planId1",
+                now.minusHours(1), now.plusMinutes(1), singleton(Token.of(1, 100))));
+        final List<LineItemMetaData> planResponse = asList(
+                givenLineItemMetaData("id1", "accountId", "rubicon", deliverySchedules, now),
+                givenLineItemMetaData("id2", "accountId", "appnexus", deliverySchedules, now));
+
+        lineItemService.updateLineItems(planResponse, true);
+
+        final Imp imp = Imp.builder().id("imp1").ext(givenImpExt("rubicon", "appnexus")).build();
+
+        // when
+        final MatchLineItemsResult result = lineItemService.findMatchingLineItems(auctionContext, imp);
+
+        // then
+        assertThat(result.getLineItems()).extracting(LineItem::getLineItemId).containsOnly("id2");
+        verify(targetingService, never()).matchesTargeting(any(), same(rejectedTargeting));
+        assertThat(auctionContext.getDeepDebugLog().entries()).contains(
+                ExtTraceDeal.of("id1", ZonedDateTime.now(clock), Category.targeting,
+                        "Line Item id1 targeting did not match imp with id imp1"));
+    }
+
     @Test
     public void findMatchingLineItemsShouldFilterNullTargeting() {
         // given
@@ -851,7 +969,8 @@ public class LineItemServiceTest extends VertxTest {
                 .willReturn(null);
         given(targetingService.parseTargetingDefinition(any(), eq("id2")))
                 .willReturn(TargetingDefinition.of(context -> true));
-        given(targetingService.matchesTargeting(any(), any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.matchesTargeting(any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.candidates(any(), any())).willReturn(definition -> true);
 
         givenClock(now, now.plusMinutes(1));
 
@@ -1870,11 +1989,12 @@ public class LineItemServiceTest extends VertxTest {
     private void givenTargetingService() {
         given(targetingService.parseTargetingDefinition(any(), any()))
                 .willReturn(TargetingDefinition.of(context -> true));
-        given(targetingService.matchesTargeting(any(), any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.matchesTargeting(any(), any())).willAnswer(withEvaluatedTargeting());
+        given(targetingService.candidates(any(), any())).willReturn(definition -> true);
     }
 
     private Answer<Boolean> withEvaluatedTargeting() {
-        return invocation -> ((TargetingDefinition) invocation.getArgument(2)).getRootExpression().matches(null);
+        return invocation -> ((TargetingDefinition) invocation.getArgument(1)).getRootExpression().matches(null);
     }
 
     private void givenClock(ZonedDateTime... dateTimes) {
@@ -886,6 +886,51 @@ public class TargetingServiceTest extends VertxTest {
         assertThat(targetingService.matchesTargeting(auctionContext, imp, targetingDefinition)).isFalse();
     }
 
+    @Test
+    public void matchesTargetingShouldCompareInStringsIgnoringCase() {
+        // given
+        final TargetingDefinition targetingDefinition = TargetingDefinition.of(
+                new InStrings(category(Type.domain), asList("Lakers.NBA.com", "cnn.com")));
+
+        final BidRequest bidRequest = BidRequest.builder()
+                .site(Site.builder()
+                        .domain("LAKERS.nba.COM")
+                        .build())
+                .build();
+
+        final AuctionContext auctionContext = AuctionContext.builder()
+                .bidRequest(bidRequest)
+                .txnLog(TxnLog.create())
+                .build();
+
+        final Imp imp = Imp.builder().build();
+
+        // when and then
+        assertThat(targetingService.matchesTargeting(auctionContext, imp, targetingDefinition)).isTrue();
+    }
+
+    @Test
+    public void matchesTargetingShouldCompareIntersectsStringsIgnoringCase() {
+        // given
+        final TargetingDefinition targetingDefinition = TargetingDefinition.of(
+                new IntersectsStrings(category(Type.bidderParam, "rubicon.kw"), asList("Pop", "Rock")));
+
+        final BidRequest bidRequest = BidRequest.builder().build();
+
+        final AuctionContext auctionContext = AuctionContext.builder()
+                .bidRequest(bidRequest)
+                .txnLog(TxnLog.create())
+                .build();
+
+        final Imp imp = Imp.builder()
+                .ext(mapper.valueToTree(singletonMap("prebid", singletonMap("bidder",
+                        singletonMap("rubicon", singletonMap("kw", asList("Folk", "ROCK")))))))
+                .build();
+
+        // when and then
+        assertThat(targetingService.matchesTargeting(auctionContext, imp, targetingDefinition)).isTrue();
+    }
+
     private static JsonNode jsonFrom(String file) throws IOException {
         return mapper.readTree(TargetingServiceTest.class.getResourceAsStream(file));
     }
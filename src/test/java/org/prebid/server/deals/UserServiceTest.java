@@ -2,6 +2,9 @@ package org.prebid.server.deals;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -63,6 +66,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -84,6 +88,8 @@ public class UserServiceTest extends VertxTest {
     @Mock
     private HttpClient httpClient;
     @Mock
+    private Vertx vertx;
+    @Mock
     private Metrics metrics;
 
     private List<UserIdRule> userIdRules;
@@ -103,10 +109,12 @@ public class UserServiceTest extends VertxTest {
         userIdRules = singletonList(UserIdRule.of("khaos", "uid", "rubicon"));
 
         userService = new UserService(
-                UserDetailsProperties.of(USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, userIdRules),
+                UserDetailsProperties.of(
+                        USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, userIdRules, 0L, 0),
                 DATA_CENTER_REGION,
                 lineItemService,
                 httpClient,
+                vertx,
                 clock,
                 metrics,
                 jacksonMapper);
@@ -144,10 +152,11 @@ public class UserServiceTest extends VertxTest {
 
         userService = new UserService(
                 UserDetailsProperties.of(
-                        USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, ruleWithMissingLocation),
+                        USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, ruleWithMissingLocation, 0L, 0),
                 DATA_CENTER_REGION,
                 lineItemService,
                 httpClient,
+                vertx,
                 clock,
                 metrics,
                 jacksonMapper);
@@ -189,10 +198,11 @@ public class UserServiceTest extends VertxTest {
         given(httpClient.post(anyString(), anyString(), anyLong())).willReturn(Future.failedFuture("something"));
 
         userService = new UserService(
-                UserDetailsProperties.of(USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, 600L, userIdRules),
+                UserDetailsProperties.of(USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, 600L, userIdRules, 0L, 0),
                 DATA_CENTER_REGION,
                 lineItemService,
                 httpClient,
+                vertx,
                 clock,
                 metrics,
                 jacksonMapper);
@@ -375,10 +385,11 @@ public class UserServiceTest extends VertxTest {
 
         userService = new UserService(
                 UserDetailsProperties.of(
-                        USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, ruleWithMissingLocation),
+                        USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, ruleWithMissingLocation, 0L, 0),
                 DATA_CENTER_REGION,
                 lineItemService,
                 httpClient,
+                vertx,
                 clock,
                 metrics,
                 jacksonMapper);
@@ -464,6 +475,197 @@ public class UserServiceTest extends VertxTest {
                         .build()));
     }
 
+    @Test
+    public void getUserDetailsShouldReturnCachedUserDetailsWhenCacheIsEnabled() {
+        // given
+        givenCachingUserService();
+
+        given(httpClient.post(anyString(), anyString(), anyLong())).willReturn(
+                Future.succeededFuture(
+                        HttpClientResponse.of(200, null, jacksonMapper.encode(givenUserDetailsResponse()))));
+
+        final AuctionContext secondAuctionContext = auctionContext.toBuilder().debugHttpCalls(new HashMap<>()).build();
+
+        // when
+        final Future<UserDetails> firstResult = userService.getUserDetails(auctionContext, timeout);
+        final Future<UserDetails> secondResult = userService.getUserDetails(secondAuctionContext, timeout);
+
+        // then
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_miss));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_hit));
+
+        assertThat(secondAuctionContext.getDebugHttpCalls().get("userservice"))
+                .isEqualTo(auctionContext.getDebugHttpCalls().get("userservice"))
+                .isNotNull();
+        assertThat(firstResult.result()).isEqualTo(secondResult.result())
+                .isEqualTo(UserDetails.of(
+                        singletonList(UserData.of("1", "rubicon", singletonList(Segment.of("2222")))),
+                        singletonList("L-1111")));
+    }
+
+    @Test
+    public void getUserDetailsShouldJoinRequestInProgressWhenCacheIsEnabled() {
+        // given
+        givenCachingUserService();
+
+        final Promise<HttpClientResponse> responsePromise = Promise.promise();
+        given(httpClient.post(anyString(), anyString(), anyLong())).willReturn(responsePromise.future());
+
+        // when
+        final Future<UserDetails> firstResult = userService.getUserDetails(auctionContext, timeout);
+        final Future<UserDetails> secondResult = userService.getUserDetails(auctionContext, timeout);
+        final boolean completedBeforeResponse = firstResult.isComplete() || secondResult.isComplete();
+        responsePromise.complete(HttpClientResponse.of(200, null, jacksonMapper.encode(givenUserDetailsResponse())));
+
+        // then
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_miss));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_coalesced));
+
+        assertThat(completedBeforeResponse).isFalse();
+        assertThat(firstResult.succeeded()).isTrue();
+        assertThat(secondResult.result()).isEqualTo(firstResult.result());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void getUserDetailsShouldFailJoinedRequestWhenItsOwnDeadlineComesFirst() {
+        // given
+        givenCachingUserService();
+
+        final Promise<HttpClientResponse> responsePromise = Promise.promise();
+        given(httpClient.post(anyString(), anyString(), anyLong())).willReturn(responsePromise.future());
+
+        final Timeout shortTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()))
+                .create(50L);
+        final AuctionContext followerContext = auctionContext.toBuilder().debugHttpCalls(new HashMap<>()).build();
+
+        // when
+        final Future<UserDetails> leaderResult = userService.getUserDetails(auctionContext, timeout);
+        final Future<UserDetails> followerResult = userService.getUserDetails(followerContext, shortTimeout);
+
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(eq(50L), timerHandlerCaptor.capture());
+        timerHandlerCaptor.getValue().handle(1L);
+        final boolean leaderCompletedBeforeResponse = leaderResult.isComplete();
+        responsePromise.complete(HttpClientResponse.of(200, null, jacksonMapper.encode(givenUserDetailsResponse())));
+
+        // then
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_coalesced));
+
+        assertTrue(followerResult.failed());
+        assertThat(followerResult.cause()).isInstanceOf(TimeoutException.class);
+        assertThat(leaderCompletedBeforeResponse).isFalse();
+        assertThat(leaderResult.succeeded()).isTrue();
+    }
+
+    @Test
+    public void getUserDetailsShouldReturnCachedFailureWhenCacheIsEnabled() {
+        // given
+        givenCachingUserService();
+
+        given(httpClient.post(anyString(), anyString(), anyLong()))
+                .willReturn(Future.failedFuture(new TimeoutException("Timeout has been exceeded")));
+
+        // when
+        userService.getUserDetails(auctionContext, timeout);
+        final Future<UserDetails> result = userService.getUserDetails(auctionContext, timeout);
+
+        // then
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_hit));
+
+        assertTrue(result.failed());
+        assertThat(result.cause())
+                .isInstanceOf(TimeoutException.class)
+                .hasMessage("Timeout has been exceeded");
+    }
+
+    @Test
+    public void getUserDetailsShouldNotCacheTimeoutCausedByAuctionDeadlineWhenCacheIsEnabled() {
+        // given
+        givenCachingUserService();
+
+        given(httpClient.post(anyString(), anyString(), anyLong())).willReturn(
+                Future.failedFuture(new TimeoutException("Timeout has been exceeded")),
+                Future.succeededFuture(
+                        HttpClientResponse.of(200, null, jacksonMapper.encode(givenUserDetailsResponse()))));
+
+        final Timeout shortTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()))
+                .create(100L);
+
+        // when
+        final Future<UserDetails> firstResult = userService.getUserDetails(auctionContext, shortTimeout);
+        final Future<UserDetails> secondResult = userService.getUserDetails(auctionContext, timeout);
+
+        // then
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(100L));
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics, times(2)).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_miss));
+
+        assertTrue(firstResult.failed());
+        assertThat(secondResult.succeeded()).isTrue();
+    }
+
+    @Test
+    public void getUserDetailsShouldRetryJoinedRequestWhenRequestInProgressTimedOutByAuctionDeadline() {
+        // given
+        givenCachingUserService();
+
+        final Promise<HttpClientResponse> responsePromise = Promise.promise();
+        given(httpClient.post(anyString(), anyString(), anyLong())).willReturn(
+                responsePromise.future(),
+                Future.succeededFuture(
+                        HttpClientResponse.of(200, null, jacksonMapper.encode(givenUserDetailsResponse()))));
+
+        final Timeout shortTimeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneId.systemDefault()))
+                .create(100L);
+
+        // when
+        final Future<UserDetails> firstResult = userService.getUserDetails(auctionContext, shortTimeout);
+        final Future<UserDetails> secondResult = userService.getUserDetails(auctionContext, timeout);
+        responsePromise.fail(new TimeoutException("Timeout has been exceeded"));
+
+        // then
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(100L));
+        verify(httpClient).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_coalesced));
+
+        assertTrue(firstResult.failed());
+        assertThat(secondResult.succeeded()).isTrue();
+    }
+
+    @Test
+    public void getUserDetailsShouldRequestUserDetailsAgainAfterWinEventWhenCacheIsEnabled() {
+        // given
+        givenCachingUserService();
+
+        given(lineItemService.getLineItemById(any())).willReturn(LineItem.of(
+                LineItemMetaData.builder()
+                        .source("rubicon")
+                        .updatedTimeStamp(now)
+                        .frequencyCaps(singletonList(FrequencyCap.builder().fcapId("213").build()))
+                        .build(),
+                null, null, ZonedDateTime.now(clock)));
+
+        given(httpClient.post(eq(USER_DETAILS_ENDPOINT), anyString(), anyLong())).willReturn(
+                Future.succeededFuture(
+                        HttpClientResponse.of(200, null, jacksonMapper.encode(givenUserDetailsResponse()))));
+        given(httpClient.post(eq(WIN_EVENT_ENDPOINT), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        userService.getUserDetails(auctionContext, timeout);
+        userService.processWinEvent("lineItem1", "bidId", uidsCookie);
+        userService.getUserDetails(auctionContext, timeout);
+
+        // then
+        verify(httpClient, times(2)).post(eq(USER_DETAILS_ENDPOINT), anyString(), eq(CONFIG_TIMEOUT));
+        verify(metrics, times(2)).updateUserDetailsCacheMetric(eq(MetricName.user_details_cache_miss));
+    }
+
     @Test
     public void processWinEventShouldCallMetricsPreparationFailedMetricWhenHttpClientWhenMetaDataIsMissing() {
         // given
@@ -595,4 +797,23 @@ public class UserServiceTest extends VertxTest {
 
         assertThat(capturedRequest).isEqualToIgnoringGivenFields(expectedRequestWithoutWinTime, "winEventDateTime");
     }
+
+    private void givenCachingUserService() {
+        userService = new UserService(
+                UserDetailsProperties.of(
+                        USER_DETAILS_ENDPOINT, WIN_EVENT_ENDPOINT, CONFIG_TIMEOUT, userIdRules, 60000L, 100),
+                DATA_CENTER_REGION,
+                lineItemService,
+                httpClient,
+                vertx,
+                clock,
+                metrics,
+                jacksonMapper);
+    }
+
+    private static UserDetailsResponse givenUserDetailsResponse() {
+        return UserDetailsResponse.of(User.of(
+                singletonList(UserData.of("1", "rubicon", singletonList(Segment.of("2222")))),
+                ExtUser.of(singletonList("L-1111"))));
+    }
 }
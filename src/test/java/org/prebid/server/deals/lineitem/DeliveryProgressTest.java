@@ -22,6 +22,9 @@ import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
@@ -234,6 +237,45 @@ public class DeliveryProgressTest extends VertxTest {
                 .containsOnly(Tuple.tuple("win", 1L));
     }
 
+    @Test
+    public void recordWinEventShouldNotDuplicateEventWhenRecordedConcurrently() throws InterruptedException {
+        // given
+        final DeliveryProgress deliveryProgress = DeliveryProgress.of(now, lineItemService);
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            final String lineItemId = "lineItemId" + i % 2;
+            executorService.execute(() -> deliveryProgress.recordWinEvent(lineItemId));
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(deliveryProgress.getLineItemStatuses().values())
+                .flatExtracting(LineItemStatus::getEvents)
+                .extracting(Event::getType, event -> event.getCount().sum())
+                .containsExactly(Tuple.tuple("win", 500L), Tuple.tuple("win", 500L));
+    }
+
+    @Test
+    public void mergeFromShouldNotShareEventCountersWithMergedDeliveryProgress() {
+        // given
+        final DeliveryProgress overallDeliveryProgress = DeliveryProgress.of(now, lineItemService);
+        overallDeliveryProgress.recordWinEvent("lineItemId1");
+
+        final DeliveryProgress currentDeliveryProgress = DeliveryProgress.of(now, lineItemService);
+        currentDeliveryProgress.recordWinEvent("lineItemId1");
+
+        // when
+        overallDeliveryProgress.copyWithOriginalPlans().mergeFrom(currentDeliveryProgress);
+
+        // then
+        assertThat(overallDeliveryProgress.getLineItemStatuses().get("lineItemId1").getEvents())
+                .extracting(Event::getType, event -> event.getCount().sum())
+                .containsOnly(Tuple.tuple("win", 1L));
+    }
+
     @Test
     public void upsertPlanReferenceFromLineItemShouldInsertReferenceToNotExistingLineItemStatus() {
         // given
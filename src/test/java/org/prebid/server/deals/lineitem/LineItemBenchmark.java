@@ -0,0 +1,49 @@
+package org.prebid.server.deals.lineitem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.deals.proto.DeliverySchedule;
+import org.prebid.server.deals.proto.LineItemMetaData;
+import org.prebid.server.deals.proto.Token;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+/**
+ * Measures spending tokens of the same line item from 8 threads at once, like 8 event loops serving deals
+ * of a hot line item.
+ */
+public class LineItemBenchmark {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2019, 7, 26, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private LineItem lineItem;
+
+    @Before
+    public void setUp() {
+        lineItem = LineItem.of(
+                LineItemMetaData.builder()
+                        .lineItemId("lineItemId")
+                        .startTimeStamp(NOW.minusDays(1))
+                        .endTimeStamp(NOW.plusDays(1))
+                        .deliverySchedules(Collections.singletonList(DeliverySchedule.builder()
+                                .planId("planId")
+                                .startTimeStamp(NOW)
+                                .endTimeStamp(NOW.plusHours(1))
+                                .updatedTimeStamp(NOW)
+                                .tokens(Collections.singleton(Token.of(1, 100_000_000)))
+                                .build()))
+                        .build(),
+                null,
+                null,
+                NOW);
+    }
+
+    @Test
+    public void incSpentTokenFrom8Threads() {
+        MicroBenchmark.runConcurrently("LineItem.incSpentToken", 8, 50_000, 200_000,
+                () -> lineItem.incSpentToken(NOW));
+    }
+}
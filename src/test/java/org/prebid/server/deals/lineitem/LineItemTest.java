@@ -0,0 +1,103 @@
+package org.prebid.server.deals.lineitem;
+
+import org.junit.Test;
+import org.prebid.server.deals.proto.DeliverySchedule;
+import org.prebid.server.deals.proto.LineItemMetaData;
+import org.prebid.server.deals.proto.Token;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LineItemTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.ofInstant(
+            Instant.parse("2019-07-26T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    public void incSpentTokenShouldMoveReadyAtByTokenInterval() {
+        // given
+        final LineItem lineItem = givenLineItem(60);
+
+        // when
+        lineItem.incSpentToken(NOW);
+        lineItem.incSpentToken(NOW, 500);
+
+        // then
+        assertThat(lineItem.getReadyAt()).isEqualTo(NOW.plusMinutes(2).plusNanos(500_000_000));
+        assertThat(lineItem.isReadyAt(NOW.plusMinutes(2))).isFalse();
+        assertThat(lineItem.isReadyAt(NOW.plusMinutes(2).plusSeconds(1))).isTrue();
+    }
+
+    @Test
+    public void incSpentTokenShouldSetReadyAtToNeverWhenAllTokensAreSpent() {
+        // given
+        final LineItem lineItem = givenLineItem(1);
+
+        // when
+        lineItem.incSpentToken(NOW);
+
+        // then
+        assertThat(lineItem.getReadyAt()).isNull();
+        assertThat(lineItem.isReadyAt(NOW.plusYears(1))).isFalse();
+    }
+
+    @Test
+    public void incSpentTokenShouldCalculateReadyAtFromAllTokensSpentConcurrently() throws InterruptedException {
+        // given
+        final LineItem lineItem = givenLineItem(36000);
+
+        final int threads = 8;
+        final int tokensPerThread = 1000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < tokensPerThread; j++) {
+                    lineItem.incSpentToken(NOW);
+                }
+            });
+        }
+        start.countDown();
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(lineItem.getActiveDeliveryPlan().getSpentTokens()).isEqualTo(threads * tokensPerThread);
+        assertThat(lineItem.getReadyAt()).isEqualTo(NOW.plusSeconds(threads * tokensPerThread / 10));
+    }
+
+    private static LineItem givenLineItem(int tokensPerHour) {
+        return LineItem.of(
+                LineItemMetaData.builder()
+                        .lineItemId("lineItemId")
+                        .startTimeStamp(NOW.minusDays(1))
+                        .endTimeStamp(NOW.plusDays(1))
+                        .deliverySchedules(singletonList(DeliverySchedule.builder()
+                                .planId("planId")
+                                .startTimeStamp(NOW)
+                                .endTimeStamp(NOW.plusHours(1))
+                                .updatedTimeStamp(NOW)
+                                .tokens(singleton(Token.of(1, tokensPerHour)))
+                                .build()))
+                        .build(),
+                null,
+                null,
+                NOW);
+    }
+}
@@ -0,0 +1,390 @@
+package org.prebid.server.deals.simulation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Publisher;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.deals.DeliveryProgressReportFactory;
+import org.prebid.server.deals.DeliveryStatsService;
+import org.prebid.server.deals.TargetingService;
+import org.prebid.server.deals.events.ApplicationEventService;
+import org.prebid.server.deals.lineitem.DeliveryPlan;
+import org.prebid.server.deals.lineitem.LineItem;
+import org.prebid.server.deals.model.DeepDebugLog;
+import org.prebid.server.deals.model.DeliveryProgressProperties;
+import org.prebid.server.deals.model.TxnLog;
+import org.prebid.server.deals.proto.LineItemMetaData;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.log.CriteriaLogManager;
+import org.prebid.server.model.CaseInsensitiveMultiMap;
+import org.prebid.server.model.HttpRequestContext;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+import org.prebid.server.settings.model.Account;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Replays recorded bid requests through deals simulation mode as fast as possible and reports
+ * throughput, pacing accuracy and allocation per auction.
+ * <p>
+ * Line items are taken from the recorded planner response and every auction goes through
+ * {@link SimulationAwareLineItemService} matching and {@link SimulationAwareDeliveryProgressService} accounting
+ * with the simulated time passed in "pg-sim-timestamp" header, as it does in simulation mode. Planner, bidders and
+ * User Data Store are not called: the best matched line item of each imp is considered as sent to client
+ * and users are considered as not frequency capped.
+ * <p>
+ * Simulated time starts at the given moment and advances by the given interval on every auction regardless
+ * of the number of threads. Only replay in a single thread is deterministic: with more threads auctions
+ * and plans advancing are not ordered by simulated time, so delivery may slightly differ from run to run.
+ * Use multiple threads to measure throughput and a single thread to compare delivery.
+ * <p>
+ * Could be run from the test classpath:
+ * <pre>
+ * DealsReplayHarness planner-response.json bid-requests.jsonl 2019-10-10T00:00:00Z [auctions] [threads]
+ *     [simulated-auction-interval-ms]
+ * </pre>
+ * where each line of bid requests file is an OpenRTB2 request with bidders in imp.ext.prebid.bidder
+ * and account in site or app publisher id.
+ */
+public class DealsReplayHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(DealsReplayHarness.class);
+
+    private static final TypeReference<List<LineItemMetaData>> LINE_ITEM_METADATA_TYPE_REFERENCE
+            = new TypeReference<List<LineItemMetaData>>() {
+            };
+
+    private static final DateTimeFormatter UTC_MILLIS_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .toFormatter();
+
+    private static final String PG_SIM_TIMESTAMP = "pg-sim-timestamp";
+    private static final String AD_SERVER_CURRENCY = "USD";
+    private static final long PLAN_ADVANCE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final SimulationAwareLineItemService lineItemService;
+    private final SimulationAwareDeliveryProgressService deliveryProgressService;
+    private final List<String> lineItemIds;
+    private final long startMillis;
+    private final Clock clock;
+
+    private volatile long nextPlanAdvanceMillis;
+
+    public DealsReplayHarness(List<LineItemMetaData> planResponse, ZonedDateTime start, JacksonMapper mapper) {
+        startMillis = start.toInstant().toEpochMilli();
+        clock = Clock.fixed(start.toInstant(), ZoneOffset.UTC);
+        lineItemIds = planResponse.stream()
+                .map(LineItemMetaData::getLineItemId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        final BidderCatalog bidderCatalog = Mockito.mock(BidderCatalog.class);
+        BDDMockito.given(bidderCatalog.isValidName(ArgumentMatchers.anyString())).willReturn(true);
+        final CriteriaLogManager criteriaLogManager = new CriteriaLogManager(mapper);
+
+        lineItemService = new SimulationAwareLineItemService(
+                Integer.MAX_VALUE,
+                new TargetingService(mapper),
+                bidderCatalog,
+                new CurrencyConversionService(null),
+                Mockito.mock(ApplicationEventService.class),
+                AD_SERVER_CURRENCY,
+                clock,
+                criteriaLogManager);
+        deliveryProgressService = new SimulationAwareDeliveryProgressService(
+                DeliveryProgressProperties.of(TimeUnit.DAYS.toSeconds(1), 10),
+                lineItemService,
+                Mockito.mock(DeliveryStatsService.class),
+                Mockito.mock(DeliveryProgressReportFactory.class),
+                0L,
+                clock,
+                criteriaLogManager);
+
+        lineItemService.updateLineItems(planResponse, true, start);
+        advancePlans(start);
+        nextPlanAdvanceMillis = startMillis + PLAN_ADVANCE_INTERVAL_MILLIS;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: DealsReplayHarness <planner-response.json> "
+                    + "<bid-requests.jsonl> <simulation-start> [auctions] [threads] [simulated-auction-interval-ms]");
+        }
+
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final List<LineItemMetaData> planResponse = mapper.decodeValue(
+                new String(Files.readAllBytes(Paths.get(args[0]))), LINE_ITEM_METADATA_TYPE_REFERENCE);
+        final List<BidRequest> bidRequests = Files.readAllLines(Paths.get(args[1])).stream()
+                .filter(line -> !line.trim().isEmpty())
+                .map(line -> mapper.decodeValue(line, BidRequest.class))
+                .collect(Collectors.toList());
+        final ZonedDateTime start = ZonedDateTime.parse(args[2]);
+        final long auctions = args.length > 3 ? Long.parseLong(args[3]) : bidRequests.size();
+        final int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        final long auctionIntervalMillis = args.length > 5 ? Long.parseLong(args[5]) : 1L;
+
+        final Report report = new DealsReplayHarness(planResponse, start, mapper)
+                .replay(bidRequests, auctions, threads, auctionIntervalMillis);
+
+        logger.info("Deals replay report:\n{0}", toPrettyJson(mapper, report));
+    }
+
+    /**
+     * Replays given number of auctions from bid requests (repeating them if needed) in the given number of threads
+     * and returns {@link Report} of the replay.
+     */
+    public Report replay(List<BidRequest> bidRequests, long auctions, int threads, long auctionIntervalMillis)
+            throws InterruptedException {
+
+        final List<BidRequest> preparedBidRequests = bidRequests.stream()
+                .map(DealsReplayHarness::withUserNotFrequencyCapped)
+                .collect(Collectors.toList());
+
+        final AtomicLong nextAuction = new AtomicLong();
+        final LongAdder impsWithDeals = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final boolean allocationMeasured = isAllocationMeasured(threadMXBean);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                final long threadId = Thread.currentThread().getId();
+                final long allocatedBefore = allocationMeasured ? allocatedBytes(threadMXBean, threadId) : 0;
+
+                long auction;
+                while ((auction = nextAuction.getAndIncrement()) < auctions) {
+                    final BidRequest bidRequest = preparedBidRequests.get((int) (auction % preparedBidRequests.size()));
+                    final long nowMillis = startMillis + auction * auctionIntervalMillis;
+                    advancePlansIfNeeded(nowMillis);
+                    impsWithDeals.add(runAuction(bidRequest, toZonedDateTime(nowMillis)));
+                }
+
+                if (allocationMeasured) {
+                    allocatedBytes.add(allocatedBytes(threadMXBean, threadId) - allocatedBefore);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.DAYS);
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        final ZonedDateTime end = toZonedDateTime(startMillis + auctions * auctionIntervalMillis);
+        return Report.of(
+                auctions,
+                impsWithDeals.sum(),
+                auctions * TimeUnit.SECONDS.toNanos(1) / (double) Math.max(elapsedNanos, 1),
+                allocationMeasured && auctions > 0 ? allocatedBytes.sum() / auctions : null,
+                pacings(end));
+    }
+
+    /**
+     * Runs auction the way deals are processed in simulation mode and returns the number of imps
+     * with line item sent to client.
+     */
+    private int runAuction(BidRequest bidRequest, ZonedDateTime now) {
+        final AuctionContext auctionContext = AuctionContext.builder()
+                .httpRequest(HttpRequestContext.builder()
+                        .headers(CaseInsensitiveMultiMap.builder()
+                                .add(PG_SIM_TIMESTAMP, UTC_MILLIS_FORMATTER.format(now))
+                                .build())
+                        .build())
+                .bidRequest(bidRequest)
+                .account(Account.empty(accountId(bidRequest)))
+                .txnLog(TxnLog.create())
+                .deepDebugLog(DeepDebugLog.create(false, clock))
+                .build();
+
+        if (!lineItemService.accountHasDeals(auctionContext)) {
+            return 0;
+        }
+
+        final TxnLog txnLog = auctionContext.getTxnLog();
+        int impsWithDeals = 0;
+        for (final Imp imp : bidRequest.getImp()) {
+            final List<LineItem> lineItems = lineItemService.findMatchingLineItems(auctionContext, imp)
+                    .getLineItems();
+            if (!lineItems.isEmpty()) {
+                txnLog.lineItemSentToClientAsTopMatch().add(lineItems.get(0).getLineItemId());
+                impsWithDeals++;
+            }
+        }
+
+        deliveryProgressService.processAuctionEvent(auctionContext);
+        return impsWithDeals;
+    }
+
+    /**
+     * Advances line items plans once per simulated minute, similar to scheduled plans advancing.
+     */
+    private void advancePlansIfNeeded(long nowMillis) {
+        if (nowMillis < nextPlanAdvanceMillis) {
+            return;
+        }
+
+        synchronized (this) {
+            if (nowMillis >= nextPlanAdvanceMillis) {
+                advancePlans(toZonedDateTime(nowMillis));
+                nextPlanAdvanceMillis = nowMillis + PLAN_ADVANCE_INTERVAL_MILLIS;
+            }
+        }
+    }
+
+    private void advancePlans(ZonedDateTime now) {
+        lineItemService.advanceToNextPlan(now);
+        // the same as delivery update event does
+        deliveryProgressService.processDeliveryProgressUpdateEvent();
+    }
+
+    /**
+     * Returns {@link LineItemPacing} of each line item active plan by the given time.
+     */
+    private Map<String, LineItemPacing> pacings(ZonedDateTime end) {
+        final Map<String, LineItemPacing> pacings = new TreeMap<>();
+        for (final String lineItemId : lineItemIds) {
+            final LineItem lineItem = lineItemService.getLineItemById(lineItemId);
+            final DeliveryPlan deliveryPlan = lineItem != null ? lineItem.getActiveDeliveryPlan() : null;
+            if (deliveryPlan != null) {
+                pacings.put(lineItemId, pacing(deliveryPlan, end));
+            }
+        }
+        return pacings;
+    }
+
+    private static LineItemPacing pacing(DeliveryPlan deliveryPlan, ZonedDateTime end) {
+        final long planMillis = Duration.between(
+                deliveryPlan.getStartTimeStamp(), deliveryPlan.getEndTimeStamp()).toMillis();
+        final long elapsedMillis = Duration.between(deliveryPlan.getStartTimeStamp(), end).toMillis();
+        final double planElapsed = planMillis > 0
+                ? Math.min(Math.max(elapsedMillis / (double) planMillis, 0), 1)
+                : 1;
+
+        final long spentTokens = deliveryPlan.getSpentTokens();
+        final long expectedTokens = (long) Math.floor(deliveryPlan.getTotalTokens() * planElapsed);
+        return LineItemPacing.of(
+                deliveryPlan.getPlanId(),
+                spentTokens,
+                expectedTokens,
+                expectedTokens > 0 ? spentTokens / (double) expectedTokens : null);
+    }
+
+    /**
+     * Sets empty list of frequency caps reached by user, as if it was returned by User Data Store.
+     */
+    private static BidRequest withUserNotFrequencyCapped(BidRequest bidRequest) {
+        final User user = bidRequest.getUser();
+        final ExtUser extUser = user != null ? user.getExt() : null;
+        final ExtUser.ExtUserBuilder extUserBuilder = extUser != null ? extUser.toBuilder() : ExtUser.builder();
+        final User.UserBuilder userBuilder = user != null ? user.toBuilder() : User.builder();
+
+        return bidRequest.toBuilder()
+                .user(userBuilder.ext(extUserBuilder.fcapIds(Collections.emptyList()).build()).build())
+                .build();
+    }
+
+    private static String accountId(BidRequest bidRequest) {
+        final Site site = bidRequest.getSite();
+        final App app = bidRequest.getApp();
+        final Publisher publisher = site != null ? site.getPublisher() : app != null ? app.getPublisher() : null;
+        return publisher != null ? publisher.getId() : null;
+    }
+
+    private static ZonedDateTime toZonedDateTime(long epochMillis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static boolean isAllocationMeasured(ThreadMXBean threadMXBean) {
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled();
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadMXBean, long threadId) {
+        return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(threadId);
+    }
+
+    private static String toPrettyJson(JacksonMapper mapper, Report report) throws JsonProcessingException {
+        return mapper.mapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    public static class Report {
+
+        long auctions;
+
+        long impsWithDeals;
+
+        double auctionsPerSecond;
+
+        /**
+         * Null if allocation could not be measured in this JVM.
+         */
+        Long allocatedBytesPerAuction;
+
+        Map<String, LineItemPacing> lineItems;
+
+        /**
+         * Returns spent tokens of all line items relative to the expected ones or null if none were expected.
+         */
+        public Double getPacingAccuracy() {
+            final long expectedTokens = lineItems.values().stream().mapToLong(LineItemPacing::getExpectedTokens).sum();
+            final long spentTokens = lineItems.values().stream().mapToLong(LineItemPacing::getSpentTokens).sum();
+            return expectedTokens > 0 ? spentTokens / (double) expectedTokens : null;
+        }
+    }
+
+    /**
+     * Tokens spent from the line item active plan against the ones expected to be spent
+     * by the end of replay if delivery goes evenly through the plan.
+     */
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    public static class LineItemPacing {
+
+        String planId;
+
+        long spentTokens;
+
+        long expectedTokens;
+
+        Double accuracy;
+    }
+}
@@ -0,0 +1,72 @@
+package org.prebid.server.deals.simulation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.iab.openrtb.request.BidRequest;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.deals.proto.LineItemMetaData;
+import org.prebid.server.util.ResourceUtil;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DealsReplayHarnessTest extends VertxTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.ofInstant(
+            Instant.parse("2019-10-10T00:00:00Z"), ZoneOffset.UTC);
+
+    private List<LineItemMetaData> planResponse;
+    private List<BidRequest> bidRequests;
+
+    @Before
+    public void setUp() throws IOException {
+        planResponse = jacksonMapper.decodeValue(
+                ResourceUtil.readFromClasspath("org/prebid/server/deals/simulation/test-replay-planner-response.json"),
+                new TypeReference<List<LineItemMetaData>>() {
+                });
+        bidRequests = Arrays.stream(ResourceUtil.readFromClasspath(
+                "org/prebid/server/deals/simulation/test-replay-bid-requests.jsonl").split("\n"))
+                .map(line -> jacksonMapper.decodeValue(line, BidRequest.class))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void replayShouldDeliverLineItemTokensEvenlyThroughPlan() throws InterruptedException {
+        // when
+        final DealsReplayHarness.Report result = new DealsReplayHarness(planResponse, START, jacksonMapper)
+                .replay(bidRequests, 3600, 1, 1000L);
+
+        // then
+        assertThat(result.getAuctions()).isEqualTo(3600);
+        assertThat(result.getImpsWithDeals()).isEqualTo(60);
+        assertThat(result.getAuctionsPerSecond()).isPositive();
+        assertThat(result.getLineItems()).containsOnlyKeys("lineItem1", "lineItem2");
+        assertThat(result.getLineItems().get("lineItem1"))
+                .isEqualTo(DealsReplayHarness.LineItemPacing.of("plan1", 60, 60, 1.0));
+        assertThat(result.getLineItems().get("lineItem2"))
+                .isEqualTo(DealsReplayHarness.LineItemPacing.of("plan2", 0, 60, 0.0));
+        assertThat(result.getPacingAccuracy()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void replayShouldReplayAllAuctionsInMultipleThreads() throws InterruptedException {
+        // when
+        final DealsReplayHarness.Report result = new DealsReplayHarness(planResponse, START, jacksonMapper)
+                .replay(bidRequests, 3600, 4, 1000L);
+
+        // then
+        assertThat(result.getAuctions()).isEqualTo(3600);
+        // concurrent auctions could be served at once by the line item becoming ready
+        assertThat(result.getImpsWithDeals()).isBetween(60L, 63L);
+        assertThat(result.getLineItems().get("lineItem1").getSpentTokens()).isBetween(60L, 63L);
+        assertThat(result.getLineItems().get("lineItem2").getSpentTokens()).isZero();
+    }
+}
@@ -327,6 +327,72 @@ public class RequestContextTest extends VertxTest {
         assertThat(context.lookupString(category)).isEqualTo("123");
     }
 
+    @Test
+    public void lookupStringShouldResolveValueOnlyOnce() {
+        // given
+        final TargetingCategory category = new TargetingCategory(TargetingCategory.Type.bidderParam, "rubicon.siteId");
+        final ObjectNode rubicon = obj("siteId", "123");
+        final RequestContext context = new RequestContext(
+                request(identity()),
+                imp(i -> i.ext(obj("prebid", obj("bidder", obj("rubicon", rubicon))))),
+                txnLog,
+                jacksonMapper);
+
+        // when
+        final String firstValue = context.lookupString(category);
+        rubicon.put("siteId", "456");
+        final String secondValue = context.lookupString(category);
+
+        // then
+        assertThat(firstValue).isEqualTo("123");
+        assertThat(secondValue).isEqualTo("123");
+        assertThat(context.lookupString(new TargetingCategory(TargetingCategory.Type.bidderParam, "rubicon.other")))
+                .isNull();
+    }
+
+    @Test
+    public void lookupLowerCaseStringShouldReturnValueInLowerCase() {
+        // given
+        final TargetingCategory category = new TargetingCategory(TargetingCategory.Type.domain);
+        final RequestContext context = new RequestContext(
+                request(r -> r.site(site(s -> s.domain("Domain.COM")))),
+                imp(identity()),
+                txnLog,
+                jacksonMapper);
+
+        // when and then
+        assertThat(context.lookupLowerCaseString(category)).isEqualTo("domain.com");
+        assertThat(context.lookupString(category)).isEqualTo("Domain.COM");
+    }
+
+    @Test
+    public void lookupLowerCaseStringShouldReturnNullWhenValueIsMissing() {
+        // given
+        final TargetingCategory category = new TargetingCategory(TargetingCategory.Type.domain);
+        final RequestContext context = new RequestContext(
+                request(identity()), imp(identity()), txnLog, jacksonMapper);
+
+        // when and then
+        assertThat(context.lookupLowerCaseString(category)).isNull();
+    }
+
+    @Test
+    public void lookupLowerCaseStringsShouldReturnValuesInLowerCase() {
+        // given
+        final TargetingCategory category = new TargetingCategory(TargetingCategory.Type.bidderParam, "rubicon.kw");
+        final RequestContext context = new RequestContext(
+                request(identity()),
+                imp(i -> i.ext(obj("prebid", obj("bidder", obj("rubicon",
+                        obj("kw", mapper.valueToTree(asList("Rock", "POP")))))))),
+                txnLog,
+                jacksonMapper);
+
+        // when and then
+        assertThat(context.lookupLowerCaseStrings(category)).containsExactly("rock", "pop");
+        assertThat(context.lookupLowerCaseStrings(
+                new TargetingCategory(TargetingCategory.Type.bidderParam, "rubicon.other"))).isEmpty();
+    }
+
     @Test
     public void lookupStringShouldReturnNestedBidderParam() {
         // given
@@ -394,6 +460,19 @@ public class RequestContextTest extends VertxTest {
         assertThat(context.lookupString(category)).isEqualTo("123");
     }
 
+    @Test
+    public void lookupStringShouldReturnUserFirstPartyDataFromObjectProperty() {
+        // given
+        final TargetingCategory category = new TargetingCategory(
+                TargetingCategory.Type.userFirstPartyData, "gender");
+        final RequestContext context = new RequestContext(
+                request(r -> r.user(user(u -> u.gender("F")))),
+                imp(identity()), txnLog, jacksonMapper);
+
+        // when and then
+        assertThat(context.lookupString(category)).isEqualTo("F");
+    }
+
     @Test
     public void lookupStringShouldReturnSimpleUserFirstPartyDataFromExt() {
         // given
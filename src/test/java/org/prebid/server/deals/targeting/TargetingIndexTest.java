@@ -0,0 +1,381 @@
+package org.prebid.server.deals.targeting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Data;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Geo;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Publisher;
+import com.iab.openrtb.request.Segment;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import com.iab.openrtb.request.Video;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.deals.TargetingService;
+import org.prebid.server.deals.model.TxnLog;
+import org.prebid.server.deals.targeting.interpret.And;
+import org.prebid.server.deals.targeting.interpret.DomainMetricAwareExpression;
+import org.prebid.server.deals.targeting.interpret.InStrings;
+import org.prebid.server.deals.targeting.interpret.IntersectsSizes;
+import org.prebid.server.deals.targeting.interpret.IntersectsStrings;
+import org.prebid.server.deals.targeting.interpret.Matches;
+import org.prebid.server.deals.targeting.interpret.Or;
+import org.prebid.server.deals.targeting.interpret.Within;
+import org.prebid.server.deals.targeting.model.GeoRegion;
+import org.prebid.server.deals.targeting.model.Size;
+import org.prebid.server.deals.targeting.syntax.TargetingCategory;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TargetingIndexTest extends VertxTest {
+
+    private static final TargetingCategory SIZE = new TargetingCategory(TargetingCategory.Type.size);
+    private static final TargetingCategory DOMAIN = new TargetingCategory(TargetingCategory.Type.domain);
+    private static final TargetingCategory MEDIA_TYPE = new TargetingCategory(TargetingCategory.Type.mediaType);
+
+    private final TargetingService targetingService = new TargetingService(jacksonMapper);
+
+    @Test
+    public void candidatesShouldRejectDefinitionsWithNotMatchedIndexedConditions() {
+        // given
+        final TargetingDefinition size300x250 = TargetingDefinition.of(new And(asList(
+                new IntersectsSizes(SIZE, singletonList(Size.of(300, 250))),
+                new IntersectsStrings(MEDIA_TYPE, singletonList("banner")))));
+        final TargetingDefinition size728x90 = TargetingDefinition.of(
+                new IntersectsSizes(SIZE, singletonList(Size.of(728, 90))));
+        final TargetingDefinition video = TargetingDefinition.of(new And(asList(
+                new IntersectsSizes(SIZE, asList(Size.of(300, 250), Size.of(728, 90))),
+                new IntersectsStrings(MEDIA_TYPE, singletonList("video")))));
+
+        final TargetingIndex targetingIndex = TargetingIndex.of(asList(size300x250, size728x90, video));
+
+        // when
+        final Predicate<TargetingDefinition> candidates = targetingIndex.candidates(
+                requestContext(BidRequest.builder().build(), bannerImp(Format.builder().w(300).h(250).build())));
+
+        // then
+        assertThat(candidates.test(size300x250)).isTrue();
+        assertThat(candidates.test(size728x90)).isFalse();
+        assertThat(candidates.test(video)).isFalse();
+    }
+
+    @Test
+    public void candidatesShouldPassDefinitionsWithoutIndexedConditionsAndUnknownDefinitions() {
+        // given
+        final TargetingDefinition matches = TargetingDefinition.of(new Matches(DOMAIN, "*nba*"));
+        final TargetingDefinition or = TargetingDefinition.of(new Or(singletonList(
+                new IntersectsSizes(SIZE, singletonList(Size.of(728, 90))))));
+
+        final TargetingIndex targetingIndex = TargetingIndex.of(asList(matches, or));
+
+        // when
+        final Predicate<TargetingDefinition> candidates = targetingIndex.candidates(
+                requestContext(BidRequest.builder().build(), bannerImp(Format.builder().w(300).h(250).build())));
+
+        // then
+        assertThat(candidates.test(matches)).isTrue();
+        assertThat(candidates.test(or)).isTrue();
+        assertThat(candidates.test(TargetingDefinition.of(
+                new IntersectsSizes(SIZE, singletonList(Size.of(728, 90)))))).isTrue();
+    }
+
+    @Test
+    public void candidatesShouldNotIndexConditionsFollowingDomainTargeting() {
+        // given
+        final TargetingDefinition definition = TargetingDefinition.of(new And(asList(
+                new DomainMetricAwareExpression(new InStrings(DOMAIN, singletonList("nba.com")), "lineItemId"),
+                new IntersectsSizes(SIZE, singletonList(Size.of(728, 90))))));
+
+        final TargetingIndex targetingIndex = TargetingIndex.of(singletonList(definition));
+
+        // when
+        final Predicate<TargetingDefinition> nbaCandidates = targetingIndex.candidates(requestContext(
+                BidRequest.builder().site(Site.builder().domain("NBA.com").build()).build(),
+                bannerImp(Format.builder().w(300).h(250).build())));
+        final Predicate<TargetingDefinition> cnnCandidates = targetingIndex.candidates(requestContext(
+                BidRequest.builder().site(Site.builder().domain("cnn.com").build()).build(),
+                bannerImp(Format.builder().w(728).h(90).build())));
+
+        // then
+        assertThat(nbaCandidates.test(definition)).isTrue();
+        assertThat(cnnCandidates.test(definition)).isFalse();
+    }
+
+    @Test
+    public void candidatesShouldRejectDefinitionsWithRegionsNotCoveringRequestLocation() {
+        // given
+        final TargetingCategory location = new TargetingCategory(TargetingCategory.Type.location);
+        final TargetingDefinition kyiv = TargetingDefinition.of(
+                new Within(location, GeoRegion.of(50.424782f, 30.506423f, 10f)));
+        final TargetingDefinition newYork = TargetingDefinition.of(
+                new Within(location, GeoRegion.of(40.730610f, -73.935242f, 10f)));
+        final TargetingDefinition world = TargetingDefinition.of(
+                new Within(location, GeoRegion.of(0f, 0f, 10000f)));
+
+        final TargetingIndex targetingIndex = TargetingIndex.of(asList(kyiv, newYork, world));
+
+        // when
+        final Predicate<TargetingDefinition> candidates = targetingIndex.candidates(requestContext(
+                BidRequest.builder()
+                        .device(Device.builder().geo(Geo.builder().lat(50.442406f).lon(30.521439f).build()).build())
+                        .build(),
+                bannerImp(Format.builder().w(300).h(250).build())));
+
+        // then
+        assertThat(candidates.test(kyiv)).isTrue();
+        assertThat(candidates.test(newYork)).isFalse();
+        assertThat(candidates.test(world)).isTrue();
+    }
+
+    @Test
+    public void candidatesShouldLookupRequestValuesOncePerCategory() {
+        // given
+        final List<TargetingDefinition> definitions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            definitions.add(TargetingDefinition.of(new IntersectsSizes(SIZE, singletonList(Size.of(i, i)))));
+        }
+        final TargetingIndex targetingIndex = TargetingIndex.of(definitions);
+
+        final int[] lookups = {0};
+        final RequestContext requestContext = new RequestContext(BidRequest.builder().build(),
+                bannerImp(Format.builder().w(7).h(7).build()), TxnLog.create(), jacksonMapper) {
+            @Override
+            public List<Size> lookupSizes(TargetingCategory category) {
+                lookups[0]++;
+                return super.lookupSizes(category);
+            }
+        };
+
+        // when
+        final Predicate<TargetingDefinition> candidates = targetingIndex.candidates(requestContext);
+
+        // then
+        assertThat(definitions.stream().filter(candidates)).containsOnly(definitions.get(7));
+        assertThat(lookups[0]).isEqualTo(1);
+    }
+
+    @Test
+    public void candidatesShouldRejectOnlyDefinitionsNotMatchingRequestWithSameTraces() throws IOException {
+        // given
+        final Random random = new Random(42);
+
+        final List<TargetingDefinition> definitions = new ArrayList<>();
+        definitions.add(targetingService.parseTargetingDefinition(
+                jsonFrom("test-valid-targeting-definition.json"), "valid"));
+        definitions.add(targetingService.parseTargetingDefinition(
+                jsonFrom("test-device-targeting.json"), "device"));
+        for (JsonNode lineItem : mapper.readTree(TargetingIndexTest.class.getResourceAsStream(
+                "/org/prebid/server/it/deals/test-planner-plan-response-1.json"))) {
+            definitions.add(targetingService.parseTargetingDefinition(
+                    lineItem.get("targeting"), lineItem.get("lineItemId").asText()));
+        }
+        for (int i = 0; i < 500; i++) {
+            definitions.add(targetingService.parseTargetingDefinition(randomDefinition(random), "lineItem" + i));
+        }
+
+        final TargetingIndex targetingIndex = TargetingIndex.of(definitions);
+
+        int rejected = 0;
+        for (int i = 0; i < 300; i++) {
+            final BidRequest bidRequest = randomBidRequest(random);
+            final Imp imp = randomImp(random);
+
+            final TxnLog expectedTxnLog = TxnLog.create();
+            final RequestContext expectedContext = new RequestContext(bidRequest, imp, expectedTxnLog, jacksonMapper);
+            final TxnLog actualTxnLog = TxnLog.create();
+            final RequestContext actualContext = new RequestContext(bidRequest, imp, actualTxnLog, jacksonMapper);
+
+            // when
+            final Predicate<TargetingDefinition> candidates = targetingIndex.candidates(actualContext);
+
+            // then
+            for (TargetingDefinition definition : definitions) {
+                final String expected = evaluate(() -> definition.getRootExpression().matches(expectedContext));
+                final boolean isCandidate = candidates.test(definition);
+                final String actual = isCandidate
+                        ? evaluate(() -> definition.getRootExpression().matches(actualContext))
+                        : String.valueOf(false);
+                rejected += isCandidate ? 0 : 1;
+
+                assertThat(actual).isEqualTo(expected);
+            }
+            assertThat(actualTxnLog).isEqualTo(expectedTxnLog);
+        }
+        assertThat(rejected).isPositive();
+    }
+
+    private static String evaluate(Supplier<Boolean> matches) {
+        try {
+            return String.valueOf(matches.get());
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static JsonNode randomDefinition(Random random) {
+        final int conjuncts = random.nextInt(5);
+        if (conjuncts == 0) {
+            return randomCondition(random, 2);
+        }
+
+        final List<JsonNode> conditions = new ArrayList<>();
+        for (int i = 0; i < conjuncts; i++) {
+            conditions.add(randomCondition(random, 2));
+        }
+        return mapper.valueToTree(singletonMap("$and", conditions));
+    }
+
+    private static JsonNode randomCondition(Random random, int depth) {
+        switch (random.nextInt(depth > 0 ? 15 : 13)) {
+            case 0:
+                return condition("adunit.size", "$intersects",
+                        asList(randomSize(random), randomSize(random)));
+            case 1:
+                return condition("adunit.mediatype", "$intersects",
+                        singletonList(randomOf(random, "banner", "video", "native")));
+            case 2:
+                return condition("site.domain", "$in", asList(randomDomain(random), randomDomain(random)));
+            case 3:
+                return condition("site.domain", "$matches", randomOf(random, "*nba*", "cnn*", "*.org", "nba.com"));
+            case 4:
+                return condition("site.referrer", "$matches", randomOf(random, "*sports*", "http://nba.com*"));
+            case 5:
+                return condition("app.bundle", "$in", singletonList(randomOf(random, "com.a", "com.b")));
+            case 6:
+                return condition("pos", "$in", asList(random.nextInt(4), random.nextInt(4)));
+            case 7:
+                return condition("device.ext.deviceatlas.browser", "$in",
+                        singletonList(randomOf(random, "Chrome", "Firefox")));
+            case 8:
+                return condition("bidp.rubicon.siteId", "$in", asList(random.nextInt(3), random.nextInt(3)));
+            case 9:
+                return condition("bidp.rubicon.keywords", "$intersects", singletonList(randomOf(random, "a", "b")));
+            case 10:
+                return condition("segment.bluekai", "$intersects", singletonList(randomOf(random, "1", "2", "3")));
+            case 11:
+                return condition("geo.distance", "$within", mapper.createObjectNode()
+                        .put("lat", 50 + random.nextFloat())
+                        .put("lon", 30 + random.nextFloat())
+                        .put("radiusMiles", randomOf(random, 5, 20, 100, 1000)));
+            case 12:
+                return condition("ufpd.buyeruid", "$in", singletonList(randomOf(random, "uid1", "uid2")));
+            case 13:
+                return mapper.valueToTree(singletonMap("$or",
+                        asList(randomCondition(random, depth - 1), randomCondition(random, depth - 1))));
+            default:
+                return mapper.valueToTree(singletonMap("$not", randomCondition(random, depth - 1)));
+        }
+    }
+
+    private static JsonNode condition(String category, String function, Object value) {
+        return mapper.valueToTree(singletonMap(category, singletonMap(function, value)));
+    }
+
+    private static ObjectNode randomSize(Random random) {
+        final int[][] sizes = {{300, 250}, {728, 90}, {300, 600}, {320, 50}};
+        final int[] size = sizes[random.nextInt(sizes.length)];
+        return mapper.createObjectNode().put("w", size[0]).put("h", size[1]);
+    }
+
+    private static String randomDomain(Random random) {
+        return randomOf(random, "nba.com", "cnn.com", "NBA.com", "example.org");
+    }
+
+    @SafeVarargs
+    private static <T> T randomOf(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static BidRequest randomBidRequest(Random random) {
+        final BidRequest.BidRequestBuilder builder = BidRequest.builder();
+        if (random.nextBoolean()) {
+            builder.site(Site.builder()
+                    .domain(random.nextInt(5) > 0 ? randomDomain(random) : null)
+                    .publisher(random.nextInt(5) == 0 ? Publisher.builder().domain(randomDomain(random)).build() : null)
+                    .page(randomOf(random, "http://nba.com/sports", "http://cnn.com", null))
+                    .build());
+        } else {
+            builder.app(App.builder().bundle(randomOf(random, "com.a", "com.b", null)).build());
+        }
+
+        final ExtDevice extDevice = ExtDevice.empty();
+        extDevice.addProperty("deviceatlas", mapper.createObjectNode()
+                .set("browser", new TextNode(randomOf(random, "Chrome", "Firefox", "Safari"))));
+        builder.device(Device.builder()
+                .geo(random.nextBoolean()
+                        ? Geo.builder().lat(50 + random.nextFloat()).lon(30 + random.nextFloat()).build()
+                        : null)
+                .ext(random.nextBoolean() ? extDevice : null)
+                .build());
+
+        builder.user(User.builder()
+                .buyeruid(randomOf(random, "uid1", "uid2", null))
+                .data(random.nextBoolean()
+                        ? singletonList(Data.builder().id("bluekai").segment(asList(
+                        Segment.builder().id(String.valueOf(random.nextInt(4))).build(),
+                        Segment.builder().id(String.valueOf(random.nextInt(4))).build())).build())
+                        : null)
+                .ext(ExtUser.builder().build())
+                .build());
+
+        return builder.build();
+    }
+
+    private static Imp randomImp(Random random) {
+        final List<Format> formats = new ArrayList<>();
+        for (int i = random.nextInt(3); i > 0; i--) {
+            final ObjectNode size = randomSize(random);
+            formats.add(Format.builder().w(size.get("w").asInt()).h(size.get("h").asInt()).build());
+        }
+
+        final ObjectNode rubicon = mapper.createObjectNode();
+        if (random.nextBoolean()) {
+            rubicon.put("siteId", random.nextInt(3));
+        }
+        if (random.nextBoolean()) {
+            rubicon.set("keywords", mapper.valueToTree(singletonList(randomOf(random, "a", "b", "c"))));
+        }
+
+        return Imp.builder()
+                .id("impId")
+                .banner(random.nextInt(4) > 0
+                        ? Banner.builder().format(formats).pos(random.nextBoolean() ? random.nextInt(4) : null).build()
+                        : null)
+                .video(random.nextBoolean() ? Video.builder().build() : null)
+                .ext(mapper.createObjectNode().set("prebid", mapper.createObjectNode()
+                        .set("bidder", mapper.createObjectNode().set("rubicon", rubicon))))
+                .build();
+    }
+
+    private static Imp bannerImp(Format format) {
+        return Imp.builder().banner(Banner.builder().format(singletonList(format)).build()).build();
+    }
+
+    private static RequestContext requestContext(BidRequest bidRequest, Imp imp) {
+        return new RequestContext(bidRequest, imp, TxnLog.create(), jacksonMapper);
+    }
+
+    private static JsonNode jsonFrom(String file) throws IOException {
+        return mapper.readTree(Objects.requireNonNull(TargetingIndexTest.class.getResourceAsStream(file)));
+    }
+}
@@ -37,35 +37,26 @@ public class InStringsTest {
     @Test
     public void matchesShouldReturnTrueWhenThereIsMatch() {
         // given
-        willReturn("Berlin").given(context).lookupString(any());
+        willReturn("berlin").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
-        verify(context).lookupString(eq(category));
+        verify(context).lookupLowerCaseString(eq(category));
     }
 
     @Test
     public void matchesShouldReturnFalseWhenThereIsNoMatch() {
         // given
-        willReturn("Ingolstadt").given(context).lookupString(any());
+        willReturn("ingolstadt").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
     }
 
-    @Test
-    public void matchesShouldPerformCaseInsensitiveComparison() {
-        // given
-        willReturn("BERLIN").given(context).lookupString(any());
-
-        // when and then
-        assertThat(expression.matches(context)).isTrue();
-    }
-
     @Test
     public void matchesShouldReturnFalseWhenActualValueIsMissing() {
         // given
-        willReturn(null).given(context).lookupString(any());
+        willReturn(null).given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
@@ -38,35 +38,26 @@ public class IntersectsStringsTest {
     @Test
     public void matchesShouldReturnTrueWhenThereIsMatch() {
         // given
-        willReturn(asList("Rock", "Alternative", "Folk")).given(context).lookupStrings(any());
+        willReturn(asList("rock", "alternative", "folk")).given(context).lookupLowerCaseStrings(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
-        verify(context).lookupStrings(eq(category));
+        verify(context).lookupLowerCaseStrings(eq(category));
     }
 
     @Test
     public void matchesShouldReturnFalseWhenThereIsNoMatch() {
         // given
-        willReturn(asList("Folk", "Trance")).given(context).lookupStrings(any());
+        willReturn(asList("folk", "trance")).given(context).lookupLowerCaseStrings(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
     }
 
-    @Test
-    public void matchesShouldPerformCaseInsensitiveComparison() {
-        // given
-        willReturn(asList("ROCK", "ALTERNATIVE", "FOLK")).given(context).lookupStrings(any());
-
-        // when and then
-        assertThat(expression.matches(context)).isTrue();
-    }
-
     @Test
     public void matchesShouldReturnFalseWhenActualValueIsMissing() {
         // given
-        willReturn(emptyList()).given(context).lookupStrings(any());
+        willReturn(emptyList()).given(context).lookupLowerCaseStrings(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
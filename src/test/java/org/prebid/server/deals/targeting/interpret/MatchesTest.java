@@ -37,11 +37,11 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "adunit");
 
-        willReturn("adunit").given(context).lookupString(any());
+        willReturn("adunit").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
-        verify(context).lookupString(eq(category));
+        verify(context).lookupLowerCaseString(eq(category));
     }
 
     @Test
@@ -49,7 +49,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "adunit");
 
-        willReturn("notadunit").given(context).lookupString(any());
+        willReturn("notadunit").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
@@ -60,7 +60,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "adunit*");
 
-        willReturn("adunitOne").given(context).lookupString(any());
+        willReturn("adunitone").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
@@ -71,7 +71,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "adunit");
 
-        willReturn("somedunit").given(context).lookupString(any());
+        willReturn("somedunit").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
@@ -82,7 +82,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "*adunit");
 
-        willReturn("someadunit").given(context).lookupString(any());
+        willReturn("someadunit").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
@@ -93,7 +93,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "*adunit");
 
-        willReturn("adunitOne").given(context).lookupString(any());
+        willReturn("adunitone").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
@@ -104,7 +104,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "*adunit*");
 
-        willReturn("someadunitOne").given(context).lookupString(any());
+        willReturn("someadunitone").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
@@ -115,7 +115,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "*adunit*");
 
-        willReturn("adunitOne").given(context).lookupString(any());
+        willReturn("adunitone").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
@@ -126,7 +126,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "*adunit*");
 
-        willReturn("someadunit").given(context).lookupString(any());
+        willReturn("someadunit").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
@@ -137,7 +137,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "*adunit*");
 
-        willReturn("One").given(context).lookupString(any());
+        willReturn("one").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
@@ -148,7 +148,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "AdUnIt");
 
-        willReturn("aDuNiT").given(context).lookupString(any());
+        willReturn("adunit").given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isTrue();
@@ -159,7 +159,7 @@ public class MatchesTest {
         // given
         expression = new Matches(category, "adunit");
 
-        willReturn(null).given(context).lookupString(any());
+        willReturn(null).given(context).lookupLowerCaseString(any());
 
         // when and then
         assertThat(expression.matches(context)).isFalse();
@@ -11,9 +11,12 @@ import org.prebid.server.deals.targeting.model.GeoLocation;
 import org.prebid.server.deals.targeting.model.GeoRegion;
 import org.prebid.server.deals.targeting.syntax.TargetingCategory;
 
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.verify;
 
@@ -62,4 +65,69 @@ public class WithinTest {
         // when and then
         assertThat(expression.matches(context)).isFalse();
     }
+
+    @Test
+    public void valuesShouldContainCellOfEveryLocationWithinRegion() {
+        // given
+        final Random random = new Random(42);
+        final GeoLocation[] location = new GeoLocation[1];
+        willAnswer(invocation -> location[0]).given(context).lookupGeoLocation(any());
+        int matched = 0;
+
+        for (int i = 0; i < 200; i++) {
+            final GeoRegion region = GeoRegion.of(random.nextFloat() * 120 - 60, random.nextFloat() * 360 - 180,
+                    random.nextFloat() * 50);
+            final Within within = new Within(category, region);
+            assertThat(within.values()).isNotNull();
+
+            for (int j = 0; j < 20; j++) {
+                final float lat = region.getLat() + (random.nextFloat() - 0.5f) * 2;
+                final float lon = region.getLon() + (random.nextFloat() - 0.5f) * 3;
+                location[0] = GeoLocation.of(lat, lon < -180 ? lon + 360 : lon > 180 ? lon - 360 : lon);
+
+                // when and then
+                if (within.matches(context)) {
+                    matched++;
+                    assertThat(within.values()).containsAll(within.lookupValues(context));
+                }
+            }
+        }
+        assertThat(matched).isGreaterThan(100);
+    }
+
+    @Test
+    public void valuesShouldContainCellsAcrossAntimeridian() {
+        // given
+        final Within within = new Within(category, GeoRegion.of(0f, 179.99f, 10f));
+        willReturn(GeoLocation.of(0.01f, -179.99f)).given(context).lookupGeoLocation(any());
+
+        // when and then
+        assertThat(within.matches(context)).isTrue();
+        assertThat(within.values()).containsAll(within.lookupValues(context));
+    }
+
+    @Test
+    public void valuesShouldReturnNullWhenRegionIsTooLargeOrTouchesPole() {
+        // when and then
+        assertThat(new Within(category, GeoRegion.of(50f, 30f, 1000f)).values()).isNull();
+        assertThat(new Within(category, GeoRegion.of(89.9f, 30f, 10f)).values()).isNull();
+    }
+
+    @Test
+    public void lookupValuesShouldReturnNullWhenLocationIsInvalid() {
+        // given
+        willReturn(GeoLocation.of(95f, 30f)).given(context).lookupGeoLocation(any());
+
+        // when and then
+        assertThat(((Within) expression).lookupValues(context)).isNull();
+    }
+
+    @Test
+    public void lookupValuesShouldReturnEmptyListWhenLocationIsMissing() {
+        // given
+        willReturn(null).given(context).lookupGeoLocation(any());
+
+        // when and then
+        assertThat(((Within) expression).lookupValues(context)).isEmpty();
+    }
 }
@@ -8,32 +8,74 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.FieldSetter;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.function.LongSupplier;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class MaxMindGeoLocationServiceTest {
 
     private static final String TEST_IP = "80.215.195.122";
 
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Metrics metrics;
+
+    private Clock clock;
+
     private MaxMindGeoLocationService maxMindGeoLocationService;
 
     @Before
+    @SuppressWarnings("unchecked")
     public void setUp() {
-        maxMindGeoLocationService = new MaxMindGeoLocationService();
+        clock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+
+        willAnswer(invocation -> {
+            final Promise<Object> promise = Promise.promise();
+            ((Handler<Promise<Object>>) invocation.getArgument(0)).handle(promise);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(promise.future());
+            return null;
+        }).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        maxMindGeoLocationService = new MaxMindGeoLocationService(false, 0, 0, null, vertx, metrics, clock);
     }
 
     @Test
@@ -58,6 +100,43 @@ public class MaxMindGeoLocationServiceTest {
                 .hasMessageStartingWith("IO Exception occurred while trying to read an archive/db file: no_file");
     }
 
+    @Test
+    public void setDatabaseReaderShouldLoadDatabasesOnWorkerThreadOneByOne() {
+        // when
+        maxMindGeoLocationService.setDataPath("no_file");
+
+        // then
+        verify(vertx).executeBlocking(any(), eq(true), any());
+    }
+
+    @Test
+    public void setDatabaseReaderShouldKeepPreviousDatabaseIfNewOneFailedToLoad() throws NoSuchFieldException,
+            IOException, GeoIp2Exception {
+        // given
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(null);
+
+        FieldSetter.setField(maxMindGeoLocationService,
+                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"), databaseReader);
+
+        // when
+        maxMindGeoLocationService.setDataPath("no_file");
+        final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        verify(databaseReader).city(any());
+        verify(metrics, never()).updateGeoLocationDatabaseReloadTime(anyLong());
+    }
+
+    @Test
+    public void creationShouldRegisterDatabaseAgeGaugeReportingZeroBeforeDatabaseIsLoaded() {
+        // then
+        final ArgumentCaptor<LongSupplier> ageSupplierCaptor = ArgumentCaptor.forClass(LongSupplier.class);
+        verify(metrics).createGeoLocationDatabaseAgeGauge(ageSupplierCaptor.capture());
+        assertThat(ageSupplierCaptor.getValue().getAsLong()).isZero();
+    }
+
     @Test
     public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws NoSuchFieldException, IOException,
             GeoIp2Exception {
@@ -111,4 +190,57 @@ public class MaxMindGeoLocationServiceTest {
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isEqualTo(GeoInfo.builder().vendor("maxmind").build());
     }
+
+    @Test
+    public void lookupShouldReuseResultForSameIpAddressOnly() throws NoSuchFieldException, IOException,
+            GeoIp2Exception {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(false, 60, 10, null, vertx, metrics, clock);
+
+        final Country country = new Country(null, null, null, "fr", null);
+        final CityResponse cityResponse = new CityResponse(null, null, country, null, null,
+                null, null, null, null, null);
+
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(cityResponse);
+
+        FieldSetter.setField(maxMindGeoLocationService,
+                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"), databaseReader);
+
+        // when
+        final Future<GeoInfo> first = maxMindGeoLocationService.lookup("80.215.195.122", null);
+        final Future<GeoInfo> second = maxMindGeoLocationService.lookup("80.215.195.122", null);
+        final Future<GeoInfo> third = maxMindGeoLocationService.lookup("80.215.195.1", null);
+
+        // then
+        final GeoInfo expectedGeoInfo = GeoInfo.builder().vendor("maxmind").country("fr").build();
+        assertThat(first.result()).isEqualTo(expectedGeoInfo);
+        assertThat(second.result()).isSameAs(first.result());
+        assertThat(third.result()).isEqualTo(expectedGeoInfo);
+
+        verify(databaseReader).city(InetAddress.getByName("80.215.195.122"));
+        verify(databaseReader).city(InetAddress.getByName("80.215.195.1"));
+        verify(databaseReader, times(2)).city(any());
+    }
+
+    @Test
+    public void lookupShouldReuseResultForSameIpv6AddressInAnyNotation() throws NoSuchFieldException, IOException,
+            GeoIp2Exception {
+        // given
+        maxMindGeoLocationService = new MaxMindGeoLocationService(false, 60, 10, null, vertx, metrics, clock);
+
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(null);
+
+        FieldSetter.setField(maxMindGeoLocationService,
+                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"), databaseReader);
+
+        // when
+        maxMindGeoLocationService.lookup("2001:db8:85a3::8a2e:370:7334", null);
+        maxMindGeoLocationService.lookup("2001:0db8:85a3:0000:0000:8a2e:0370:7334", null);
+        maxMindGeoLocationService.lookup("2001:db8:85a3::8a2e:370:7335", null);
+
+        // then
+        verify(databaseReader, times(2)).city(any());
+    }
 }
@@ -11,6 +11,7 @@ import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.CaseInsensitiveHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -71,9 +72,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
-import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.anyBoolean;
@@ -200,7 +201,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Invalid request format: Request is invalid"));
+        verify(httpResponse).end(eq(Buffer.buffer("Invalid request format: Request is invalid")));
     }
 
     @Test
@@ -220,7 +221,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Blacklisted: Blacklisted account"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blacklisted: Blacklisted account")));
     }
 
     @Test
@@ -240,7 +241,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Blacklisted: Blacklisted app"));
+        verify(httpResponse).end(eq(Buffer.buffer("Blacklisted: Blacklisted app")));
     }
 
     @Test
@@ -260,7 +261,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Account id is not provided"));
+        verify(httpResponse).end(eq(Buffer.buffer("Account id is not provided")));
     }
 
     @Test
@@ -282,7 +283,7 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(eq("Critical error while running the auction: Unexpected exception"));
+        verify(httpResponse).end(eq(Buffer.buffer("Critical error while running the auction: Unexpected exception")));
     }
 
     @Test
@@ -305,8 +306,8 @@ public class AmpHandlerTest extends VertxTest {
                 .containsOnly(
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"));
-        verify(httpResponse).end(
-                startsWith("Critical error while running the auction: Critical error while unpacking AMP targets:"));
+        verify(httpResponse).end(argThat((Buffer buffer) -> buffer.toString()
+                .startsWith("Critical error while running the auction: Critical error while unpacking AMP targets:")));
     }
 
     @Test
@@ -321,7 +322,7 @@ public class AmpHandlerTest extends VertxTest {
         ampHandler.handle(routingContext);
 
         // then
-        verify(httpResponse, never()).end(anyString());
+        verify(httpResponse, never()).end(any(Buffer.class));
     }
 
     @Test
@@ -347,7 +348,8 @@ public class AmpHandlerTest extends VertxTest {
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"),
                         tuple("Content-Type", "application/json"));
-        verify(httpResponse).end(eq("{\"targeting\":{\"key1\":\"value1\",\"hb_cache_id_bidder1\":\"value2\"}}"));
+        verify(httpResponse).end(eq(
+                Buffer.buffer("{\"targeting\":{\"key1\":\"value1\",\"hb_cache_id_bidder1\":\"value2\"}}")));
     }
 
     @Test
@@ -390,8 +392,8 @@ public class AmpHandlerTest extends VertxTest {
                         tuple("AMP-Access-Control-Allow-Source-Origin", "http://example.com"),
                         tuple("Access-Control-Expose-Headers", "AMP-Access-Control-Allow-Source-Origin"),
                         tuple("Content-Type", "application/json"));
-        verify(httpResponse).end(eq("{\"targeting\":{\"key1\":\"value1\",\"rpfl_11078\":\"15_tier0030\","
-                + "\"hb_cache_id_bidder1\":\"value2\"}}"));
+        verify(httpResponse).end(eq(Buffer.buffer("{\"targeting\":{\"key1\":\"value1\",\"rpfl_11078\":\"15_tier0030\","
+                + "\"hb_cache_id_bidder1\":\"value2\"}}")));
     }
 
     @Test
@@ -414,8 +416,8 @@ public class AmpHandlerTest extends VertxTest {
         ampHandler.handle(routingContext);
 
         // then
-        verify(httpResponse).end(eq(
-                "{\"targeting\":{},\"debug\":{\"resolvedrequest\":{\"id\":\"reqId1\",\"imp\":[],\"tmax\":5000}}}"));
+        verify(httpResponse).end(eq(Buffer.buffer(
+                "{\"targeting\":{},\"debug\":{\"resolvedrequest\":{\"id\":\"reqId1\",\"imp\":[],\"tmax\":5000}}}")));
     }
 
     @Test
@@ -442,12 +444,12 @@ public class AmpHandlerTest extends VertxTest {
         ampHandler.handle(routingContext);
 
         // then
-        verify(httpResponse).end(eq(
+        verify(httpResponse).end(eq(Buffer.buffer(
                 "{\"targeting\":{},"
                         + "\"ext\":{\"prebid\":{\"modules\":{"
                         + "\"errors\":{\"module1\":{\"hook1\":[\"error1\"]}},"
                         + "\"warnings\":{\"module1\":{\"hook1\":[\"warning1\"]}},"
-                        + "\"trace\":{\"executiontimemillis\":2,\"stages\":[]}}}}}"));
+                        + "\"trace\":{\"executiontimemillis\":2,\"stages\":[]}}}}}")));
     }
 
     @Test
@@ -89,6 +89,19 @@ public class GeoLocationHealthCheckerTest {
         assertThat(lastStatus.getLastUpdated()).isEqualTo(ZonedDateTime.now(clock));
     }
 
+    @Test
+    public void getLastStatusShouldReturnStatusDownWhenCountryWasNotResolved() {
+        // given
+        given(geoLocationService.lookup(any(), any())).willReturn(
+                Future.succeededFuture(GeoInfo.builder().vendor("vendor").build()));
+
+        // when
+        geoLocationHealthChecker.updateStatus();
+
+        // then
+        assertThat(geoLocationHealthChecker.status().getStatus()).isEqualTo("DOWN");
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void initializeShouldMakeOneInitialRequestAndTwoScheduledRequests() {
@@ -941,6 +941,19 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("privacy.tcf.v1.vendorlist.fallback").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updatePrivacyTcfCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyTcfCacheMetric(MetricName.consent, MetricName.hit);
+        metrics.updatePrivacyTcfCacheMetric(MetricName.consent, MetricName.miss);
+        metrics.updatePrivacyTcfCacheMetric(MetricName.permissions, MetricName.hit);
+
+        // then
+        assertThat(metricRegistry.counter("privacy.tcf.cache.consent.hit").getCount()).isOne();
+        assertThat(metricRegistry.counter("privacy.tcf.cache.consent.miss").getCount()).isOne();
+        assertThat(metricRegistry.counter("privacy.tcf.cache.permissions.hit").getCount()).isOne();
+    }
+
     @Test
     public void shouldNotUpdateAccountMetricsIfVerbosityIsNone() {
         // given
@@ -1040,6 +1053,36 @@ public class MetricsTest {
         assertThat(metricRegistry.gauge("circuit-breaker.geo.opened.count", () -> null).getValue()).isEqualTo(1L);
     }
 
+    @Test
+    public void updateGeoLocationDatabaseReloadTimeShouldUpdateTimer() {
+        // when
+        metrics.updateGeoLocationDatabaseReloadTime(123L);
+
+        // then
+        assertThat(metricRegistry.timer("geolocation_db_reload_time").getCount()).isOne();
+    }
+
+    @Test
+    public void shouldCreateGeoLocationDatabaseAgeGaugeMetric() {
+        // when
+        metrics.createGeoLocationDatabaseAgeGauge(() -> 3600L);
+
+        // then
+        assertThat(metricRegistry.gauge("geolocation_db_age", () -> null).getValue()).isEqualTo(3600L);
+    }
+
+    @Test
+    public void updatePublicSuffixCacheMetricShouldIncrementHitOrMissMetric() {
+        // when
+        metrics.updatePublicSuffixCacheMetric(true);
+        metrics.updatePublicSuffixCacheMetric(false);
+        metrics.updatePublicSuffixCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("public_suffix_cache_hit").getCount()).isOne();
+        assertThat(metricRegistry.counter("public_suffix_cache_miss").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void shouldIncrementBothGeoLocationRequestsAndSuccessfulMetrics() {
         // when
@@ -10,6 +10,8 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
@@ -35,6 +37,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyCollection;
@@ -74,6 +77,8 @@ public class Tcf2ServiceTest extends VertxTest {
     private SpecialFeaturesStrategy specialFeaturesStrategyOne;
     @Mock
     private TCString tcString;
+    @Mock
+    private Metrics metrics;
 
     private Tcf2Service target;
 
@@ -115,7 +120,7 @@ public class Tcf2ServiceTest extends VertxTest {
         initSpecialFeatures();
         initGdpr();
         target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
-                bidderCatalog);
+                bidderCatalog, metrics);
     }
 
     private void initPurposes() {
@@ -362,6 +367,87 @@ public class Tcf2ServiceTest extends VertxTest {
         verifyNoMoreInteractions(bidderCatalog);
     }
 
+    @Test
+    public void permissionsForShouldReturnCachedPermissionsForSameConsentAndVendors() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+
+        final GdprConfig gdprConfig = GdprConfig.builder()
+                .purposes(purposes)
+                .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.ignore)
+                .tcfCacheTtlSeconds(60)
+                .tcfCacheSize(10)
+                .build();
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, metrics);
+
+        final Collection<VendorPermission> firstPermissions = target.permissionsFor(singleton(1), tcString).result();
+
+        // when
+        final Future<Collection<VendorPermission>> result = target.permissionsFor(singleton(1), tcString);
+
+        // then
+        assertThat(result).succeededWith(
+                singletonList(VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll())));
+        assertThat(result.result().iterator().next().getPrivacyEnforcementAction())
+                .isNotSameAs(firstPermissions.iterator().next().getPrivacyEnforcementAction());
+
+        verify(vendorListService).forVersion(anyInt());
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), anyCollection(), eq(false));
+        verify(metrics).updatePrivacyTcfCacheMetric(MetricName.permissions, MetricName.miss);
+        verify(metrics).updatePrivacyTcfCacheMetric(MetricName.permissions, MetricName.hit);
+    }
+
+    @Test
+    public void permissionsForShouldNotCachePermissionsWhenVendorListIsNotAvailable() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.failedFuture("Not available"));
+
+        final GdprConfig gdprConfig = GdprConfig.builder()
+                .purposes(purposes)
+                .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.ignore)
+                .tcfCacheTtlSeconds(60)
+                .tcfCacheSize(10)
+                .build();
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, metrics);
+
+        // when
+        target.permissionsFor(singleton(1), tcString);
+        target.permissionsFor(singleton(1), tcString);
+
+        // then
+        verify(vendorListService, times(2)).forVersion(anyInt());
+        verify(metrics, times(2)).updatePrivacyTcfCacheMetric(MetricName.permissions, MetricName.miss);
+    }
+
+    @Test
+    public void permissionsForShouldNotCachePermissionsWhenFallbackVendorListIsServed() {
+        // given
+        given(bidderCatalog.nameByVendorId(any())).willReturn("rubicon");
+        given(vendorListService.isTemporaryFallback(any())).willReturn(true);
+
+        final GdprConfig gdprConfig = GdprConfig.builder()
+                .purposes(purposes)
+                .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.ignore)
+                .tcfCacheTtlSeconds(60)
+                .tcfCacheSize(10)
+                .build();
+        target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
+                bidderCatalog, metrics);
+
+        // when
+        target.permissionsFor(singleton(1), tcString);
+        final Future<Collection<VendorPermission>> result = target.permissionsFor(singleton(1), tcString);
+
+        // then
+        assertThat(result).succeededWith(
+                singletonList(VendorPermission.of(1, "rubicon", PrivacyEnforcementAction.restrictAll())));
+        verify(vendorListService, times(2)).forVersion(anyInt());
+        verify(metrics, times(2)).updatePrivacyTcfCacheMetric(MetricName.permissions, MetricName.miss);
+    }
+
     @Test
     public void permissionsForShouldReturnAllDeniedWhenP1TIIsNoAccessAllowed() {
         // given
@@ -374,7 +460,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.noAccessAllowed)
                 .build();
         target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
-                bidderCatalog);
+                bidderCatalog, metrics);
 
         // when
         final Future<Collection<VendorPermission>> result = target.permissionsFor(singleton(1), tcString);
@@ -413,7 +499,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.accessAllowed)
                 .build();
         target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
-                bidderCatalog);
+                bidderCatalog, metrics);
 
         // when
         target.permissionsFor(singleton(1), tcString);
@@ -450,7 +536,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 .purposeOneTreatmentInterpretation(PurposeOneTreatmentInterpretation.accessAllowed)
                 .build();
         target = new Tcf2Service(gdprConfig, purposeStrategies, specialFeaturesStrategies, vendorListService,
-                bidderCatalog);
+                bidderCatalog, metrics);
 
         // when
         target.permissionsFor(singleton(1), tcString);
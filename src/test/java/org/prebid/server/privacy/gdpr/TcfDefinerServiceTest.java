@@ -48,6 +48,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.prebid.server.assertion.FutureAssertion.assertThat;
@@ -275,6 +276,41 @@ public class TcfDefinerServiceTest {
         verify(metrics).updatePrivacyTcfGeoMetric(2, null);
     }
 
+    @Test
+    public void resolveTcfContextShouldReuseDecodedConsentStringFromCache() {
+        // given
+        final GdprConfig gdprConfig = GdprConfig.builder()
+                .defaultValue("1")
+                .enabled(true)
+                .tcfCacheTtlSeconds(60)
+                .tcfCacheSize(10)
+                .build();
+        tcfDefinerService = new TcfDefinerService(
+                gdprConfig,
+                singleton(EEA_COUNTRY),
+                tcf2Service,
+                geoLocationService,
+                bidderCatalog,
+                ipAddressHelper,
+                metrics);
+
+        final Privacy privacy = Privacy.of("1", "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA", null, null);
+        final TcfContext firstTcfContext = tcfDefinerService.resolveTcfContext(
+                privacy, null, null, null, null, null).result();
+
+        // when
+        final Future<TcfContext> result = tcfDefinerService.resolveTcfContext(
+                privacy, null, null, null, null, null);
+
+        // then
+        assertThat(result).isSucceeded();
+        assertThat(result.result().getConsent()).isSameAs(firstTcfContext.getConsent());
+
+        verify(metrics).updatePrivacyTcfCacheMetric(MetricName.consent, MetricName.miss);
+        verify(metrics).updatePrivacyTcfCacheMetric(MetricName.consent, MetricName.hit);
+        verify(metrics, times(2)).updatePrivacyTcfRequestsMetric(2);
+    }
+
     @Test
     public void resolveTcfContextShouldReturnGdprFromCountryWhenGdprFromRequestIsNotValid() {
 
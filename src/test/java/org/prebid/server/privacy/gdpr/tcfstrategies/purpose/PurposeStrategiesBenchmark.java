@@ -0,0 +1,113 @@
+package org.prebid.server.privacy.gdpr.tcfstrategies.purpose;
+
+import com.iabtcf.decoder.TCString;
+import com.iabtcf.encoder.PublisherRestrictionEntry;
+import com.iabtcf.encoder.TCStringEncoder;
+import com.iabtcf.utils.BitSetIntIterable;
+import com.iabtcf.v2.RestrictionType;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.MicroBenchmark;
+import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.VendorPermission;
+import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.BasicEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.FullEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.NoEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Feature;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.SpecialFeature;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.SpecialPurpose;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorV2;
+import org.prebid.server.settings.model.EnforcePurpose;
+import org.prebid.server.settings.model.Purpose;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures full enforcement of all ten purposes for 30 bidders with a few vendor exceptions
+ * and publisher restrictions, as done for each auction with GDPR applying.
+ */
+public class PurposeStrategiesBenchmark {
+
+    private static final int BIDDERS = 30;
+
+    private List<PurposeStrategy> purposeStrategies;
+
+    private TCString tcString;
+
+    private Purpose purpose;
+
+    private List<VendorPermissionWithGvl> vendorPermissions;
+
+    @Before
+    public void setUp() {
+        final FullEnforcePurposeStrategy full = new FullEnforcePurposeStrategy();
+        final BasicEnforcePurposeStrategy basic = new BasicEnforcePurposeStrategy();
+        final NoEnforcePurposeStrategy no = new NoEnforcePurposeStrategy();
+        purposeStrategies = Arrays.asList(
+                new PurposeOneStrategy(full, basic, no),
+                new PurposeTwoStrategy(full, basic, no),
+                new PurposeThreeStrategy(full, basic, no),
+                new PurposeFourStrategy(full, basic, no),
+                new PurposeFiveStrategy(full, basic, no),
+                new PurposeSixStrategy(full, basic, no),
+                new PurposeSevenStrategy(full, basic, no),
+                new PurposeEightStrategy(full, basic, no),
+                new PurposeNineStrategy(full, basic, no),
+                new PurposeTenStrategy(full, basic, no));
+
+        final int[] allPurposes = IntStream.rangeClosed(1, 10).toArray();
+        final int[] allVendors = IntStream.rangeClosed(1, BIDDERS).toArray();
+        tcString = TCString.decode(TCStringEncoder.newBuilder()
+                .version(2)
+                .consentLanguage("EN")
+                .vendorListVersion(52)
+                .tcfPolicyVersion(2)
+                .addPurposesConsent(BitSetIntIterable.from(allPurposes))
+                .addPurposesLITransparency(BitSetIntIterable.from(allPurposes))
+                .addVendorConsent(BitSetIntIterable.from(allVendors))
+                .addVendorLegitimateInterest(BitSetIntIterable.from(allVendors))
+                .addPublisherRestrictionEntry(PublisherRestrictionEntry.newBuilder()
+                        .purposeId(2)
+                        .restrictionType(RestrictionType.NOT_ALLOWED)
+                        .addVendor(2, 4, 6)
+                        .build())
+                .addPublisherRestrictionEntry(PublisherRestrictionEntry.newBuilder()
+                        .purposeId(7)
+                        .restrictionType(RestrictionType.REQUIRE_LEGITIMATE_INTEREST)
+                        .addVendor(8, 10)
+                        .build())
+                .encode());
+
+        purpose = Purpose.of(EnforcePurpose.full, true, Arrays.asList("bidder1", "bidder2", "bidder3"));
+
+        final EnumSet<PurposeCode> allPurposeCodes = EnumSet.allOf(PurposeCode.class);
+        vendorPermissions = IntStream.rangeClosed(1, BIDDERS)
+                .mapToObj(vendorId -> VendorPermissionWithGvl.of(
+                        VendorPermission.of(vendorId, "bidder" + vendorId, PrivacyEnforcementAction.restrictAll()),
+                        VendorV2.builder()
+                                .id(vendorId)
+                                .purposes(allPurposeCodes)
+                                .legIntPurposes(EnumSet.of(PurposeCode.SEVEN, PurposeCode.EIGHT))
+                                .flexiblePurposes(EnumSet.of(PurposeCode.TWO, PurposeCode.SEVEN))
+                                .specialPurposes(EnumSet.allOf(SpecialPurpose.class))
+                                .features(EnumSet.allOf(Feature.class))
+                                .specialFeatures(EnumSet.allOf(SpecialFeature.class))
+                                .build()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void processAllPurposesFor30Bidders() {
+        MicroBenchmark.run("PurposeStrategy.processTypePurposeStrategy 10 purposes x 30 bidders", () -> {
+            for (PurposeStrategy purposeStrategy : purposeStrategies) {
+                purposeStrategy.processTypePurposeStrategy(tcString, purpose, vendorPermissions, false);
+            }
+        });
+    }
+}
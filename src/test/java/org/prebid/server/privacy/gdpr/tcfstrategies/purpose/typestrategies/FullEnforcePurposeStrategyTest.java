@@ -20,6 +20,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
@@ -167,6 +169,38 @@ public class FullEnforcePurposeStrategyTest {
                 vendorPermission5);
     }
 
+    @Test
+    public void shouldReturnExpectedForAuctionWithManyVendors() {
+        // given
+        final List<Integer> notAllowedVendorIds = IntStream.rangeClosed(1, 30)
+                .filter(vendorId -> vendorId % 2 == 0)
+                .boxed()
+                .collect(Collectors.toList());
+        final IntIterable notAllowedIterable = mock(IntIterable.class);
+        given(notAllowedIterable.spliterator()).willAnswer(invocation -> notAllowedVendorIds.spliterator());
+        given(notAllowedIterable.contains(anyInt()))
+                .willAnswer(invocation -> notAllowedVendorIds.contains(invocation.<Integer>getArgument(0)));
+        given(tcString.getPublisherRestrictions()).willReturn(singletonList(
+                new PublisherRestriction(PURPOSE_CODE.code(), RestrictionType.NOT_ALLOWED, notAllowedIterable)));
+
+        given(purposesConsent.contains(anyInt())).willReturn(true);
+
+        final List<VendorPermissionWithGvl> vendorPermissions = IntStream.rangeClosed(1, 30)
+                .mapToObj(vendorId -> VendorPermissionWithGvl.of(
+                        VendorPermission.of(vendorId, "bidder" + vendorId, PrivacyEnforcementAction.restrictAll()),
+                        VendorV2.builder().id(vendorId).purposes(EnumSet.of(PURPOSE_CODE)).build()))
+                .collect(Collectors.toList());
+
+        // when
+        final Collection<VendorPermission> result = target.allowedByTypeStrategy(PURPOSE_CODE, tcString,
+                vendorPermissions.subList(0, 20), vendorPermissions.subList(20, 30), false);
+
+        // then
+        assertThat(result)
+                .extracting(VendorPermission::getVendorId)
+                .containsOnly(1, 3, 5, 7, 9, 11, 13, 15, 17, 19, 21, 23, 25, 27, 29);
+    }
+
     // GVL Purpose part
 
     @Test
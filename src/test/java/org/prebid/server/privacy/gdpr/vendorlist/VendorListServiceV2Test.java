@@ -1,6 +1,7 @@
 package org.prebid.server.privacy.gdpr.vendorlist;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -10,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
@@ -33,11 +35,14 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -54,6 +59,7 @@ public class VendorListServiceV2Test extends VertxTest {
 
     private static final String CACHE_DIR = "/cache/dir";
     private static final long REFRESH_MISSING_LIST_PERIOD_MS = 3600000L;
+    private static final int MAX_RESIDENT_VERSIONS = 2;
     private static final String FALLBACK_VENDOR_LIST_PATH = "fallback.json";
 
     @Rule
@@ -86,6 +92,7 @@ public class VendorListServiceV2Test extends VertxTest {
                 "http://vendorlist/{VERSION}",
                 0,
                 REFRESH_MISSING_LIST_PERIOD_MS,
+                MAX_RESIDENT_VERSIONS,
                 false,
                 null,
                 FALLBACK_VENDOR_LIST_PATH,
@@ -111,6 +118,7 @@ public class VendorListServiceV2Test extends VertxTest {
                         "http://vendorlist/%s",
                         0,
                         REFRESH_MISSING_LIST_PERIOD_MS,
+                        MAX_RESIDENT_VERSIONS,
                         false,
                         null,
                         FALLBACK_VENDOR_LIST_PATH,
@@ -131,6 +139,7 @@ public class VendorListServiceV2Test extends VertxTest {
                 "http://vendorlist/{VERSION}",
                 0,
                 REFRESH_MISSING_LIST_PERIOD_MS,
+                MAX_RESIDENT_VERSIONS,
                 true,
                 null,
                 FALLBACK_VENDOR_LIST_PATH,
@@ -146,6 +155,7 @@ public class VendorListServiceV2Test extends VertxTest {
 
         // then
         verifyZeroInteractions(httpClient);
+        assertFalse(vendorListService.isTemporaryFallback(future.result()));
         assertThat(future).succeededWith(singletonMap(
                 52, VendorV2.builder()
                         .id(52)
@@ -166,6 +176,7 @@ public class VendorListServiceV2Test extends VertxTest {
                 "http://vendorlist/{VERSION}",
                 0,
                 REFRESH_MISSING_LIST_PERIOD_MS,
+                MAX_RESIDENT_VERSIONS,
                 true,
                 null,
                 null,
@@ -191,6 +202,7 @@ public class VendorListServiceV2Test extends VertxTest {
                         "http://vendorlist/%s",
                         0,
                         REFRESH_MISSING_LIST_PERIOD_MS,
+                        MAX_RESIDENT_VERSIONS,
                         false,
                         null,
                         FALLBACK_VENDOR_LIST_PATH,
@@ -217,6 +229,7 @@ public class VendorListServiceV2Test extends VertxTest {
                         "http://vendorlist/%s",
                         0,
                         REFRESH_MISSING_LIST_PERIOD_MS,
+                        MAX_RESIDENT_VERSIONS,
                         false,
                         null,
                         FALLBACK_VENDOR_LIST_PATH,
@@ -243,6 +256,7 @@ public class VendorListServiceV2Test extends VertxTest {
                         "http://vendorlist/%s",
                         0,
                         REFRESH_MISSING_LIST_PERIOD_MS,
+                        MAX_RESIDENT_VERSIONS,
                         false,
                         null,
                         FALLBACK_VENDOR_LIST_PATH,
@@ -255,6 +269,37 @@ public class VendorListServiceV2Test extends VertxTest {
                 .hasMessage("Cannot parse vendor list from: invalid");
     }
 
+    @Test
+    public void creationShouldReadOnlyMostRecentVendorListFiles() throws JsonProcessingException {
+        // given
+        given(fileSystem.readDirBlocking(anyString()))
+                .willReturn(asList("/cache/dir/1.json", "/cache/dir/2.json", "/cache/dir/3.json"));
+        given(fileSystem.readFileBlocking(anyString()))
+                .willReturn(Buffer.buffer(mapper.writeValueAsString(givenVendorList())));
+
+        // when
+        new VendorListServiceV2(
+                CACHE_DIR,
+                "http://vendorlist/{VERSION}",
+                0,
+                REFRESH_MISSING_LIST_PERIOD_MS,
+                MAX_RESIDENT_VERSIONS,
+                false,
+                null,
+                null,
+                bidderCatalog,
+                vertx,
+                fileSystem,
+                httpClient,
+                metrics,
+                jacksonMapper);
+
+        // then
+        verify(fileSystem).readFileBlocking(eq("/cache/dir/3.json"));
+        verify(fileSystem).readFileBlocking(eq("/cache/dir/2.json"));
+        verify(fileSystem, never()).readFileBlocking(eq("/cache/dir/1.json"));
+    }
+
     // Http related tests
 
     @Test
@@ -448,6 +493,85 @@ public class VendorListServiceV2Test extends VertxTest {
                         .build()));
     }
 
+    @Test
+    public void shouldReadVendorListFromFileIfItIsNotKeptInMemory() throws JsonProcessingException {
+        // given
+        final Buffer vendorListContent = Buffer.buffer(mapper.writeValueAsString(givenVendorList()));
+        given(fileSystem.readDirBlocking(anyString()))
+                .willReturn(asList("/cache/dir/1.json", "/cache/dir/2.json", "/cache/dir/3.json"));
+        given(fileSystem.readFileBlocking(anyString())).willReturn(vendorListContent);
+        given(fileSystem.readFile(anyString(), any()))
+                .willAnswer(withSelfAndPassObjectToHandler(Future.succeededFuture(vendorListContent), 1));
+
+        vendorListService = new VendorListServiceV2(
+                CACHE_DIR,
+                "http://vendorlist/{VERSION}",
+                0,
+                REFRESH_MISSING_LIST_PERIOD_MS,
+                MAX_RESIDENT_VERSIONS,
+                false,
+                null,
+                null,
+                bidderCatalog,
+                vertx,
+                fileSystem,
+                httpClient,
+                metrics,
+                jacksonMapper);
+
+        // when
+        final Future<Map<Integer, VendorV2>> result = vendorListService.forVersion(1);
+
+        // then
+        assertThat(result).succeededWith(singletonMap(52, givenVendorList().getVendors().get(52)));
+
+        verify(fileSystem).readFile(eq("/cache/dir/1.json"), any());
+        verifyZeroInteractions(httpClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReadVendorListFromFileOnceForConcurrentRequests() throws JsonProcessingException {
+        // given
+        final Buffer vendorListContent = Buffer.buffer(mapper.writeValueAsString(givenVendorList()));
+        given(fileSystem.readDirBlocking(anyString()))
+                .willReturn(asList("/cache/dir/1.json", "/cache/dir/2.json", "/cache/dir/3.json"));
+        given(fileSystem.readFileBlocking(anyString())).willReturn(vendorListContent);
+
+        vendorListService = new VendorListServiceV2(
+                CACHE_DIR,
+                "http://vendorlist/{VERSION}",
+                0,
+                REFRESH_MISSING_LIST_PERIOD_MS,
+                MAX_RESIDENT_VERSIONS,
+                false,
+                null,
+                null,
+                bidderCatalog,
+                vertx,
+                fileSystem,
+                httpClient,
+                metrics,
+                jacksonMapper);
+
+        // when
+        final Future<Map<Integer, VendorV2>> firstResult = vendorListService.forVersion(1);
+        final Future<Map<Integer, VendorV2>> secondResult = vendorListService.forVersion(1);
+
+        final ArgumentCaptor<Handler<AsyncResult<Buffer>>> readHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(fileSystem).readFile(eq("/cache/dir/1.json"), readHandlerCaptor.capture());
+        readHandlerCaptor.getValue().handle(Future.succeededFuture(vendorListContent));
+
+        // then
+        final Map<Integer, VendorV2> expectedVendors = singletonMap(52, givenVendorList().getVendors().get(52));
+        assertThat(firstResult).succeededWith(expectedVendors);
+        assertThat(secondResult).succeededWith(expectedVendors);
+        assertThat(vendorListService.forVersion(1)).succeededWith(expectedVendors);
+
+        verify(fileSystem).readFile(anyString(), any());
+        verifyZeroInteractions(httpClient);
+    }
+
     @Test
     public void shouldKeepPurposesForAllVendors() throws JsonProcessingException {
         // given
@@ -501,6 +625,7 @@ public class VendorListServiceV2Test extends VertxTest {
 
         // then
         assertThat(future1).isFailed();
+        assertTrue(vendorListService.isTemporaryFallback(future2.result()));
         assertThat(future2).succeededWith(singletonMap(
                 52, VendorV2.builder()
                         .id(52)
@@ -608,11 +733,15 @@ public class VendorListServiceV2Test extends VertxTest {
                 .willReturn(Future.failedFuture(throwable));
     }
 
-    @SuppressWarnings("unchecked")
     private static <T> Answer<Object> withSelfAndPassObjectToHandler(T obj) {
+        return withSelfAndPassObjectToHandler(obj, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Answer<Object> withSelfAndPassObjectToHandler(T obj, int handlerIndex) {
         return inv -> {
             // invoking handler right away passing mock to it
-            ((Handler<T>) inv.getArgument(2)).handle(obj);
+            ((Handler<T>) inv.getArgument(handlerIndex)).handle(obj);
             return inv.getMock();
         };
     }
@@ -267,4 +267,21 @@ public class HttpUtilTest {
         // then
         assertThat(result).isEqualTo(ZonedDateTime.parse("2019-11-04T13:31:24.365+02:00[Europe/Kiev]"));
     }
+
+    @Test
+    public void truncateDebugBodyShouldReturnSameBodyWhenLimitIsAbsentOrNotExceeded() {
+        // when and then
+        assertThat(HttpUtil.truncateDebugBody("body", null)).isEqualTo("body");
+        assertThat(HttpUtil.truncateDebugBody("body", 4)).isEqualTo("body");
+        assertThat(HttpUtil.truncateDebugBody(null, 4)).isNull();
+    }
+
+    @Test
+    public void truncateDebugBodyShouldTruncateBodyExceedingLimit() {
+        // when
+        final String result = HttpUtil.truncateDebugBody("0123456789", 4);
+
+        // then
+        assertThat(result).isEqualTo("0123...[truncated 6 chars]");
+    }
 }